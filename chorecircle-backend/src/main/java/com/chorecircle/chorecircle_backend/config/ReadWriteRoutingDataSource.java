@@ -0,0 +1,95 @@
+package com.chorecircle.chorecircle_backend.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends read-only transactions to the replica and everything else to the primary. Must sit behind a
+// LazyConnectionDataSourceProxy so the connection is only fetched once the transaction's read-only
+// flag is known. After a caller commits a write, their read-only transactions stay on the primary
+// for the sticky window so they read their own writes despite replication lag. The window is kept in
+// this instance's memory only: behind a load balancer the caller's next read can land on another
+// instance, which does not know about the write and may serve it from the lagging replica.
+// Final, as the constructor configures and initializes the routing itself.
+public final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final long stickyMillis;
+    private final LongSupplier clock;
+    // caller -> time until which their reads go to the primary
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration stickyWindow) {
+        this(primary, replica, stickyWindow, System::currentTimeMillis);
+    }
+
+    ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration stickyWindow, LongSupplier clock) {
+        this.stickyMillis = stickyWindow.toMillis();
+        this.clock = clock;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        String caller = currentCaller();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite(caller);
+            return Target.PRIMARY;
+        }
+        return isSticky(caller) ? Target.PRIMARY : Target.REPLICA;
+    }
+
+    private void rememberWrite(String caller) {
+        if (caller == null || stickyMillis <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                long now = clock.getAsLong();
+                if (stickyUntil.size() >= PURGE_THRESHOLD) {
+                    stickyUntil.values().removeIf(until -> until <= now);
+                }
+                stickyUntil.put(caller, now + stickyMillis);
+            }
+        });
+    }
+
+    private boolean isSticky(String caller) {
+        if (caller == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(caller);
+        if (until == null) {
+            return false;
+        }
+        if (until <= clock.getAsLong()) {
+            stickyUntil.remove(caller, until);
+            return false;
+        }
+        return true;
+    }
+
+    // Anonymous work (login, registration, scheduled jobs) is not tracked
+    private static String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
@@ -1,7 +1,9 @@
 package com.chorecircle.chorecircle_backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -18,6 +20,13 @@ import com.chorecircle.chorecircle_backend.security.CustomUserDetailsService;
 import com.chorecircle.chorecircle_backend.security.JwtAuthenticationEntryPoint;
 import com.chorecircle.chorecircle_backend.security.JwtAuthenticationFilter;
 import com.chorecircle.chorecircle_backend.security.JwtTokenProvider;
+import com.chorecircle.chorecircle_backend.security.RoleBitRegistry;
+import com.chorecircle.chorecircle_backend.security.RouteAuthorizationManager;
+import com.chorecircle.chorecircle_backend.security.RouteAuthorizationTable;
+import com.chorecircle.chorecircle_backend.security.SecurityVersionRegistry;
+import com.chorecircle.chorecircle_backend.security.TokenRevocationList;
+
+import jakarta.servlet.DispatcherType;
 
 @Configuration
 @EnableWebSecurity
@@ -33,59 +42,15 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter,
                                          CustomUserDetailsService customUserDetailsService, 
-                                         PasswordEncoder passwordEncoder) throws Exception {
+                                         PasswordEncoder passwordEncoder,
+                                         RouteAuthorizationManager routeAuthorizationManager) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(cors -> cors.and())
+            // Async dispatches of an open ping stream were authorized when the stream was opened
             .authorizeHttpRequests(authz -> authz
-                // Public endpoints - no authentication required
-                .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
-                
-                // Admin and Moderator only endpoints - User management (read operations)
-                .requestMatchers("GET", "/api/users").hasAnyRole("ADMIN", "MODERATOR") // GET all users
-                .requestMatchers("GET", "/api/users/{id}").hasAnyRole("ADMIN", "MODERATOR") // GET user by ID
-                .requestMatchers("GET", "/api/users/username/{username}").hasAnyRole("ADMIN", "MODERATOR") // GET user by username
-                .requestMatchers("GET", "/api/users/exists/**").hasAnyRole("ADMIN", "MODERATOR") // Check if user exists
-                .requestMatchers("GET", "/api/users/search").hasAnyRole("ADMIN", "MODERATOR") // Search users
-                .requestMatchers("GET", "/api/users/by-role/**").hasAnyRole("ADMIN", "MODERATOR") // Get users by role
-                .requestMatchers("GET", "/api/users/{userId}/has-role/**").hasAnyRole("ADMIN", "MODERATOR") // Check user roles
-                .requestMatchers("GET", "/api/users/{userId}/roles").hasAnyRole("ADMIN", "MODERATOR") // Get user roles
-                .requestMatchers("GET", "/api/users/username/{username}/roles").hasAnyRole("ADMIN", "MODERATOR") // Get user roles by username
-                
-                // Admin only endpoints - User creation, modification, deletion
-                .requestMatchers("POST", "/api/users").hasRole("ADMIN") // POST create user
-                .requestMatchers("PUT", "/api/users/{id}/password").hasRole("ADMIN") // PUT update password
-                .requestMatchers("PUT", "/api/users/username/{username}/password").hasRole("ADMIN") // PUT update password by username
-                .requestMatchers("PUT", "/api/users/{id}/roles").hasRole("ADMIN") // PUT update user roles
-                .requestMatchers("POST", "/api/users/{id}/roles").hasRole("ADMIN") // POST add role to user
-                .requestMatchers("DELETE", "/api/users/{id}/roles").hasRole("ADMIN") // DELETE remove role from user
-                .requestMatchers("PUT", "/api/users/{id}/enabled").hasRole("ADMIN") // PUT enable/disable user
-                .requestMatchers("DELETE", "/api/users/{id}").hasRole("ADMIN") // DELETE delete user
-                .requestMatchers("DELETE", "/api/users/username/{username}").hasRole("ADMIN") // DELETE delete user by username
-                
-                // Admin and Moderator only endpoints - Role management (read operations)
-                .requestMatchers("GET", "/api/roles").hasAnyRole("ADMIN", "MODERATOR") // GET all roles
-                .requestMatchers("GET", "/api/roles/{id}").hasAnyRole("ADMIN", "MODERATOR") // GET role by ID
-                .requestMatchers("GET", "/api/roles/name/{name}").hasAnyRole("ADMIN", "MODERATOR") // GET role by name
-                .requestMatchers("GET", "/api/roles/ordered").hasAnyRole("ADMIN", "MODERATOR") // GET all roles ordered
-                .requestMatchers("GET", "/api/roles/search").hasAnyRole("ADMIN", "MODERATOR") // Search roles
-                .requestMatchers("GET", "/api/roles/exists/{name}").hasAnyRole("ADMIN", "MODERATOR") // Check if role exists
-                .requestMatchers("GET", "/api/roles/{id}/users-count").hasAnyRole("ADMIN", "MODERATOR") // Get users count with role
-                .requestMatchers("GET", "/api/roles/name/{name}/users-count").hasAnyRole("ADMIN", "MODERATOR") // Get users count with role by name
-                
-                // Admin only endpoints - Role creation, modification, deletion
-                .requestMatchers("POST", "/api/roles").hasRole("ADMIN") // POST create role
-                .requestMatchers("PUT", "/api/roles/{id}/name").hasRole("ADMIN") // PUT update role name
-                .requestMatchers("PUT", "/api/roles/name/{currentName}").hasRole("ADMIN") // PUT update role name by current name
-                .requestMatchers("DELETE", "/api/roles/{id}").hasRole("ADMIN") // DELETE delete role
-                .requestMatchers("DELETE", "/api/roles/name/{name}").hasRole("ADMIN") // DELETE delete role by name
-                .requestMatchers("DELETE", "/api/roles/{id}/force").hasRole("ADMIN") // DELETE force delete role
-                .requestMatchers("DELETE", "/api/roles/name/{name}/force").hasRole("ADMIN") // DELETE force delete role by name
-                
-                // All other requests require authentication
-                .anyRequest().authenticated()
-            )
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                .anyRequest().access(routeAuthorizationManager))
             .exceptionHandling(ex -> ex.authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authenticationProvider(authenticationProvider(customUserDetailsService, passwordEncoder))
@@ -94,13 +59,97 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // Every route is compiled into one lookup table; the most specific rule wins regardless of order.
+    // Unlisted paths under /api/users and /api/roles fall back to ADMIN so new endpoints fail closed.
+    @Bean
+    public RouteAuthorizationManager routeAuthorizationManager(RoleBitRegistry roleBitRegistry) {
+        RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+            // Public endpoints - no authentication required
+            .permitAll("/api/auth/**")
+            .permitAll("/actuator/**")
+
+            // Admin and Moderator only endpoints - User management (read operations)
+            .hasAnyRole(HttpMethod.GET, "/api/users", "ADMIN", "MODERATOR") // GET all users
+            .hasAnyRole(HttpMethod.GET, "/api/users/{id}", "ADMIN", "MODERATOR") // GET user by ID
+            .hasAnyRole(HttpMethod.GET, "/api/users/username/{username}", "ADMIN", "MODERATOR") // GET user by username
+            .hasAnyRole(HttpMethod.GET, "/api/users/exists/**", "ADMIN", "MODERATOR") // Check if user exists
+            .hasAnyRole(HttpMethod.GET, "/api/users/search", "ADMIN", "MODERATOR") // Search users
+            .hasAnyRole(HttpMethod.GET, "/api/users/search/ranked", "ADMIN", "MODERATOR") // Ranked user search
+            .hasAnyRole(HttpMethod.GET, "/api/users/autocomplete", "ADMIN", "MODERATOR") // Username autocomplete
+            .hasAnyRole(HttpMethod.GET, "/api/users/by-role/**", "ADMIN", "MODERATOR") // Get users by role
+            .hasAnyRole(HttpMethod.GET, "/api/users/by-role-id/**", "ADMIN", "MODERATOR") // Get users by role ID
+            .hasAnyRole(HttpMethod.GET, "/api/users/{userId}/has-role/**", "ADMIN", "MODERATOR") // Check user roles
+            .hasAnyRole(HttpMethod.GET, "/api/users/username/{username}/has-role/**", "ADMIN", "MODERATOR") // Check user roles by username
+            .hasAnyRole(HttpMethod.GET, "/api/users/{userId}/roles", "ADMIN", "MODERATOR") // Get user roles
+            .hasAnyRole(HttpMethod.GET, "/api/users/username/{username}/roles", "ADMIN", "MODERATOR") // Get user roles by username
+
+            // Admin only endpoints - User creation, modification, deletion
+            .hasAnyRole(HttpMethod.POST, "/api/users", "ADMIN") // POST create user
+            .hasAnyRole(HttpMethod.POST, "/api/users/import", "ADMIN") // POST bulk import users
+            .hasAnyRole(HttpMethod.PUT, "/api/users/{id}/password", "ADMIN") // PUT update password
+            .hasAnyRole(HttpMethod.PUT, "/api/users/username/{username}/password", "ADMIN") // PUT update password by username
+            .hasAnyRole(HttpMethod.PUT, "/api/users/{id}/roles", "ADMIN") // PUT update user roles
+            .hasAnyRole(HttpMethod.POST, "/api/users/{id}/roles", "ADMIN") // POST add role to user
+            .hasAnyRole(HttpMethod.DELETE, "/api/users/{id}/roles", "ADMIN") // DELETE remove role from user
+            .hasAnyRole(HttpMethod.PUT, "/api/users/{id}/enabled", "ADMIN") // PUT enable/disable user
+            .hasAnyRole(HttpMethod.DELETE, "/api/users/{id}", "ADMIN") // DELETE delete user
+            .hasAnyRole(HttpMethod.DELETE, "/api/users/username/{username}", "ADMIN") // DELETE delete user by username
+
+            // Admin and Moderator only endpoints - Role management (read operations)
+            .hasAnyRole(HttpMethod.GET, "/api/roles", "ADMIN", "MODERATOR") // GET all roles
+            .hasAnyRole(HttpMethod.GET, "/api/roles/{id}", "ADMIN", "MODERATOR") // GET role by ID
+            .hasAnyRole(HttpMethod.GET, "/api/roles/name/{name}", "ADMIN", "MODERATOR") // GET role by name
+            .hasAnyRole(HttpMethod.GET, "/api/roles/ordered", "ADMIN", "MODERATOR") // GET all roles ordered
+            .hasAnyRole(HttpMethod.GET, "/api/roles/search", "ADMIN", "MODERATOR") // Search roles
+            .hasAnyRole(HttpMethod.GET, "/api/roles/autocomplete", "ADMIN", "MODERATOR") // Role name autocomplete
+            .hasAnyRole(HttpMethod.GET, "/api/roles/exists/{name}", "ADMIN", "MODERATOR") // Check if role exists
+            .hasAnyRole(HttpMethod.GET, "/api/roles/{id}/users-count", "ADMIN", "MODERATOR") // Get users count with role
+            .hasAnyRole(HttpMethod.GET, "/api/roles/name/{name}/users-count", "ADMIN", "MODERATOR") // Get users count with role by name
+
+            // Admin only endpoints - Role creation, modification, deletion
+            .hasAnyRole(HttpMethod.POST, "/api/roles", "ADMIN") // POST create role
+            .hasAnyRole(HttpMethod.PUT, "/api/roles/{id}/name", "ADMIN") // PUT update role name
+            .hasAnyRole(HttpMethod.PUT, "/api/roles/name/{currentName}", "ADMIN") // PUT update role name by current name
+            .hasAnyRole(HttpMethod.DELETE, "/api/roles/{id}", "ADMIN") // DELETE delete role
+            .hasAnyRole(HttpMethod.DELETE, "/api/roles/name/{name}", "ADMIN") // DELETE delete role by name
+            .hasAnyRole(HttpMethod.DELETE, "/api/roles/{id}/force", "ADMIN") // DELETE force delete role
+            .hasAnyRole(HttpMethod.DELETE, "/api/roles/name/{name}/force", "ADMIN") // DELETE force delete role by name
+            .hasAnyRole(HttpMethod.POST, "/api/roles/{id}/users", "ADMIN") // POST bulk assign role
+            .hasAnyRole(HttpMethod.POST, "/api/roles/{id}/users/revoke", "ADMIN") // POST bulk revoke role
+            .hasAnyRole(HttpMethod.POST, "/api/stats/rebuild", "ADMIN") // POST rebuild completion counters
+
+            // Any authenticated user; the services check workspace membership
+            .authenticated("/api/chores") // POST create chore
+            .authenticated("/api/chores/{id}") // GET, PUT chore
+            .authenticated("/api/chores/{id}/complete") // POST complete chore
+            .authenticated("/api/chores/complete") // POST complete many chores
+            .authenticated("/api/chores/calendar") // GET workspace calendar
+            .authenticated("/api/chores/feed") // GET the caller's chores across workspaces
+            .authenticated("/api/chores/{id}/occurrences/{date}") // PUT skip, move or reassign an occurrence
+            .authenticated("/api/pings") // POST ping a chore's assignee
+            .authenticated("/api/pings/stream") // GET live ping stream (SSE)
+            .authenticated("/api/history") // GET chore, workspace or own completion history
+            .authenticated("/api/stats/leaderboard") // GET workspace leaderboard
+            .authenticated("/api/workspaces/{id}/dashboard") // GET workspace board
+
+            // Anything else under the management APIs is admin only
+            .hasAnyRole("/api/users/**", "ADMIN")
+            .hasAnyRole("/api/roles/**", "ADMIN")
+
+            // All other requests require authentication (table default)
+            .build(roleBitRegistry);
+        return new RouteAuthorizationManager(table, roleBitRegistry);
+    }
+
     @Bean
     public DaoAuthenticationProvider authenticationProvider(CustomUserDetailsService customUserDetailsService, 
                                                            PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(customUserDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder);
-        authProvider.setHideUserNotFoundExceptions(false);
+        authProvider.setUserDetailsPasswordService(customUserDetailsService);
+        // Unknown users fail exactly like bad passwords so the response reveals nothing about which accounts exist
+        authProvider.setHideUserNotFoundExceptions(true);
         return authProvider;
     }
 
@@ -109,14 +158,20 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    // Raising the strength takes effect transparently: older hashes are upgraded on the next successful login
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt-strength:10}") int bcryptStrength) {
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, 
-                                                          CustomUserDetailsService customUserDetailsService) {
-        return new JwtAuthenticationFilter(jwtTokenProvider, customUserDetailsService);
+                                                          CustomUserDetailsService customUserDetailsService,
+                                                          SecurityVersionRegistry securityVersionRegistry,
+                                                          TokenRevocationList tokenRevocationList,
+                                                          RoleBitRegistry roleBitRegistry,
+                                                          @Value("${app.jwt.stateless:false}") boolean statelessPrincipal) {
+        return new JwtAuthenticationFilter(jwtTokenProvider, customUserDetailsService, securityVersionRegistry,
+                tokenRevocationList, roleBitRegistry, statelessPrincipal);
     }
 } 
\ No newline at end of file
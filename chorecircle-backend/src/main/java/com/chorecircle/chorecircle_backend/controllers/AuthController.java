@@ -1,7 +1,11 @@
 package com.chorecircle.chorecircle_backend.controllers;
 
 import java.util.Map;
+import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,61 +15,125 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.chorecircle.chorecircle_backend.entities.User;
+import com.chorecircle.chorecircle_backend.security.CustomUserDetails;
 import com.chorecircle.chorecircle_backend.security.JwtTokenProvider;
+import com.chorecircle.chorecircle_backend.security.LoginRateLimiter;
+import com.chorecircle.chorecircle_backend.security.PasswordHashingExecutor;
+import com.chorecircle.chorecircle_backend.security.PasswordHashingRejectedException;
+import com.chorecircle.chorecircle_backend.services.RefreshTokenService;
 import com.chorecircle.chorecircle_backend.services.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
 public class AuthController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider tokenProvider;
     private final UserService userService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginRateLimiter loginRateLimiter;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthController(AuthenticationManager authenticationManager, 
                          JwtTokenProvider tokenProvider, 
-                         UserService userService) {
+                         UserService userService,
+                         PasswordHashingExecutor passwordHashingExecutor,
+                         LoginRateLimiter loginRateLimiter,
+                         RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
         this.tokenProvider = tokenProvider;
         this.userService = userService;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.loginRateLimiter = loginRateLimiter;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@RequestBody Map<String, String> loginRequest) {
+    public ResponseEntity<?> authenticateUser(@RequestBody Map<String, String> loginRequest, HttpServletRequest request) {
         try {
             String username = loginRequest.get("username");
             String password = loginRequest.get("password");
-            Authentication authentication = authenticationManager.authenticate(
+
+            // Throttled attempts are turned away before any user lookup or BCrypt work
+            long retryAfterSeconds = loginRateLimiter.tryAcquire(username, request.getRemoteAddr());
+            if (retryAfterSeconds > 0) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(Map.of("error", "Too many login attempts, please retry later"));
+            }
+
+            // BCrypt verification runs on the bounded hashing pool, not on the request thread
+            Authentication authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(username, password)
-            );
+            ));
 
+            loginRateLimiter.onSuccess(username);
             SecurityContextHolder.getContext().setAuthentication(authentication);
             String jwt = tokenProvider.generateToken(authentication);
-            
-            System.out.println("JWT Token generated: " + jwt);
-            System.out.println("Authentication successful for user: " + username);
+            User user = ((CustomUserDetails) authentication.getPrincipal()).getUser();
+            String refreshToken = refreshTokenService.issueToken(user);
+            // Never log the tokens themselves
+            logger.info("Authentication successful for user: {}", username);
 
             Map<String, Object> response = Map.of(
                 "token", jwt,
+                "refreshToken", refreshToken,
                 "type", "Bearer",
+                "expiresIn", tokenProvider.getExpirationInMs() / 1000,
                 "message", "Login successful"
             );
-            
-            System.out.println("Sending response: " + response);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingRejectedException e) {
+            return overloaded(e);
         } catch (Exception e) {
-            System.out.println("Authentication failed: " + e.getMessage());
-            e.printStackTrace();
+            logger.info("Authentication failed for user {}: {}", loginRequest.get("username"), e.getMessage());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(Map.of("error", "Invalid username or password"));
         }
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody Map<String, String> refreshRequest) {
+        String refreshToken = refreshRequest.get("refreshToken");
+        if (refreshToken == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "refreshToken is required"));
+        }
+
+        return refreshTokenService.rotate(refreshToken)
+            .<ResponseEntity<?>>map(rotation -> ResponseEntity.ok(Map.of(
+                "token", tokenProvider.generateToken(rotation.user()),
+                "refreshToken", rotation.refreshToken(),
+                "type", "Bearer",
+                "expiresIn", tokenProvider.getExpirationInMs() / 1000
+            )))
+            .orElse(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Invalid or expired refresh token")));
+    }
+
+    // Revokes the refresh token family and, when presented, the current access token
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody(required = false) Map<String, String> logoutRequest,
+                                    @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        if (logoutRequest != null && logoutRequest.get("refreshToken") != null) {
+            refreshTokenService.revokeFamily(logoutRequest.get("refreshToken"));
+        }
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            tokenProvider.verify(authorization.substring(7))
+                .ifPresent(token -> refreshTokenService.revokeAccessToken(token.tokenId(), token.expiration()));
+        }
+        return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody Map<String, String> registerRequest) {
         try {
@@ -77,7 +145,8 @@ public class AuthController {
                     .body(Map.of("error", "Username already exists"));
             }
 
-            User user = userService.createUser(username, password);
+            String encodedPassword = passwordHashingExecutor.encode(password);
+            User user = userService.createUserWithEncodedPassword(username, encodedPassword, Set.of("USER"));
             
             return ResponseEntity.status(HttpStatus.CREATED)
                 .body(Map.of(
@@ -85,9 +154,17 @@ public class AuthController {
                     "userId", user.getId(),
                     "username", user.getUsername()
                 ));
+        } catch (PasswordHashingRejectedException e) {
+            return overloaded(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(Map.of("error", e.getMessage()));
         }
     }
+
+    private ResponseEntity<?> overloaded(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(Map.of("error", "Too many authentication requests, please retry shortly"));
+    }
 } 
\ No newline at end of file
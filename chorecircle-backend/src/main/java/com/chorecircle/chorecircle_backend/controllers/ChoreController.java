@@ -0,0 +1,252 @@
+package com.chorecircle.chorecircle_backend.controllers;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chorecircle.chorecircle_backend.dto.ChoreSummary;
+import com.chorecircle.chorecircle_backend.dto.Occurrence;
+import com.chorecircle.chorecircle_backend.dto.RecurrenceRequest;
+import com.chorecircle.chorecircle_backend.entities.Chore;
+import com.chorecircle.chorecircle_backend.entities.Recurrence;
+import com.chorecircle.chorecircle_backend.security.AuthenticatedPrincipal;
+import com.chorecircle.chorecircle_backend.services.ChoreCalendarService;
+import com.chorecircle.chorecircle_backend.services.ChoreFeedService;
+import com.chorecircle.chorecircle_backend.services.ChoreService;
+
+@RestController
+@RequestMapping("/api/chores")
+@CrossOrigin(origins = "*")
+public class ChoreController {
+
+    private final ChoreService choreService;
+    private final ChoreCalendarService choreCalendarService;
+    private final ChoreFeedService choreFeedService;
+    private final Duration historyTimeout;
+
+    public ChoreController(ChoreService choreService, ChoreCalendarService choreCalendarService,
+                           ChoreFeedService choreFeedService,
+                           @Value("${app.history.await-timeout:5s}") Duration historyTimeout) {
+        this.choreService = choreService;
+        this.choreCalendarService = choreCalendarService;
+        this.choreFeedService = choreFeedService;
+        this.historyTimeout = historyTimeout;
+    }
+
+    // Create a chore. Body: {"workspaceId", "title", "description", "assignedToId", "dueDate": "yyyy-MM-dd",
+    // "recurrence": {"frequency": "DAILY|WEEKLY|MONTHLY", "interval": 1, "weekdays": ["MONDAY", ...],
+    // "until": "yyyy-MM-dd"}}; a recurring chore starts on its due date
+    @PostMapping
+    public ResponseEntity<?> createChore(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                         @RequestBody Map<String, Object> request) {
+        try {
+            Chore chore = choreService.createChore(toLong(request.get("workspaceId")), principal.getUserId(),
+                    (String) request.get("title"), (String) request.get("description"),
+                    toLong(request.get("assignedToId")), toDate(request.get("dueDate")),
+                    toRecurrence(request.get("recurrence")));
+            return ResponseEntity.status(HttpStatus.CREATED).body(ChoreSummary.from(chore));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Get a chore of one of the caller's workspaces
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getChore(@AuthenticationPrincipal AuthenticatedPrincipal principal, @PathVariable Long id) {
+        return choreService.getChore(id, principal.getUserId())
+                .map(chore -> ResponseEntity.ok(ChoreSummary.from(chore)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Update a chore; omitted fields are unchanged, "dueDate": null clears the due date and
+    // "recurrence": null makes the chore a one-off
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateChore(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                         @PathVariable Long id, @RequestBody Map<String, Object> request) {
+        try {
+            boolean clearDueDate = request.containsKey("dueDate") && request.get("dueDate") == null;
+            boolean clearRecurrence = request.containsKey("recurrence") && request.get("recurrence") == null;
+            Chore chore = choreService.updateChore(id, principal.getUserId(), (String) request.get("title"),
+                    (String) request.get("description"), toLong(request.get("assignedToId")),
+                    toDate(request.get("dueDate")), clearDueDate, toRecurrence(request.get("recurrence")),
+                    clearRecurrence);
+            return ResponseEntity.ok(ChoreSummary.from(chore));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Mark a chore as done. Body (optional): {"note": "...", "occurrence": "yyyy-MM-dd"}; for a recurring
+    // chore the occurrence defaults to the next open one
+    // Answers 200 once the completion is in the chore's history, 202 if it is still queued, 500 if the
+    // history entry could not be written (the completion itself is saved).
+    @PostMapping("/{id}/complete")
+    public ResponseEntity<?> completeChore(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                           @PathVariable Long id,
+                                           @RequestBody(required = false) Map<String, Object> request) {
+        try {
+            String note = request != null ? (String) request.get("note") : null;
+            LocalDate occurrence = request != null ? toDate(request.get("occurrence")) : null;
+            ChoreService.Completion completion = choreService.completeChore(id, principal.getUserId(), note,
+                    occurrence);
+            return awaitHistory(completion.recorded(), ChoreSummary.from(completion.chore()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Mark many chores as done in one request. Body: {"items": [{"choreId", "note", "occurrence": "yyyy-MM-dd"}]}
+    // Each item gets its own outcome (COMPLETED, NOT_FOUND or REJECTED with the reason), in request order.
+    // Answers 200 once the completions are in the chores' history, 202 if they are still queued, 500 if
+    // their history entries could not be written.
+    @PostMapping("/complete")
+    public ResponseEntity<?> completeChores(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                            @RequestBody Map<String, Object> request) {
+        try {
+            if (!(request.get("items") instanceof List<?> rawItems)) {
+                throw new IllegalArgumentException("items must be a list");
+            }
+            List<ChoreService.BulkItem> items = new ArrayList<>(rawItems.size());
+            for (Object rawItem : rawItems) {
+                if (!(rawItem instanceof Map<?, ?> item)) {
+                    throw new IllegalArgumentException("Each item must be an object");
+                }
+                items.add(new ChoreService.BulkItem(toLong(item.get("choreId")), (String) item.get("note"),
+                        toDate(item.get("occurrence"))));
+            }
+            ChoreService.BulkCompletion completion = choreService.completeChores(principal.getUserId(), items);
+            long completed = completion.outcomes().stream()
+                    .filter(outcome -> outcome.status() == ChoreService.BulkStatus.COMPLETED).count();
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("completed", completed);
+            body.put("failed", completion.outcomes().size() - completed);
+            body.put("results", completion.outcomes());
+            return awaitHistory(completion.recorded(), body);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // The caller's assigned chores across their workspaces, by due date with undated chores last.
+    // Optional filters: workspaceId, completed, from/to (inclusive due dates); pass nextCursor back as cursor.
+    @GetMapping("/feed")
+    public ResponseEntity<?> feed(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                  @RequestParam(required = false) Long workspaceId,
+                                  @RequestParam(required = false) Boolean completed,
+                                  @RequestParam(required = false) String from,
+                                  @RequestParam(required = false) String to,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(choreFeedService.feed(principal.getUserId(), workspaceId, completed,
+                    toDate(from), toDate(to), cursor, size));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Calendar of a workspace, both dates inclusive, with recurring chores expanded for the window
+    @GetMapping("/calendar")
+    public ResponseEntity<?> calendar(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                      @RequestParam Long workspaceId, @RequestParam String from,
+                                      @RequestParam String to) {
+        try {
+            List<Occurrence> occurrences = choreCalendarService.calendar(workspaceId, principal.getUserId(),
+                    LocalDate.parse(from), LocalDate.parse(to));
+            return ResponseEntity.ok(occurrences);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Change one occurrence of a recurring chore. Body: {"skipped": true|false, "dueDate": "yyyy-MM-dd",
+    // "assignedToId"}; omitted fields are unchanged and "dueDate": null moves it back to its own date
+    @PutMapping("/{id}/occurrences/{date}")
+    public ResponseEntity<?> overrideOccurrence(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                                @PathVariable Long id, @PathVariable String date,
+                                                @RequestBody Map<String, Object> request) {
+        try {
+            boolean clearDueDate = request.containsKey("dueDate") && request.get("dueDate") == null;
+            Object skipped = request.get("skipped");
+            Occurrence occurrence = choreService.overrideOccurrence(id, principal.getUserId(), LocalDate.parse(date),
+                    skipped != null ? Boolean.valueOf(skipped.toString()) : null, toDate(request.get("dueDate")),
+                    clearDueDate, toLong(request.get("assignedToId")));
+            return ResponseEntity.ok(occurrence);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static Long toLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        return value instanceof Number number ? number.longValue() : Long.valueOf(value.toString());
+    }
+
+    // 200 once the history is written, 202 while it is still queued, 500 if it could not be written
+    private ResponseEntity<?> awaitHistory(CompletableFuture<Void> recorded, Object completed) {
+        try {
+            recorded.get(historyTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return ResponseEntity.ok(completed);
+        } catch (TimeoutException pending) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(completed);
+        } catch (InterruptedException pending) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(completed);
+        } catch (ExecutionException e) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("error", "Completion saved but its history could not be recorded: " + e.getCause().getMessage());
+            body.put("completion", completed);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+        }
+    }
+
+    private static LocalDate toDate(Object value) {
+        return value == null ? null : LocalDate.parse(value.toString());
+    }
+
+    private static RecurrenceRequest toRecurrence(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Map<?, ?> recurrence)) {
+            throw new IllegalArgumentException("recurrence must be an object");
+        }
+        Object frequency = recurrence.get("frequency");
+        if (frequency == null) {
+            throw new IllegalArgumentException("recurrence.frequency is required");
+        }
+        Object interval = recurrence.get("interval");
+        List<DayOfWeek> weekdays = null;
+        if (recurrence.get("weekdays") instanceof List<?> days) {
+            weekdays = days.stream().map(day -> DayOfWeek.valueOf(day.toString().toUpperCase(Locale.ROOT))).toList();
+        }
+        return new RecurrenceRequest(Recurrence.Frequency.valueOf(frequency.toString().toUpperCase(Locale.ROOT)),
+                interval != null ? Integer.valueOf(interval.toString()) : null, weekdays,
+                toDate(recurrence.get("until")));
+    }
+}
@@ -0,0 +1,82 @@
+package com.chorecircle.chorecircle_backend.controllers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.chorecircle.chorecircle_backend.security.AuthenticatedPrincipal;
+import com.chorecircle.chorecircle_backend.services.ChoreHistoryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@RestController
+@RequestMapping("/api/history")
+@CrossOrigin(origins = "*")
+public class HistoryController {
+
+    private final ChoreHistoryService choreHistoryService;
+    private final ObjectMapper objectMapper;
+
+    public HistoryController(ChoreHistoryService choreHistoryService, ObjectMapper objectMapper) {
+        this.choreHistoryService = choreHistoryService;
+        this.objectMapper = objectMapper;
+    }
+
+    // Completions of a chore, a workspace or the caller (exactly one of choreId, workspaceId, userId)
+    // between from and to (ISO date-times, default the last 30 days), newest first, as NDJSON
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getHistory(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                                            @RequestParam(required = false) Long choreId,
+                                                            @RequestParam(required = false) Long workspaceId,
+                                                            @RequestParam(required = false) Long userId,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ChoreHistoryService.Scope scope;
+        Long id;
+        ChoreHistoryService.Range range;
+        try {
+            int given = (choreId != null ? 1 : 0) + (workspaceId != null ? 1 : 0) + (userId != null ? 1 : 0);
+            if (given != 1) {
+                throw new IllegalArgumentException("Exactly one of choreId, workspaceId or userId is required");
+            }
+            scope = choreId != null ? ChoreHistoryService.Scope.CHORE
+                    : workspaceId != null ? ChoreHistoryService.Scope.WORKSPACE : ChoreHistoryService.Scope.USER;
+            id = choreId != null ? choreId : workspaceId != null ? workspaceId : userId;
+            range = choreHistoryService.checkAccess(scope, id, principal.getUserId(), from, to);
+        } catch (Exception e) {
+            // Only a StreamingResponseBody can be returned from here, so the error is written by hand
+            Map<String, Object> error = Map.of("error", String.valueOf(e.getMessage()));
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(output -> output.write(objectMapper.writeValueAsBytes(error)));
+        }
+        StreamingResponseBody body = output -> {
+            try {
+                choreHistoryService.stream(scope, id, range, entry -> writeLine(output, entry));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
+    private void writeLine(OutputStream output, Object value) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(value));
+            output.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
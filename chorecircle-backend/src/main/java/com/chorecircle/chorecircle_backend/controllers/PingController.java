@@ -0,0 +1,62 @@
+package com.chorecircle.chorecircle_backend.controllers;
+
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.chorecircle.chorecircle_backend.dto.PingEvent;
+import com.chorecircle.chorecircle_backend.security.AuthenticatedPrincipal;
+import com.chorecircle.chorecircle_backend.services.PingHub;
+import com.chorecircle.chorecircle_backend.services.PingService;
+
+@RestController
+@RequestMapping("/api/pings")
+@CrossOrigin(origins = "*")
+public class PingController {
+
+    private final PingService pingService;
+    private final PingHub pingHub;
+
+    public PingController(PingService pingService, PingHub pingHub) {
+        this.pingService = pingService;
+        this.pingHub = pingHub;
+    }
+
+    // Ping the assignee of a chore. Body: {"choreId", "message"}
+    @PostMapping
+    public ResponseEntity<?> sendPing(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                      @RequestBody Map<String, Object> request) {
+        try {
+            Object choreId = request.get("choreId");
+            if (!(choreId instanceof Number number)) {
+                throw new IllegalArgumentException("choreId is required");
+            }
+            PingEvent ping = pingService.sendPing(number.longValue(), principal.getUserId(),
+                    (String) request.get("message"));
+            return ResponseEntity.status(HttpStatus.CREATED).body(ping);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Live stream of the caller's pings as "ping" events. Reconnecting clients send Last-Event-ID
+    // (or ?lastEventId= where the header cannot be set) to receive what they missed.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+                             @RequestParam(required = false) Long lastEventId) {
+        return pingHub.subscribe(principal.getUserId(), lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+}
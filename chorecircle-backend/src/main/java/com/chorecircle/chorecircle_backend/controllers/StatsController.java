@@ -0,0 +1,63 @@
+package com.chorecircle.chorecircle_backend.controllers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.chorecircle.chorecircle_backend.dto.LeaderboardEntry;
+import com.chorecircle.chorecircle_backend.security.AuthenticatedPrincipal;
+import com.chorecircle.chorecircle_backend.services.CompletionStatsService;
+
+@RestController
+@RequestMapping("/api/stats")
+@CrossOrigin(origins = "*")
+public class StatsController {
+
+    private final CompletionStatsService completionStatsService;
+
+    public StatsController(CompletionStatsService completionStatsService) {
+        this.completionStatsService = completionStatsService;
+    }
+
+    // Members of a workspace ranked by completions in the week, month or all time (default week)
+    // containing date (default today)
+    @GetMapping("/leaderboard")
+    public ResponseEntity<?> getLeaderboard(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                            @RequestParam Long workspaceId,
+                                            @RequestParam(defaultValue = "week") String period,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            CompletionStatsService.Period parsed = CompletionStatsService.Period.parse(period);
+            LocalDate day = date != null ? date : LocalDate.now();
+            List<LeaderboardEntry> entries = completionStatsService.leaderboard(workspaceId, principal.getUserId(),
+                    parsed, day, limit);
+            return ResponseEntity.ok(Map.of("workspaceId", workspaceId, "period", parsed.name().toLowerCase(Locale.ROOT),
+                    "periodStart", CompletionStatsService.periodStart(parsed, day), "entries", entries));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Recompute the completion counters from the chore history, for one workspace or all of them
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuildCounters(@RequestParam(required = false) Long workspaceId) {
+        try {
+            int counters = completionStatsService.rebuild(workspaceId);
+            return ResponseEntity.ok(Map.of("counters", counters));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
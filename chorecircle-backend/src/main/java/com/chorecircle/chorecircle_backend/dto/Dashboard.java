@@ -0,0 +1,14 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+import java.time.LocalTime;
+import java.util.List;
+
+// Everything a workspace board shows; assignees, performers and senders are member ids. version is the
+// workspace's board_version the board is at least as new as.
+public record Dashboard(Long workspaceId, String name, String rotationStrategy, LocalTime quietStart,
+                        LocalTime quietEnd, long version, List<Member> members, List<ChoreSummary> openChores,
+                        List<HistoryEntry> recentHistory, List<PingEvent> recentPings) {
+
+    public record Member(Long id, String username) {
+    }
+}
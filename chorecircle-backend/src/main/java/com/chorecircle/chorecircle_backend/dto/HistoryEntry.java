@@ -0,0 +1,10 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One completion from chore_history; id is null until the entry has been written.
+// occurrenceDate names the completed occurrence of a recurring chore and is null otherwise.
+public record HistoryEntry(Long id, Long choreId, Long workspaceId, Long performedById, LocalDateTime performedAt,
+                           String note, LocalDate occurrenceDate) {
+}
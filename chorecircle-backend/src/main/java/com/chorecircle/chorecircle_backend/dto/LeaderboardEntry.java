@@ -0,0 +1,5 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+// One member's completions in a leaderboard period; tied members share a rank
+public record LeaderboardEntry(int rank, Long userId, String username, int completions) {
+}
@@ -0,0 +1,11 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One entry of the chore calendar. occurrenceDate is the date the recurrence puts it on and is null
+// for a one-off chore; dueDate differs from it when the occurrence was moved.
+public record Occurrence(Long choreId, Long workspaceId, String title, LocalDate occurrenceDate, LocalDate dueDate,
+                         Long assignedToId, boolean skipped, boolean completed, Long completedById,
+                         LocalDateTime completedAt) {
+}
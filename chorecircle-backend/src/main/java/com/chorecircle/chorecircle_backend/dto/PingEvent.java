@@ -0,0 +1,14 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+import java.time.LocalDateTime;
+
+import com.chorecircle.chorecircle_backend.entities.Ping;
+
+// Ping as pushed to its target user; sentById is null for system reminders
+public record PingEvent(Long id, Long choreId, Long targetUserId, Long sentById, LocalDateTime sentAt, String message) {
+
+    public static PingEvent from(Ping ping) {
+        return new PingEvent(ping.getId(), ping.getChore().getId(), ping.getTargetUser().getId(),
+                ping.getSentBy() != null ? ping.getSentBy().getId() : null, ping.getSentAt(), ping.getMessage());
+    }
+}
@@ -0,0 +1,11 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.chorecircle.chorecircle_backend.entities.Recurrence.Frequency;
+
+// Recurrence as given when creating or updating a chore; the series starts on the chore's due date
+public record RecurrenceRequest(Frequency frequency, Integer interval, List<DayOfWeek> weekdays, LocalDate until) {
+}
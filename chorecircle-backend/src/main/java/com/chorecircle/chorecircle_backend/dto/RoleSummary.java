@@ -0,0 +1,11 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+import com.chorecircle.chorecircle_backend.entities.Role;
+
+// Role as returned by the API
+public record RoleSummary(Long id, String name) {
+
+    public static RoleSummary from(Role role) {
+        return new RoleSummary(role.getId(), role.getName());
+    }
+}
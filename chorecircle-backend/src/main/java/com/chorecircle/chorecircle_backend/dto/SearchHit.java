@@ -0,0 +1,5 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+// A ranked name match from user or role search; higher scores are better matches
+public record SearchHit(Long id, String name, double score) {
+}
@@ -0,0 +1,19 @@
+package com.chorecircle.chorecircle_backend.dto;
+
+import java.util.Comparator;
+import java.util.List;
+
+import com.chorecircle.chorecircle_backend.entities.User;
+
+// User as returned by the API: no password hash or security version
+public record UserSummary(Long id, String username, boolean enabled, List<RoleSummary> roles) {
+
+    // The user's roles must already be loaded
+    public static UserSummary from(User user) {
+        List<RoleSummary> roles = user.getRoles().stream()
+                .map(RoleSummary::from)
+                .sorted(Comparator.comparing(RoleSummary::name))
+                .toList();
+        return new UserSummary(user.getId(), user.getUsername(), user.isEnabled(), roles);
+    }
+}
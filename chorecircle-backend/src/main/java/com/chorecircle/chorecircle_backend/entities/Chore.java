@@ -2,6 +2,7 @@ package com.chorecircle.chorecircle_backend.entities;
 
 import java.time.LocalDate;
 
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -28,6 +29,11 @@ public class Chore {
     @ManyToOne
     private User assignedTo;
 
+    // For a recurring chore, the due date of its next occurrence
     private LocalDate dueDate;
     private boolean completed = false;
+
+    // Null for a one-off chore
+    @Embedded
+    private Recurrence recurrence;
 }
@@ -1,31 +1,43 @@
 package com.chorecircle.chorecircle_backend.entities;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+// Append-only and partitioned by performedAt month; rows are written by ChoreHistoryWriter
 @Entity
 @Table(name = "chore_history")
 @Data @NoArgsConstructor @AllArgsConstructor
 public class ChoreHistory {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chore_history_seq")
+    @SequenceGenerator(name = "chore_history_seq", sequenceName = "chore_history_seq", allocationSize = 1)
     private Long id;
 
     @ManyToOne(optional=false)
     private Chore chore;
 
+    // Copied from the chore when the row is written
+    private Long workspaceId;
+
     @ManyToOne
     private User performedBy; // who completed it
 
+    @Column(nullable = false)
     private LocalDateTime performedAt;
 
     private String note; // optional
+
+    private LocalDate occurrenceDate; // the completed occurrence of a recurring chore
 }
@@ -0,0 +1,55 @@
+package com.chorecircle.chorecircle_backend.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One occurrence of a recurring chore that differs from its rule: completed, skipped, moved to
+// another day or given to another member. Occurrences without a row are computed from the rule.
+@Entity
+@Table(name = "chore_occurrences")
+@IdClass(ChoreOccurrence.Key.class)
+@Data @NoArgsConstructor @AllArgsConstructor
+public class ChoreOccurrence {
+
+    @Data @NoArgsConstructor @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long choreId;
+        private LocalDate occurrenceDate;
+    }
+
+    @Id
+    private Long choreId;
+
+    // The date the rule puts this occurrence on
+    @Id
+    private LocalDate occurrenceDate;
+
+    // Set when the occurrence was moved to another day
+    private LocalDate dueDate;
+
+    // Set when this occurrence has a different assignee than the chore
+    @ManyToOne
+    private User assignedTo;
+
+    private boolean skipped;
+
+    @ManyToOne
+    private User completedBy;
+
+    private LocalDateTime completedAt;
+
+    public ChoreOccurrence(Long choreId, LocalDate occurrenceDate) {
+        this.choreId = choreId;
+        this.occurrenceDate = occurrenceDate;
+    }
+}
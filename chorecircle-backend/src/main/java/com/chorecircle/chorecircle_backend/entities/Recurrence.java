@@ -0,0 +1,42 @@
+package com.chorecircle.chorecircle_backend.entities;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Repeat rule of a recurring chore; occurrences are expanded from it by RecurrenceRule
+@Embeddable
+@Data @NoArgsConstructor @AllArgsConstructor
+public class Recurrence {
+
+    public enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "recurrence_frequency", length = 8)
+    private Frequency frequency;
+
+    // Every interval days, weeks or months
+    @Column(name = "recurrence_interval")
+    private Integer interval;
+
+    // Bit (ISO day of week - 1) per weekday of a WEEKLY rule
+    @Column(name = "recurrence_weekdays")
+    private Integer weekdays;
+
+    @Column(name = "recurrence_start")
+    private LocalDate start;
+
+    // Last day an occurrence may fall on; null repeats forever
+    @Column(name = "recurrence_until")
+    private LocalDate until;
+
+    // Earliest occurrence not yet completed or skipped; null once the series is over
+    @Column(name = "recurrence_next")
+    private LocalDate next;
+}
@@ -0,0 +1,41 @@
+package com.chorecircle.chorecircle_backend.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "refresh_tokens")
+@Data @NoArgsConstructor @AllArgsConstructor
+public class RefreshToken {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 of the opaque token handed to the client; the raw value is never stored
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // All tokens produced by rotating the same login share a family; reuse of a rotated token revokes the family
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @ManyToOne(optional = false)
+    private User user;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime revokedAt; // null while the token is still usable
+}
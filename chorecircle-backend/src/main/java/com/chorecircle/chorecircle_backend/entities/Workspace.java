@@ -1,5 +1,6 @@
 package com.chorecircle.chorecircle_backend.entities;
 
+import java.time.LocalTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -26,6 +27,14 @@ public class Workspace {
     @Column(nullable = false)
     private String name;
 
+    // Name of the RotationStrategy used for this workspace; null means app.rotation.default-strategy
+    @Column(length = 32)
+    private String rotationStrategy;
+
+    // Reminders are not sent between these local times; a start after the end wraps past midnight
+    private LocalTime quietStart;
+    private LocalTime quietEnd;
+
     @ManyToMany
     @JoinTable(
         name = "workspace_members",
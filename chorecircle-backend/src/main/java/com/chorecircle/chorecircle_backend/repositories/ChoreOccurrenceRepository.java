@@ -0,0 +1,20 @@
+package com.chorecircle.chorecircle_backend.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.chorecircle.chorecircle_backend.entities.ChoreOccurrence;
+
+@Repository
+public interface ChoreOccurrenceRepository extends JpaRepository<ChoreOccurrence, ChoreOccurrence.Key> {
+
+    // Occurrences after the given one that no longer need doing, for advancing the chore's next occurrence
+    @Query("SELECT o.occurrenceDate FROM ChoreOccurrence o WHERE o.choreId = :choreId AND o.occurrenceDate > :after "
+            + "AND (o.skipped = true OR o.completedAt IS NOT NULL) ORDER BY o.occurrenceDate")
+    List<LocalDate> findClosedAfter(@Param("choreId") Long choreId, @Param("after") LocalDate after);
+}
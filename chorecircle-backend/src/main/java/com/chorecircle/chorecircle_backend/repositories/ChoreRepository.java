@@ -0,0 +1,40 @@
+package com.chorecircle.chorecircle_backend.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.chorecircle.chorecircle_backend.entities.Chore;
+import com.chorecircle.chorecircle_backend.entities.Recurrence;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface ChoreRepository extends JpaRepository<Chore, Long> {
+
+    // What a bulk completion needs to check each chore, without loading the entities
+    interface CompletionView {
+        Long getId();
+        Long getWorkspaceId();
+        boolean isCompleted();
+        Recurrence.Frequency getFrequency();
+    }
+
+    // Locks the rows in id order, so concurrent bulk completions cannot deadlock and see each other's
+    // completions
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id AS id, c.workspace.id AS workspaceId, c.completed AS completed, "
+            + "c.recurrence.frequency AS frequency FROM Chore c WHERE c.id IN :ids ORDER BY c.id")
+    List<CompletionView> lockForCompletion(@Param("ids") Collection<Long> ids);
+
+    // One statement for the whole set, so the board version triggers also fire once
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Chore c SET c.completed = true WHERE c.id IN :ids")
+    int markCompleted(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,8 @@
+package com.chorecircle.chorecircle_backend.repositories;
+
+// Projection for name search queries over users and roles
+public interface NameMatchView {
+    Long getId();
+    String getName();
+    Double getScore();
+}
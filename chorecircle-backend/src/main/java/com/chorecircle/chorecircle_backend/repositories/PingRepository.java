@@ -0,0 +1,24 @@
+package com.chorecircle.chorecircle_backend.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.chorecircle.chorecircle_backend.dto.PingEvent;
+import com.chorecircle.chorecircle_backend.entities.Ping;
+
+@Repository
+public interface PingRepository extends JpaRepository<Ping, Long> {
+
+    // Replay for a reconnecting stream; served by the (target_user_id, sent_at) index
+    @Query("SELECT new com.chorecircle.chorecircle_backend.dto.PingEvent(p.id, p.chore.id, p.targetUser.id, p.sentBy.id, "
+            + "p.sentAt, p.message) FROM Ping p "
+            + "WHERE p.targetUser.id = :userId AND p.sentAt >= :since AND p.id > :afterId ORDER BY p.id")
+    List<PingEvent> findEventsSince(@Param("userId") Long userId, @Param("since") LocalDateTime since,
+                                    @Param("afterId") long afterId, Limit limit);
+}
@@ -1,5 +1,6 @@
 package com.chorecircle.chorecircle_backend.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.chorecircle.chorecircle_backend.dto.RoleSummary;
 import com.chorecircle.chorecircle_backend.entities.Role;
 
 @Repository
@@ -17,8 +19,22 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     
     boolean existsByName(String name);
     
-    @Query("SELECT r FROM Role r WHERE r.name LIKE %:keyword%")
-    List<Role> findByNameContaining(@Param("keyword") String keyword);
+    List<Role> findByNameIn(Collection<String> names);
+    
+    @Query(value = "SELECT r.id AS id, r.name AS name, similarity(lower(r.name), :query) AS score "
+            + "FROM roles r WHERE lower(r.name) LIKE :pattern ESCAPE '\\' "
+            + "ORDER BY (lower(r.name) = :query) DESC, (lower(r.name) LIKE :prefix ESCAPE '\\') DESC, "
+            + "score DESC, lower(r.name) LIMIT :limit", nativeQuery = true)
+    List<NameMatchView> searchRanked(@Param("query") String query, @Param("pattern") String pattern,
+                                     @Param("prefix") String prefix, @Param("limit") int limit);
+    
+    @Query(value = "SELECT r.id AS id, r.name AS name, 1.0 AS score FROM roles r "
+            + "WHERE lower(r.name) LIKE :prefix ESCAPE '\\' ORDER BY lower(r.name) LIMIT :limit",
+            nativeQuery = true)
+    List<NameMatchView> findByPrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+    
+    @Query("SELECT r.id AS id, r.name AS name FROM Role r")
+    List<NameMatchView> findAllNames();
     
     @Modifying
     @Query("UPDATE Role r SET r.name = :newName WHERE r.id = :roleId")
@@ -29,4 +45,18 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
     
     @Query("SELECT r FROM Role r ORDER BY r.name ASC")
     List<Role> findAllOrderByName();
+    
+    @Query("SELECT new com.chorecircle.chorecircle_backend.dto.RoleSummary(r.id, r.name) FROM Role r ORDER BY r.id")
+    List<RoleSummary> findAllSummaries();
+    
+    @Query("SELECT new com.chorecircle.chorecircle_backend.dto.RoleSummary(r.id, r.name) FROM Role r ORDER BY r.name ASC")
+    List<RoleSummary> findAllSummariesOrderByName();
+    
+    @Query("SELECT new com.chorecircle.chorecircle_backend.dto.RoleSummary(r.id, r.name) "
+            + "FROM User u JOIN u.roles r WHERE u.id = :userId ORDER BY r.name")
+    List<RoleSummary> findSummariesByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT new com.chorecircle.chorecircle_backend.dto.RoleSummary(r.id, r.name) "
+            + "FROM User u JOIN u.roles r WHERE u.username = :username ORDER BY r.name")
+    List<RoleSummary> findSummariesByUsername(@Param("username") String username);
 } 
\ No newline at end of file
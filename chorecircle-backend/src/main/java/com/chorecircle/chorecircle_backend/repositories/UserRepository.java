@@ -1,8 +1,11 @@
 package com.chorecircle.chorecircle_backend.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,22 +18,156 @@ import com.chorecircle.chorecircle_backend.entities.User;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     
+    // Roles are lazy; these load them in the same query for callers that need them (authentication, detail views)
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByUsername(String username);
+    
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesById(Long id);
+    
     boolean existsByUsername(String username);
     
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+    
     @Modifying
-    @Query("UPDATE User u SET u.password = :password WHERE u.id = :userId")
+    @Query("UPDATE User u SET u.password = :password, u.securityVersion = u.securityVersion + 1 WHERE u.id = :userId")
     void updatePassword(@Param("userId") Long userId, @Param("password") String password);
     
+    // Re-encoding the same password does not invalidate issued tokens
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username")
+    int updatePasswordHash(@Param("username") String username, @Param("password") String password);
+    
     @Modifying
-    @Query("UPDATE User u SET u.enabled = :enabled WHERE u.id = :userId")
+    @Query("UPDATE User u SET u.enabled = :enabled, u.securityVersion = u.securityVersion + 1 WHERE u.id = :userId")
     void updateEnabledStatus(@Param("userId") Long userId, @Param("enabled") boolean enabled);
     
-    @Query("SELECT u FROM User u WHERE u.username LIKE %:keyword%")
-    List<User> findByUsernameContaining(@Param("keyword") String keyword);
+    @Modifying
+    @Query("UPDATE User u SET u.securityVersion = u.securityVersion + 1 WHERE u.id IN (SELECT ur.id FROM User ur JOIN ur.roles r WHERE r.id = :roleId)")
+    int incrementSecurityVersionForRole(@Param("roleId") Long roleId);
+    
+    @Query("SELECT u.id AS id, u.securityVersion AS securityVersion FROM User u JOIN u.roles r WHERE r.id = :roleId")
+    List<SecurityVersionView> findSecurityVersionsByRoleId(@Param("roleId") Long roleId);
+    
+    @Query("SELECT u.id AS id, u.securityVersion AS securityVersion FROM User u WHERE u.id IN :userIds")
+    List<SecurityVersionView> findSecurityVersions(@Param("userIds") Collection<Long> userIds);
+    
+    @Modifying
+    @Query("UPDATE User u SET u.securityVersion = u.securityVersion + 1 WHERE u.id IN :userIds")
+    int incrementSecurityVersions(@Param("userIds") Collection<Long> userIds);
+    
+    @Query("SELECT u.id AS id, u.securityVersion AS securityVersion FROM User u WHERE u.id = :userId")
+    Optional<SecurityVersionView> findSecurityVersion(@Param("userId") Long userId);
+    
+    interface SecurityVersionView {
+        Long getId();
+        long getSecurityVersion();
+    }
+    
+    // Row of a user listing; the password hash and roles are never part of a page query
+    interface UserRowView {
+        Long getId();
+        String getUsername();
+        boolean isEnabled();
+    }
+    
+    interface UserRoleView {
+        Long getUserId();
+        Long getRoleId();
+        String getRoleName();
+    }
+    
+    // Keyset pages: each query seeks past the last key of the previous page on the primary key or the
+    // unique username index, so the cost of a page does not grow with its position (no OFFSET)
+    @Query("SELECT u.id AS id, u.username AS username, u.enabled AS enabled FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserRowView> findPageById(@Param("afterId") long afterId, Limit limit);
+    
+    @Query("SELECT u.id AS id, u.username AS username, u.enabled AS enabled FROM User u WHERE u.username > :afterUsername ORDER BY u.username")
+    List<UserRowView> findPageByUsername(@Param("afterUsername") String afterUsername, Limit limit);
+    
+    // pattern is an escaped, lower-cased LIKE pattern; lower(username) is covered by the trigram index
+    @Query("SELECT u.id AS id, u.username AS username, u.enabled AS enabled FROM User u WHERE LOWER(u.username) LIKE :pattern ESCAPE '\\' AND u.id > :afterId ORDER BY u.id")
+    List<UserRowView> searchPageById(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
+    
+    @Query("SELECT u.id AS id, u.username AS username, u.enabled AS enabled FROM User u WHERE LOWER(u.username) LIKE :pattern ESCAPE '\\' AND u.username > :afterUsername ORDER BY u.username")
+    List<UserRowView> searchPageByUsername(@Param("pattern") String pattern, @Param("afterUsername") String afterUsername, Limit limit);
+    
+    @Query("SELECT COUNT(u) FROM User u WHERE LOWER(u.username) LIKE :pattern ESCAPE '\\'")
+    long countByUsernameLike(@Param("pattern") String pattern);
+    
+    // Ranked substring match: exact, then prefix, then trigram similarity. Needs pg_trgm.
+    @Query(value = "SELECT u.id AS id, u.username AS name, similarity(lower(u.username), :query) AS score "
+            + "FROM users u WHERE lower(u.username) LIKE :pattern ESCAPE '\\' "
+            + "ORDER BY (lower(u.username) = :query) DESC, (lower(u.username) LIKE :prefix ESCAPE '\\') DESC, "
+            + "score DESC, lower(u.username) LIMIT :limit", nativeQuery = true)
+    List<NameMatchView> searchRanked(@Param("query") String query, @Param("pattern") String pattern,
+                                     @Param("prefix") String prefix, @Param("limit") int limit);
+    
+    // Served by the lower(username) text_pattern_ops index
+    @Query(value = "SELECT u.id AS id, u.username AS name, 1.0 AS score FROM users u "
+            + "WHERE lower(u.username) LIKE :prefix ESCAPE '\\' ORDER BY lower(u.username) LIMIT :limit",
+            nativeQuery = true)
+    List<NameMatchView> findByPrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+    
+    @Query("SELECT u.id AS id, u.username AS name FROM User u")
+    List<NameMatchView> findAllNames();
+    
+    @Query("SELECT u.id AS id, u.username AS username, u.enabled AS enabled FROM User u JOIN u.roles r WHERE r.name = :roleName AND u.id > :afterId ORDER BY u.id")
+    List<UserRowView> findPageByRoleNameById(@Param("roleName") String roleName, @Param("afterId") long afterId, Limit limit);
+    
+    @Query("SELECT u.id AS id, u.username AS username, u.enabled AS enabled FROM User u JOIN u.roles r WHERE r.name = :roleName AND u.username > :afterUsername ORDER BY u.username")
+    List<UserRowView> findPageByRoleNameByUsername(@Param("roleName") String roleName, @Param("afterUsername") String afterUsername, Limit limit);
+    
+    @Query("SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r.name = :roleName")
+    long countByRoleName(@Param("roleName") String roleName);
+    
+    @Query("SELECT u.id AS id, u.username AS username, u.enabled AS enabled FROM User u JOIN u.roles r WHERE r.id = :roleId AND u.id > :afterId ORDER BY u.id")
+    List<UserRowView> findPageByRoleIdById(@Param("roleId") Long roleId, @Param("afterId") long afterId, Limit limit);
+    
+    @Query("SELECT u.id AS id, u.username AS username, u.enabled AS enabled FROM User u JOIN u.roles r WHERE r.id = :roleId AND u.username > :afterUsername ORDER BY u.username")
+    List<UserRowView> findPageByRoleIdByUsername(@Param("roleId") Long roleId, @Param("afterUsername") String afterUsername, Limit limit);
+    
+    @Query("SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r.id = :roleId")
+    long countByRoleId(@Param("roleId") Long roleId);
+    
+    // Roles of every user on a page in one query, so listing a page never loads roles user by user
+    @Query("SELECT u.id AS userId, r.id AS roleId, r.name AS roleName FROM User u JOIN u.roles r "
+            + "WHERE u.id IN :userIds ORDER BY r.name")
+    List<UserRoleView> findRoleRows(@Param("userIds") Collection<Long> userIds);
+    
+    boolean existsByIdAndRolesName(Long id, String roleName);
+    
+    boolean existsByUsernameAndRolesName(String username, String roleName);
+    
+    // Id-only keyset scans used to walk a filtered set of users in chunks without loading entities
+    @Query("SELECT u.id FROM User u WHERE LOWER(u.username) LIKE :pattern ESCAPE '\\' AND u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsByUsernameLike(@Param("pattern") String pattern, @Param("afterId") long afterId, Limit limit);
+    
+    @Query("SELECT u.id FROM User u JOIN u.roles r WHERE r.name = :roleName AND u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsByRoleName(@Param("roleName") String roleName, @Param("afterId") long afterId, Limit limit);
+    
+    @Query("SELECT u.id FROM User u JOIN u.roles r WHERE r.id = :roleId AND u.id IN :userIds")
+    List<Long> findIdsWithRole(@Param("roleId") Long roleId, @Param("userIds") Collection<Long> userIds);
+    
+    // Role membership lives only in the user_roles join table, so set-based changes go to it directly
+    // instead of loading every user and its roles. They clear the persistence context so no stale
+    // User.roles collection survives the statement.
+    @Query(value = "SELECT u.id FROM users u WHERE u.id IN (:userIds) AND NOT EXISTS "
+            + "(SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)", nativeQuery = true)
+    List<Long> findIdsWithoutRole(@Param("roleId") Long roleId, @Param("userIds") Collection<Long> userIds);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO user_roles (user_id, role_id) SELECT u.id, :roleId FROM users u "
+            + "WHERE u.id IN (:userIds) AND NOT EXISTS "
+            + "(SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = :roleId)", nativeQuery = true)
+    int insertRoleMemberships(@Param("roleId") Long roleId, @Param("userIds") Collection<Long> userIds);
     
-    @Query("SELECT DISTINCT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
-    List<User> findByRolesName(@Param("roleName") String roleName);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM user_roles WHERE role_id = :roleId AND user_id IN (:userIds)", nativeQuery = true)
+    int deleteRoleMemberships(@Param("roleId") Long roleId, @Param("userIds") Collection<Long> userIds);
     
-    @Query("SELECT DISTINCT u FROM User u JOIN u.roles r WHERE r.id = :roleId")
-    List<User> findByRolesId(@Param("roleId") Long roleId);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM user_roles WHERE role_id = :roleId", nativeQuery = true)
+    int deleteAllRoleMemberships(@Param("roleId") Long roleId);
 }
@@ -0,0 +1,25 @@
+package com.chorecircle.chorecircle_backend.repositories;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.chorecircle.chorecircle_backend.entities.Workspace;
+
+@Repository
+public interface WorkspaceRepository extends JpaRepository<Workspace, Long> {
+
+    // Primary key lookup on workspace_members; does not load the member collection
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM workspace_members WHERE workspace_id = :workspaceId AND user_id = :userId)",
+            nativeQuery = true)
+    boolean isMember(@Param("workspaceId") Long workspaceId, @Param("userId") Long userId);
+
+    // Takes the row locks the board_version triggers would take, in id order. A statement that writes to
+    // several workspaces calls this first, so its triggers cannot lock them in a conflicting order.
+    @Query(value = "SELECT id FROM workspaces WHERE id IN (:ids) ORDER BY id FOR NO KEY UPDATE", nativeQuery = true)
+    List<Long> lockForBoardUpdate(@Param("ids") Collection<Long> ids);
+}
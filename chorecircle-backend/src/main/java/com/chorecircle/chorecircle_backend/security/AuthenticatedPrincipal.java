@@ -0,0 +1,11 @@
+package com.chorecircle.chorecircle_backend.security;
+
+// Common view of the authenticated user, whether it was loaded from the database or rebuilt from token claims
+public interface AuthenticatedPrincipal {
+
+    Long getUserId();
+
+    String getUsername();
+
+    RoleAuthorities getRoleAuthorities();
+}
@@ -1,27 +1,25 @@
 package com.chorecircle.chorecircle_backend.security;
 
 import java.util.Collection;
-import java.util.stream.Collectors;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.chorecircle.chorecircle_backend.entities.User;
 
-public class CustomUserDetails implements UserDetails {
+public class CustomUserDetails implements UserDetails, AuthenticatedPrincipal {
 
     private final User user;
+    private final RoleAuthorities roleAuthorities;
 
-    public CustomUserDetails(User user) {
+    public CustomUserDetails(User user, RoleAuthorities roleAuthorities) {
         this.user = user;
+        this.roleAuthorities = roleAuthorities;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getName()))
-                .collect(Collectors.toList());
+        return roleAuthorities.getAuthorities();
     }
 
     @Override
@@ -58,7 +56,13 @@ public class CustomUserDetails implements UserDetails {
         return user;
     }
 
+    @Override
     public Long getUserId() {
         return user.getId();
     }
+
+    @Override
+    public RoleAuthorities getRoleAuthorities() {
+        return roleAuthorities;
+    }
 } 
\ No newline at end of file
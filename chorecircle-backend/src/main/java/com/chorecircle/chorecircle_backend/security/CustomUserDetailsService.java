@@ -3,34 +3,55 @@ package com.chorecircle.chorecircle_backend.security;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.chorecircle.chorecircle_backend.entities.Role;
 import com.chorecircle.chorecircle_backend.services.UserService;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
     private final UserService userService;
+    private final UserDetailsCache userDetailsCache;
+    private final RoleBitRegistry roleBitRegistry;
 
-    public CustomUserDetailsService(UserService userService) {
+    public CustomUserDetailsService(UserService userService, UserDetailsCache userDetailsCache,
+                                    RoleBitRegistry roleBitRegistry) {
         this.userService = userService;
+        this.userDetailsCache = userDetailsCache;
+        this.roleBitRegistry = roleBitRegistry;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsCache.get(username, () -> loadFromDatabase(username));
+    }
+
+    private CustomUserDetails loadFromDatabase(String username) {
         logger.debug("Loading user by username: {}", username);
         
-        return userService.getUserByUsername(username)
+        return userService.getUserCredentials(username)
                 .map(user -> {
                     logger.debug("Found user: {} with roles: {}", user.getUsername(), user.getRoles());
-                    return new CustomUserDetails(user);
+                    return new CustomUserDetails(user, roleBitRegistry.forRoles(
+                            user.getRoles().stream().map(Role::getName).toList()));
                 })
                 .orElseThrow(() -> {
                     logger.debug("User not found: {}", username);
                     return new UsernameNotFoundException("User not found: " + username);
                 });
     }
+
+    // Called by DaoAuthenticationProvider after a successful login when the stored hash uses a weaker cost factor
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newEncodedPassword) {
+        logger.debug("Upgrading password hash for user: {}", user.getUsername());
+        userService.rehashPassword(user.getUsername(), newEncodedPassword);
+        userDetailsCache.evictUsername(user.getUsername());
+        return loadUserByUsername(user.getUsername());
+    }
 } 
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.chorecircle.chorecircle_backend.security;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,29 +18,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final TokenRevocationList tokenRevocationList;
+    private final RoleBitRegistry roleBitRegistry;
+    private final boolean statelessPrincipal;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, 
-                                 CustomUserDetailsService customUserDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                 CustomUserDetailsService customUserDetailsService,
+                                 SecurityVersionRegistry securityVersionRegistry,
+                                 TokenRevocationList tokenRevocationList,
+                                 RoleBitRegistry roleBitRegistry,
+                                 boolean statelessPrincipal) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.customUserDetailsService = customUserDetailsService;
+        this.securityVersionRegistry = securityVersionRegistry;
+        this.tokenRevocationList = tokenRevocationList;
+        this.roleBitRegistry = roleBitRegistry;
+        this.statelessPrincipal = statelessPrincipal;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
+
         try {
             String jwt = getJwtFromRequest(request);
+            Optional<VerifiedToken> verified = jwt != null ? jwtTokenProvider.verify(jwt) : Optional.empty();
 
-            if (jwt != null && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (verified.isPresent()) {
+                UsernamePasswordAuthenticationToken authentication = authenticationFor(verified.get());
+                if (authentication != null) {
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -48,6 +59,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Stateless mode builds the principal from token claims; older tokens without them fall back to a lookup
+    private UsernamePasswordAuthenticationToken authenticationFor(VerifiedToken token) {
+        if (tokenRevocationList.isRevoked(token.tokenId())) {
+            logger.debug("Rejected revoked JWT for user " + token.username());
+            return null;
+        }
+        if (statelessPrincipal && token.isSelfContained()) {
+            if (!securityVersionRegistry.isCurrent(token.userId(), token.securityVersion())) {
+                logger.debug("Rejected JWT with stale security version for user " + token.username());
+                return null;
+            }
+            JwtPrincipal principal = new JwtPrincipal(token.userId(), token.username(),
+                    roleBitRegistry.forRoles(token.roles()));
+            return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        }
+
+        UserDetails userDetails = customUserDetailsService.loadUserByUsername(token.username());
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -55,4 +86,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,43 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+
+// Principal rebuilt from a self-contained token without touching the database
+public class JwtPrincipal implements AuthenticatedPrincipal {
+
+    private final Long userId;
+    private final String username;
+    private final RoleAuthorities roleAuthorities;
+
+    public JwtPrincipal(Long userId, String username, RoleAuthorities roleAuthorities) {
+        this.userId = userId;
+        this.username = username;
+        this.roleAuthorities = roleAuthorities;
+    }
+
+    @Override
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public RoleAuthorities getRoleAuthorities() {
+        return roleAuthorities;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return roleAuthorities.getAuthorities();
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
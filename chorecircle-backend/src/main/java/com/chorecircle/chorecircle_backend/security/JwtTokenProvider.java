@@ -1,58 +1,126 @@
 package com.chorecircle.chorecircle_backend.security;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import com.chorecircle.chorecircle_backend.entities.Role;
+import com.chorecircle.chorecircle_backend.entities.User;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_SECURITY_VERSION = "sv";
+
     @Value("${app.jwt.secret:defaultSecretKey}")
     private String jwtSecret;
 
-    @Value("${app.jwt.expiration:86400000}")
+    @Value("${app.jwt.expiration:900000}")
     private int jwtExpirationInMs;
 
+    @Value("${app.jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // Key, parser and cache are built once; the parser is immutable and safe to share across threads
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokenCache = new VerifiedTokenCache(cacheMaxEntries);
+    }
+
     public String generateToken(Authentication authentication) {
         CustomUserDetails userPrincipal = (CustomUserDetails) authentication.getPrincipal();
+        return generateToken(userPrincipal.getUser());
+    }
+
+    public String generateToken(User user) {
+        List<String> roleNames = user.getRoles().stream()
+                .map(Role::getName)
+                .sorted()
+                .toList();
 
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
         return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
-                .setIssuedAt(new Date())
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLES, roleNames)
+                .claim(CLAIM_SECURITY_VERSION, user.getSecurityVersion())
+                .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes()), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Parse and verify the token once; answers from the cache when this exact token was verified before
+    public Optional<VerifiedToken> verify(String token) {
+        VerifiedToken cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
 
-        return claims.getSubject();
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getIssuedAt(), claims.getExpiration(),
+                    claims.get(CLAIM_USER_ID, Long.class), roleNames(claims), claims.get(CLAIM_SECURITY_VERSION, Long.class),
+                    claims.getId());
+            verifiedTokenCache.put(token, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException ex) {
+            logger.debug("Rejected JWT: {}", ex.getMessage());
+            return Optional.empty();
+        }
     }
 
-    public boolean validateToken(String authToken) {
-        try {
-            Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes()))
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
-        } catch (Exception ex) {
-            return false;
+    private static List<String> roleNames(Claims claims) {
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (roles == null) {
+            return null;
         }
+        return roles.stream().map(String::valueOf).toList();
+    }
+
+    public long getExpirationInMs() {
+        return jwtExpirationInMs;
+    }
+
+    public String getUsernameFromToken(String token) {
+        return verify(token)
+                .map(VerifiedToken::username)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
+    }
+
+    public boolean validateToken(String authToken) {
+        return verify(authToken).isPresent();
     }
-} 
\ No newline at end of file
+}
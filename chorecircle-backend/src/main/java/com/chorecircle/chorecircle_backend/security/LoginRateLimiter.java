@@ -0,0 +1,154 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Token-bucket limiter for login attempts, keyed separately by username and by client address.
+// Buckets live in lock-striped LRU maps so memory stays bounded and contention stays low;
+// idle buckets are dropped once their stripe fills up.
+@Component
+public class LoginRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final boolean enabled;
+    private final BucketSpec usernameSpec;
+    private final BucketSpec addressSpec;
+    private final long idleNanos;
+    private final int maxEntriesPerStripe;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Counter rejectedCounter;
+
+    public LoginRateLimiter(@Value("${app.security.login-rate-limit.enabled:true}") boolean enabled,
+                            @Value("${app.security.login-rate-limit.username-burst:5}") int usernameBurst,
+                            @Value("${app.security.login-rate-limit.username-refill:1m}") Duration usernameRefill,
+                            @Value("${app.security.login-rate-limit.address-burst:20}") int addressBurst,
+                            @Value("${app.security.login-rate-limit.address-refill:3s}") Duration addressRefill,
+                            @Value("${app.security.login-rate-limit.max-entries:100000}") int maxEntries,
+                            @Value("${app.security.login-rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.usernameSpec = new BucketSpec(usernameBurst, usernameRefill.toNanos());
+        this.addressSpec = new BucketSpec(addressBurst, addressRefill.toNanos());
+        this.idleNanos = idleTimeout.toNanos();
+        this.maxEntriesPerStripe = Math.max(16, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.rejectedCounter = Counter.builder("chorecircle.login.rate-limited").register(meterRegistry);
+    }
+
+    // Returns 0 when the attempt may proceed, otherwise the number of seconds to wait before retrying
+    public long tryAcquire(String username, String remoteAddress) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        long addressWait = acquire("a:" + remoteAddress, addressSpec, now);
+        long usernameWait = username == null ? 0 : acquire(usernameKey(username), usernameSpec, now);
+        long waitNanos = Math.max(addressWait, usernameWait);
+        if (waitNanos > 0) {
+            rejectedCounter.increment();
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos));
+        }
+        return 0;
+    }
+
+    // A successful login clears the username bucket so earlier typos do not lock the owner out
+    public void onSuccess(String username) {
+        if (!enabled || username == null) {
+            return;
+        }
+        String key = usernameKey(username);
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            stripe.buckets.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private long acquire(String key, BucketSpec spec, long now) {
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxEntriesPerStripe) {
+                    stripe.evictIdle(now, idleNanos);
+                }
+                bucket = new Bucket(spec.burst(), now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryTake(spec, now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static String usernameKey(String username) {
+        return "u:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private record BucketSpec(int burst, long refillNanos) {
+    }
+
+    private static final class Bucket {
+
+        private double tokens;
+        private long lastSeen;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastSeen = now;
+        }
+
+        // Take one token, returning 0 on success or the nanoseconds until one becomes available
+        long tryTake(BucketSpec spec, long now) {
+            double refilled = (double) (now - lastSeen) / spec.refillNanos();
+            tokens = Math.min(spec.burst(), tokens + refilled);
+            lastSeen = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) ((1 - tokens) * spec.refillNanos());
+        }
+    }
+
+    private final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Bucket> buckets = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > maxEntriesPerStripe;
+            }
+        };
+
+        // Access order means the least recently used buckets come first, so stop at the first active one
+        void evictIdle(long now, long idleNanos) {
+            Iterator<Bucket> it = buckets.values().iterator();
+            while (it.hasNext() && now - it.next().lastSeen > idleNanos) {
+                it.remove();
+            }
+        }
+    }
+}
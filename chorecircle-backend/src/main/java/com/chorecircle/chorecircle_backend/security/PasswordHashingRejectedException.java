@@ -0,0 +1,16 @@
+package com.chorecircle.chorecircle_backend.security;
+
+// Thrown when the password hashing pool is saturated; callers should answer 503 with Retry-After
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(long retryAfterSeconds) {
+        super("Password hashing capacity exceeded, retry in " + retryAfterSeconds + "s");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,44 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+
+// Immutable, shared authorities for one distinct set of roles. Instances come from RoleBitRegistry,
+// so every principal holding the same roles points at the same object and the same authority list.
+public final class RoleAuthorities {
+
+    private final long roleMask;
+    private final long effectiveMask;
+    private final List<GrantedAuthority> authorities;
+
+    RoleAuthorities(long roleMask, long effectiveMask, List<GrantedAuthority> authorities) {
+        this.roleMask = roleMask;
+        this.effectiveMask = effectiveMask;
+        this.authorities = authorities;
+    }
+
+    // Bits of the roles actually assigned
+    public long getRoleMask() {
+        return roleMask;
+    }
+
+    // Assigned roles plus everything they imply through the role hierarchy
+    public long getEffectiveMask() {
+        return effectiveMask;
+    }
+
+    // ROLE_ authorities for the effective roles
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public boolean hasAny(long requiredMask) {
+        return (effectiveMask & requiredMask) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return authorities.toString();
+    }
+}
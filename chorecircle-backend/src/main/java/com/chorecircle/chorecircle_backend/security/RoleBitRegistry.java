@@ -0,0 +1,236 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.chorecircle.chorecircle_backend.repositories.RoleRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// Assigns every role name a bit in a long so role checks become a single mask test.
+// Bits are handed out at startup in role id order and to new names as they appear; they are
+// never persisted, so they only need to be stable for the lifetime of this process. A renamed or
+// deleted role keeps its bit until restart, since cached authorities may still carry it; once all 64
+// are taken a new name is refused with an error rather than given a bit that never matches.
+// The configured hierarchy ("ADMIN > MODERATOR > USER") is expanded into a transitive
+// closure mask per bit, and authorities are shared per distinct role set.
+@Component
+public class RoleBitRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleBitRegistry.class);
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final RoleRepository roleRepository;
+    // role -> roles it directly implies
+    private final Map<String, Set<String>> hierarchy;
+
+    private final Map<String, Integer> bits = new ConcurrentHashMap<>();
+    // Indexed by bit; replaced wholesale under the lock so readers never see a partial update
+    private volatile String[] names = new String[0];
+    private volatile long[] closures = new long[0];
+    private volatile GrantedAuthority[] authorityByBit = new GrantedAuthority[0];
+    private final Map<Long, RoleAuthorities> flyweights = new ConcurrentHashMap<>();
+    // Guards against cycles in the hierarchy while assigning; only touched under the lock
+    private final Set<String> assigning = new HashSet<>();
+
+    public RoleBitRegistry(RoleRepository roleRepository,
+                           @Value("${app.security.role-hierarchy:ADMIN > MODERATOR > USER}") String hierarchy) {
+        this.roleRepository = roleRepository;
+        this.hierarchy = parseHierarchy(hierarchy);
+    }
+
+    @PostConstruct
+    void load() {
+        try {
+            roleRepository.findAll(Sort.by("id")).forEach(role -> register(role.getName()));
+        } catch (Exception ex) {
+            logger.warn("Could not preload roles: {}", ex.getMessage());
+        }
+        // Hierarchy roles always get a bit so their closures are complete before the first lookup
+        hierarchy.keySet().forEach(this::register);
+        logger.debug("Role bits: {}", Arrays.toString(names));
+    }
+
+    // Bit mask for a role requirement such as hasAnyRole('ADMIN', 'MODERATOR'); no hierarchy expansion
+    public long requiredMask(Collection<String> roleNames) {
+        long mask = 0;
+        for (String roleName : roleNames) {
+            mask |= bitMask(roleName);
+        }
+        return mask;
+    }
+
+    public RoleAuthorities forRoles(Collection<String> roleNames) {
+        return forMask(requiredMask(roleNames));
+    }
+
+    // For authentications that did not come from our own principals
+    public RoleAuthorities forAuthorities(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(ROLE_PREFIX)) {
+                mask |= bitMask(name.substring(ROLE_PREFIX.length()));
+            }
+        }
+        return forMask(mask);
+    }
+
+    // Called before a role is created or renamed, so a name that cannot get a bit is rejected
+    public synchronized void requireBit(String roleName) {
+        if (!bits.containsKey(roleName) && names.length >= Long.SIZE) {
+            throw noBitLeft(roleName);
+        }
+    }
+
+    // Called after a role is created or renamed so later lookups do not need the lock
+    public void register(String roleName) {
+        if (!bits.containsKey(roleName)) {
+            assign(roleName);
+        }
+    }
+
+    private long bitMask(String roleName) {
+        Integer bit = bits.get(roleName);
+        if (bit == null) {
+            bit = assign(roleName);
+        }
+        return 1L << bit;
+    }
+
+    private RoleAuthorities forMask(long roleMask) {
+        RoleAuthorities existing = flyweights.get(roleMask);
+        return existing != null ? existing : flyweights.computeIfAbsent(roleMask, this::build);
+    }
+
+    private RoleAuthorities build(long roleMask) {
+        long[] closureSnapshot = closures;
+        GrantedAuthority[] authoritySnapshot = authorityByBit;
+        long effective = 0;
+        for (long remaining = roleMask; remaining != 0; remaining &= remaining - 1) {
+            effective |= closureSnapshot[Long.numberOfTrailingZeros(remaining)];
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(Long.bitCount(effective));
+        for (long remaining = effective; remaining != 0; remaining &= remaining - 1) {
+            authorities.add(authoritySnapshot[Long.numberOfTrailingZeros(remaining)]);
+        }
+        return new RoleAuthorities(roleMask, effective, List.copyOf(authorities));
+    }
+
+    // Returns the new bit, failing once all 64 bits are taken. Implied roles are assigned first
+    // so the new role's closure is complete as soon as it is visible.
+    private synchronized int assign(String roleName) {
+        Integer existing = bits.get(roleName);
+        if (existing != null) {
+            return existing;
+        }
+        if (assigning.add(roleName)) {
+            try {
+                hierarchy.getOrDefault(roleName, Set.of()).forEach(this::assign);
+            } finally {
+                assigning.remove(roleName);
+            }
+        }
+        existing = bits.get(roleName);
+        if (existing != null) {
+            return existing;
+        }
+        int bit = names.length;
+        if (bit >= Long.SIZE) {
+            IllegalStateException ex = noBitLeft(roleName);
+            logger.error(ex.getMessage());
+            throw ex;
+        }
+
+        String[] newNames = Arrays.copyOf(names, bit + 1);
+        newNames[bit] = roleName;
+        GrantedAuthority[] newAuthorities = Arrays.copyOf(authorityByBit, bit + 1);
+        newAuthorities[bit] = new SimpleGrantedAuthority(ROLE_PREFIX + roleName);
+        long[] newClosures = computeClosures(newNames);
+
+        boolean closuresChanged = !Arrays.equals(Arrays.copyOf(newClosures, closures.length), closures);
+        names = newNames;
+        authorityByBit = newAuthorities;
+        closures = newClosures;
+        bits.put(roleName, bit);
+        if (closuresChanged) {
+            flyweights.clear();
+        }
+        return bit;
+    }
+
+    private static IllegalStateException noBitLeft(String roleName) {
+        return new IllegalStateException("No role bit left for '" + roleName + "': all " + Long.SIZE
+                + " are taken until the application restarts");
+    }
+
+    // Each bit's mask includes itself and every role reachable through the hierarchy; cycles are harmless
+    private long[] computeClosures(String[] roleNames) {
+        Map<String, Integer> index = new LinkedHashMap<>();
+        for (int i = 0; i < roleNames.length; i++) {
+            index.put(roleNames[i], i);
+        }
+        long[] result = new long[roleNames.length];
+        for (int i = 0; i < roleNames.length; i++) {
+            result[i] = 1L << i;
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < roleNames.length; i++) {
+                long mask = result[i];
+                for (String implied : hierarchy.getOrDefault(roleNames[i], Set.of())) {
+                    Integer child = index.get(implied);
+                    if (child != null) {
+                        mask |= result[child];
+                    }
+                }
+                if (mask != result[i]) {
+                    result[i] = mask;
+                    changed = true;
+                }
+            }
+        }
+        return result;
+    }
+
+    // "ADMIN > MODERATOR > USER", several chains separated by commas or new lines
+    static Map<String, Set<String>> parseHierarchy(String definition) {
+        Map<String, Set<String>> result = new LinkedHashMap<>();
+        if (definition == null) {
+            return result;
+        }
+        for (String chain : definition.split("[,\\n]")) {
+            String[] levels = chain.split(">");
+            for (int i = 0; i + 1 < levels.length; i++) {
+                String higher = strip(levels[i]);
+                String lower = strip(levels[i + 1]);
+                if (!higher.isEmpty() && !lower.isEmpty()) {
+                    result.computeIfAbsent(higher, k -> new LinkedHashSet<>()).add(lower);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String strip(String role) {
+        String trimmed = role.trim();
+        return trimmed.startsWith(ROLE_PREFIX) ? trimmed.substring(ROLE_PREFIX.length()) : trimmed;
+    }
+}
@@ -0,0 +1,112 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.UrlPathHelper;
+
+import com.chorecircle.chorecircle_backend.security.RouteAuthorizationTable.Rule;
+
+// Authorizes every request with a single lookup in the compiled route table, replacing
+// an ordered chain of path matchers plus per-method @PreAuthorize expressions.
+public class RouteAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext>,
+        ApplicationListener<ContextRefreshedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RouteAuthorizationManager.class);
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final RouteAuthorizationTable table;
+    private final RoleBitRegistry roleBitRegistry;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+    private final UrlPathHelper urlPathHelper = UrlPathHelper.defaultInstance;
+
+    public RouteAuthorizationManager(RouteAuthorizationTable table, RoleBitRegistry roleBitRegistry) {
+        this.table = table;
+        this.roleBitRegistry = roleBitRegistry;
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decide(authentication, context);
+    }
+
+    // Still abstract in AuthorizationManager; the filter chain calls authorize
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decide(authentication, context);
+    }
+
+    private AuthorizationDecision decide(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        String path = urlPathHelper.getPathWithinApplication(context.getRequest());
+        Rule rule = table.lookup(context.getRequest().getMethod(), path);
+
+        return switch (rule.access()) {
+            case PERMIT_ALL -> GRANTED;
+            case AUTHENTICATED -> isAuthenticated(authentication.get()) ? GRANTED : DENIED;
+            case ROLES -> hasAnyRole(authentication.get(), rule.requiredMask()) ? GRANTED : DENIED;
+        };
+    }
+
+    private boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && !trustResolver.isAnonymous(authentication);
+    }
+
+    // Our own principals carry a precomputed role mask; anything else is mapped from its authorities
+    private boolean hasAnyRole(Authentication authentication, long requiredMask) {
+        if (!isAuthenticated(authentication)) {
+            return false;
+        }
+        RoleAuthorities roles = authentication.getPrincipal() instanceof AuthenticatedPrincipal principal
+                ? principal.getRoleAuthorities()
+                : roleBitRegistry.forAuthorities(authentication.getAuthorities());
+        return roles.hasAny(requiredMask);
+    }
+
+    // Startup report: conflicting or shadowed declarations, and controller endpoints without an explicit rule
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        table.problems().forEach(problem -> logger.warn("Route authorization: {}", problem));
+
+        int endpoints = 0;
+        for (RequestMappingHandlerMapping mapping : event.getApplicationContext()
+                .getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+                RequestMappingInfo info = entry.getKey();
+                Set<String> patterns = info.getPatternValues();
+                Set<String> methods = info.getMethodsCondition().getMethods().stream().map(Enum::name)
+                        .collect(Collectors.toSet());
+                for (String pattern : patterns) {
+                    for (String method : methods.isEmpty() ? Set.of("GET") : methods) {
+                        endpoints++;
+                        Rule rule = table.lookup(method, pattern);
+                        if (rule == table.defaultRule()) {
+                            logger.info("Route authorization: {} {} ({}) has no explicit rule, defaulting to {}",
+                                    method, pattern, entry.getValue().getShortLogMessage(), rule.access());
+                        }
+                    }
+                }
+            }
+        }
+        logger.info("Route authorization table compiled: {} rule(s), {} endpoint(s) checked, {} problem(s)",
+                table.rules().size(), endpoints, table.problems().size());
+    }
+}
@@ -0,0 +1,251 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpMethod;
+
+// Authorization rules compiled once into a trie keyed by path segment and HTTP method.
+// A lookup walks the request path a single time and picks the most specific rule:
+// literal segments beat {variables}, which beat a trailing /**, and a rule for the exact
+// HTTP method beats one declared for any method. Declaration order does not matter.
+public final class RouteAuthorizationTable {
+
+    private static final String ANY_METHOD = "*";
+    private static final String CATCH_ALL = "**";
+
+    private final Node root;
+    private final Rule defaultRule;
+    private final List<Rule> rules;
+    private final List<String> problems;
+
+    private RouteAuthorizationTable(Node root, Rule defaultRule, List<Rule> rules, List<String> problems) {
+        this.root = root;
+        this.defaultRule = defaultRule;
+        this.rules = rules;
+        this.problems = problems;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Rule lookup(String method, String path) {
+        String[] segments = split(path);
+        Rule rule = lookup(root, segments, 0, method.toUpperCase(Locale.ROOT));
+        return rule != null ? rule : defaultRule;
+    }
+
+    public List<Rule> rules() {
+        return rules;
+    }
+
+    public Rule defaultRule() {
+        return defaultRule;
+    }
+
+    // Conflicting and shadowed declarations found while compiling
+    public List<String> problems() {
+        return problems;
+    }
+
+    private static Rule lookup(Node node, String[] segments, int index, String method) {
+        if (index == segments.length) {
+            Rule exact = node.forMethod(node.exact, method);
+            return exact != null ? exact : node.forMethod(node.catchAll, method);
+        }
+
+        Node literal = node.literals.get(segments[index]);
+        if (literal != null) {
+            Rule rule = lookup(literal, segments, index + 1, method);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        if (node.variable != null) {
+            Rule rule = lookup(node.variable, segments, index + 1, method);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return node.forMethod(node.catchAll, method);
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/", -1);
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
+    }
+
+    public enum Access {
+        PERMIT_ALL, AUTHENTICATED, ROLES
+    }
+
+    // A single declared rule; when access is ROLES, requiredMask has the bit of every accepted role
+    public record Rule(String method, String pattern, Access access, Set<String> roles, long requiredMask, int order) {
+
+        boolean sameRequirement(Rule other) {
+            return access == other.access && roles.equals(other.roles);
+        }
+
+        // True when every request the other rule matches is also matched by this one, i.e. under
+        // first-match evaluation this rule would hide it. Used only for the startup report.
+        boolean covers(Rule other) {
+            if (!ANY_METHOD.equals(method) && !method.equals(other.method)) {
+                return false;
+            }
+            String[] own = split(pattern);
+            String[] others = split(other.pattern);
+            for (int i = 0; i < own.length; i++) {
+                if (CATCH_ALL.equals(own[i])) {
+                    return true;
+                }
+                if (i >= others.length || CATCH_ALL.equals(others[i])) {
+                    return false;
+                }
+                if (!isVariable(own[i]) && !own[i].equals(others[i])) {
+                    return false;
+                }
+            }
+            return own.length == others.length;
+        }
+
+        @Override
+        public String toString() {
+            String requirement = access == Access.ROLES ? "hasAnyRole" + roles : access.name();
+            return method + " " + pattern + " -> " + requirement;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node variable;
+        private final Map<String, Rule> exact = new HashMap<>();
+        private final Map<String, Rule> catchAll = new HashMap<>();
+
+        Rule forMethod(Map<String, Rule> byMethod, String method) {
+            if (byMethod.isEmpty()) {
+                return null;
+            }
+            Rule rule = byMethod.get(method);
+            return rule != null ? rule : byMethod.get(ANY_METHOD);
+        }
+    }
+
+    public static final class Builder {
+
+        private final List<Rule> rules = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder permitAll(String pattern) {
+            return add(ANY_METHOD, pattern, Access.PERMIT_ALL);
+        }
+
+        public Builder authenticated(String pattern) {
+            return add(ANY_METHOD, pattern, Access.AUTHENTICATED);
+        }
+
+        public Builder hasAnyRole(String pattern, String... roles) {
+            return add(ANY_METHOD, pattern, Access.ROLES, roles);
+        }
+
+        public Builder hasAnyRole(HttpMethod method, String pattern, String... roles) {
+            return add(method.name(), pattern, Access.ROLES, roles);
+        }
+
+        private Builder add(String method, String pattern, Access access, String... roles) {
+            Set<String> roleNames = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(roles)));
+            rules.add(new Rule(method.toUpperCase(Locale.ROOT), pattern, access, roleNames, 0, rules.size()));
+            return this;
+        }
+
+        // Role names are resolved to bits here, once, so a request only needs a mask test
+        public RouteAuthorizationTable build(RoleBitRegistry roleBitRegistry) {
+            List<Rule> compiled = rules.stream()
+                    .map(rule -> new Rule(rule.method(), rule.pattern(), rule.access(), rule.roles(),
+                            roleBitRegistry.requiredMask(rule.roles()), rule.order()))
+                    .toList();
+            Rule defaultRule = new Rule(ANY_METHOD, "/**", Access.AUTHENTICATED, Set.of(), 0, Integer.MAX_VALUE);
+
+            Node root = new Node();
+            List<String> problems = new ArrayList<>();
+            Set<Rule> ignored = new HashSet<>();
+            for (Rule rule : compiled) {
+                if (!insert(root, rule, problems)) {
+                    ignored.add(rule);
+                }
+            }
+            reportShadowing(compiled, ignored, problems);
+            return new RouteAuthorizationTable(root, defaultRule, compiled, List.copyOf(problems));
+        }
+
+        private static boolean insert(Node root, Rule rule, List<String> problems) {
+            Node node = root;
+            String[] segments = split(rule.pattern());
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (CATCH_ALL.equals(segment)) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' is only supported as the last segment: " + rule.pattern());
+                    }
+                    return put(node.catchAll, rule, problems);
+                }
+                if (isVariable(segment)) {
+                    if (node.variable == null) {
+                        node.variable = new Node();
+                    }
+                    node = node.variable;
+                } else {
+                    node = node.literals.computeIfAbsent(segment, s -> new Node());
+                }
+            }
+            return put(node.exact, rule, problems);
+        }
+
+        // Two rules landing on the same trie slot: the first one declared wins, the other is reported
+        private static boolean put(Map<String, Rule> slot, Rule rule, List<String> problems) {
+            Rule existing = slot.putIfAbsent(rule.method(), rule);
+            if (existing == null) {
+                return true;
+            }
+            String kind = existing.sameRequirement(rule) ? "Duplicate" : "Conflicting";
+            problems.add(kind + " rule '" + rule + "' ignored in favour of '" + existing + "'");
+            return false;
+        }
+
+        // Rules that an earlier declaration covering all of their paths would have hidden under first-match
+        // evaluation. The compiled table resolves these by specificity, so the report only matters when the
+        // requirement differs.
+        private static void reportShadowing(List<Rule> rules, Set<Rule> ignored, List<String> problems) {
+            for (Rule later : rules) {
+                if (ignored.contains(later)) {
+                    continue;
+                }
+                for (Rule earlier : rules) {
+                    if (earlier.order() >= later.order()) {
+                        break;
+                    }
+                    if (!earlier.pattern().equals(later.pattern()) && !earlier.sameRequirement(later)
+                            && earlier.covers(later)) {
+                        problems.add("Rule '" + later + "' is shadowed by earlier rule '" + earlier
+                                + "' in declaration order; the more specific rule now applies");
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
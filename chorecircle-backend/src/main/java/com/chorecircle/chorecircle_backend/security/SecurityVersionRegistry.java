@@ -0,0 +1,113 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// Compact revocation check for self-contained tokens: remembers the minimum security version
+// accepted per user. Only users whose version was ever bumped have an entry.
+// Bumps made on other instances are picked up every app.jwt.security-version.refresh-interval by
+// re-reading the users whose security_xid (V12) is at or above the xmin of the previous refresh's snapshot;
+// such users are also dropped from this instance's UserDetailsCache so new tokens carry the new version.
+// Deleted users are picked up the same way from their deleted_users tombstones (V15), and no token for
+// them is accepted again; a tombstone is purged once every access token issued before it has expired.
+@Component
+public class SecurityVersionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityVersionRegistry.class);
+    private static final long REVOKED = Long.MAX_VALUE;
+
+    // Outside a transaction the routing data source always uses the primary
+    private final JdbcTemplate jdbc;
+    private final UserDetailsCache userDetailsCache;
+    private final Map<Long, Long> minimumVersions = new ConcurrentHashMap<>();
+    private final long tokenLifetimeMs;
+    private Long snapshotXmin;
+
+    public SecurityVersionRegistry(DataSource dataSource, UserDetailsCache userDetailsCache,
+                                   @Value("${app.jwt.expiration:900000}") long tokenLifetimeMs) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.userDetailsCache = userDetailsCache;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+    }
+
+    @PostConstruct
+    void load() {
+        refresh();
+        logger.debug("Loaded security versions for {} user(s)", minimumVersions.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.security-version.refresh-interval:5s}")
+    synchronized void refresh() {
+        try {
+            // Taken before reading, so whatever the read misses is at or above it next time
+            Long xmin = jdbc.queryForObject("SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+            if (snapshotXmin == null) {
+                jdbc.query("SELECT id, security_version FROM users WHERE security_version > 0",
+                        rs -> {
+                            record(rs.getLong(1), rs.getLong(2));
+                        });
+                jdbc.query("SELECT user_id FROM deleted_users",
+                        rs -> {
+                            revokeAll(rs.getLong(1));
+                        });
+            } else {
+                jdbc.query("SELECT id, security_version FROM users WHERE security_xid >= ?::text::xid8",
+                        rs -> {
+                            long userId = rs.getLong(1);
+                            long version = rs.getLong(2);
+                            Long known = minimumVersions.get(userId);
+                            if (known == null || known < version) {
+                                record(userId, version);
+                                userDetailsCache.evictUser(userId);
+                            }
+                        },
+                        snapshotXmin);
+                jdbc.query("SELECT user_id FROM deleted_users WHERE xid >= ?::text::xid8",
+                        rs -> {
+                            long userId = rs.getLong(1);
+                            revokeAll(userId);
+                            userDetailsCache.evictUser(userId);
+                        },
+                        snapshotXmin);
+            }
+            snapshotXmin = xmin;
+        } catch (Exception ex) {
+            logger.warn("Could not refresh security versions: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.purge-interval:10m}")
+    void purgeTombstones() {
+        try {
+            jdbc.update("DELETE FROM deleted_users WHERE deleted_at < localtimestamp - ?::interval",
+                    tokenLifetimeMs + " milliseconds");
+        } catch (Exception ex) {
+            logger.warn("Could not purge deleted user tombstones: {}", ex.getMessage());
+        }
+    }
+
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        Long minimum = minimumVersions.get(userId);
+        return minimum == null || tokenVersion >= minimum;
+    }
+
+    public void record(Long userId, long securityVersion) {
+        minimumVersions.merge(userId, securityVersion, Math::max);
+    }
+
+    // Used when a user is deleted: no token for this id is accepted again
+    public void revokeAll(Long userId) {
+        minimumVersions.put(userId, REVOKED);
+    }
+}
@@ -0,0 +1,108 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+// In-memory view of revoked access token ids. A Bloom filter answers the common "not revoked" case
+// without touching the exact set; only possible hits are confirmed against it. The list is refreshed
+// incrementally from revoked_tokens so revocations made on other instances arrive within one interval:
+// each refresh loads the rows whose xid (V14) is at or above the xmin of the previous refresh's snapshot,
+// the same cursor SecurityVersionRegistry uses, so a revocation is not missed however late it commits.
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    // Outside a transaction the routing data source always uses the primary
+    private final JdbcTemplate jdbc;
+    private final int minimumCapacity;
+
+    // tokenId -> expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private Long snapshotXmin;
+
+    public TokenRevocationList(DataSource dataSource,
+                               @Value("${app.jwt.revocation.expected-entries:10000}") int minimumCapacity) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.minimumCapacity = minimumCapacity;
+        this.bloomFilter = new BloomFilter(minimumCapacity, FALSE_POSITIVE_RATE);
+    }
+
+    @PostConstruct
+    void load() {
+        refresh();
+        logger.debug("Loaded {} revoked token id(s)", revoked.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && bloomFilter.mightContain(tokenId) && revoked.containsKey(tokenId);
+    }
+
+    public void add(String tokenId, long expiresAtMillis) {
+        // Exact set first so a concurrent lookup that passes the filter always finds the entry
+        revoked.put(tokenId, expiresAtMillis);
+        bloomFilter.add(tokenId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.refresh-interval:5s}")
+    synchronized void refresh() {
+        try {
+            // Taken before reading, so whatever the read misses is at or above it next time
+            Long xmin = jdbc.queryForObject("SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+            if (snapshotXmin == null) {
+                jdbc.query("SELECT token_id, expires_at FROM revoked_tokens WHERE expires_at > localtimestamp",
+                        rs -> {
+                            add(rs);
+                        });
+            } else {
+                jdbc.query("SELECT token_id, expires_at FROM revoked_tokens "
+                                + "WHERE xid >= ?::text::xid8 AND expires_at > localtimestamp",
+                        rs -> {
+                            add(rs);
+                        },
+                        snapshotXmin);
+            }
+            snapshotXmin = xmin;
+        } catch (Exception ex) {
+            logger.warn("Could not refresh revoked tokens: {}", ex.getMessage());
+        }
+        if (revoked.size() > bloomFilter.expectedInsertions()) {
+            rebuild();
+        }
+    }
+
+    // Drop expired ids and rebuild the filter sized for what is left
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.purge-interval:10m}")
+    void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        rebuild();
+    }
+
+    private synchronized void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(minimumCapacity, revoked.size() * 2), FALSE_POSITIVE_RATE);
+        revoked.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+        // Ids added while copying may have gone to the old filter only
+        revoked.keySet().forEach(rebuilt::add);
+    }
+
+    private void add(ResultSet rs) throws SQLException {
+        add(rs.getString(1), rs.getTimestamp(2).getTime());
+    }
+}
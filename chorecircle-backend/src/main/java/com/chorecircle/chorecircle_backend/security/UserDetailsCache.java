@@ -0,0 +1,152 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Bounded, TTL-based cache of loaded users for authentication lookups.
+// UserService and RoleService evict entries after commit whenever a user's credentials, roles or status change.
+@Component
+public class UserDetailsCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // userId -> cached username, so per-user evictions are a key lookup rather than a scan
+    private final Map<Long, String> usernames = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    // Bumped on every invalidation so a load that raced with it is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserDetailsCache(@Value("${app.security.user-cache.max-entries:10000}") int maxEntries,
+                            @Value("${app.security.user-cache.ttl:5m}") Duration ttl,
+                            MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+
+        FunctionCounter.builder("chorecircle.userdetails.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("chorecircle.userdetails.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("chorecircle.userdetails.cache.evictions", evictions, AtomicLong::get)
+                .register(meterRegistry);
+        Gauge.builder("chorecircle.userdetails.cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    public CustomUserDetails get(String username, Supplier<CustomUserDetails> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt() > now) {
+            hits.incrementAndGet();
+            return entry.details();
+        }
+
+        misses.incrementAndGet();
+        long loadGeneration = generation.get();
+        CustomUserDetails details = loader.get();
+        if (maxEntries > 0 && generation.get() == loadGeneration) {
+            if (entries.size() >= maxEntries) {
+                makeRoom(now);
+            }
+            Long userId = details.getUserId();
+            String previous = usernames.put(userId, username);
+            if (previous != null && !previous.equals(username)) {
+                remove(previous);
+            }
+            entries.put(username, new Entry(details, now + ttlMillis));
+        }
+        return details;
+    }
+
+    public void evictUsername(String username) {
+        generation.incrementAndGet();
+        remove(username);
+    }
+
+    public void evictUser(Long userId) {
+        generation.incrementAndGet();
+        String username = usernames.remove(userId);
+        if (username != null) {
+            remove(username);
+        }
+    }
+
+    public void evictUsers(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            generation.incrementAndGet();
+            for (Long userId : userIds) {
+                String username = usernames.remove(userId);
+                if (username != null) {
+                    remove(username);
+                }
+            }
+        }
+    }
+
+    public void evictRole(Long roleId) {
+        evictIf(details -> details.getUser().getRoles().stream()
+                .anyMatch(role -> roleId.equals(role.getId())));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        evictions.addAndGet(entries.size());
+        entries.clear();
+        usernames.clear();
+    }
+
+    // Role changes can touch any number of users, so this one still has to scan
+    private void evictIf(Predicate<CustomUserDetails> predicate) {
+        generation.incrementAndGet();
+        entries.entrySet().removeIf(e -> {
+            boolean matches = predicate.test(e.getValue().details());
+            if (matches) {
+                usernames.remove(e.getValue().details().getUserId(), e.getKey());
+                evictions.incrementAndGet();
+            }
+            return matches;
+        });
+    }
+
+    private void remove(String username) {
+        Entry removed = entries.remove(username);
+        if (removed != null) {
+            usernames.remove(removed.details().getUserId(), username);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void makeRoom(long now) {
+        entries.entrySet().removeIf(e -> {
+            boolean expired = e.getValue().expiresAt() <= now;
+            if (expired) {
+                usernames.remove(e.getValue().details().getUserId(), e.getKey());
+            }
+            return expired;
+        });
+        int toShed = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<String> it = entries.keySet().iterator();
+        while (toShed-- > 0 && it.hasNext()) {
+            remove(it.next());
+        }
+    }
+
+    private record Entry(CustomUserDetails details, long expiresAt) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.util.Date;
+import java.util.List;
+
+// Claims of a JWT whose signature and expiry have already been checked.
+// userId, roles, securityVersion and tokenId are null for tokens issued before they were embedded.
+public record VerifiedToken(String username, Date issuedAt, Date expiration,
+                            Long userId, List<String> roles, Long securityVersion, String tokenId) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiration != null && expiration.getTime() <= nowMillis;
+    }
+
+    public boolean isSelfContained() {
+        return userId != null && roles != null && securityVersion != null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Bounded cache of already-verified tokens keyed by the SHA-256 digest of the raw token,
+// so repeat requests with the same token skip parsing and the HS512 signature check.
+class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final Map<TokenDigest, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    VerifiedToken get(String token) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        TokenDigest key = TokenDigest.of(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached != null && cached.isExpired(System.currentTimeMillis())) {
+            entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    void put(String token, VerifiedToken verified) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            makeRoom();
+        }
+        entries.put(TokenDigest.of(token), verified);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    // Drop expired entries first; if that is not enough, shed an arbitrary tenth of the cache
+    private void makeRoom() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(verified -> verified.isExpired(now));
+        if (entries.size() < maxEntries) {
+            return;
+        }
+
+        int toShed = entries.size() - maxEntries + Math.max(1, maxEntries / 10);
+        Iterator<TokenDigest> it = entries.keySet().iterator();
+        while (toShed-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record TokenDigest(long a, long b, long c, long d) {
+
+        static TokenDigest of(String token) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+                ByteBuffer buffer = ByteBuffer.wrap(hash);
+                return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.chorecircle.chorecircle_backend.dto.Occurrence;
+import com.chorecircle.chorecircle_backend.entities.Recurrence.Frequency;
+
+// Calendar of a workspace's chores for a window of days. Recurring chores are expanded on the fly
+// for the window only and merged with the chore_occurrences rows in it, which skip, move, reassign
+// or complete single occurrences (skipped ones are listed, flagged, so they can be restored); one-off
+// chores appear on their due date. Two queries serve any
+// window, and the work is proportional to the occurrences in it.
+@Service
+@Transactional(readOnly = true)
+public class ChoreCalendarService {
+
+    private static final Comparator<Occurrence> ORDER = Comparator.comparing(Occurrence::dueDate)
+            .thenComparing(Occurrence::choreId)
+            .thenComparing(Occurrence::occurrenceDate, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private record CalendarChore(long id, String title, Long assignedToId, LocalDate dueDate, boolean completed,
+                                 RecurrenceRule rule) {
+    }
+
+    private record OccurrenceRow(LocalDate dueDate, Long assignedToId, boolean skipped, Long completedById,
+                            Timestamp completedAt) {
+    }
+
+    private record Key(long choreId, LocalDate occurrenceDate) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final MembershipIndex membershipIndex;
+    private final Duration maxWindow;
+
+    public ChoreCalendarService(DataSource dataSource, MembershipIndex membershipIndex,
+                                @Value("${app.recurrence.max-window:92d}") Duration maxWindow) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.membershipIndex = membershipIndex;
+        this.maxWindow = maxWindow;
+    }
+
+    // Occurrences due from from to to, both inclusive, ordered by due date
+    public List<Occurrence> calendar(Long workspaceId, Long callerId, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new RuntimeException("from and to are required");
+        }
+        if (to.isBefore(from)) {
+            throw new RuntimeException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxWindow.toDays()) {
+            throw new RuntimeException("Window must not exceed " + maxWindow.toDays() + " days");
+        }
+        if (workspaceId == null || !membershipIndex.isMember(workspaceId, callerId)) {
+            throw new RuntimeException("Not a member of workspace: " + workspaceId);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("workspaceId", workspaceId)
+                .addValue("from", Date.valueOf(from))
+                .addValue("to", Date.valueOf(to));
+        Map<Long, CalendarChore> chores = new LinkedHashMap<>();
+        // One-off chores due in the window, recurring chores whose series overlaps it, and chores with
+        // an occurrence moved into it
+        jdbc.query("SELECT id, title, assigned_to_id, due_date, completed, recurrence_frequency, recurrence_interval, "
+                + "recurrence_weekdays, recurrence_start, recurrence_until FROM chores WHERE workspace_id = :workspaceId "
+                + "AND ((recurrence_frequency IS NULL AND due_date BETWEEN :from AND :to) "
+                + "OR (recurrence_frequency IS NOT NULL AND recurrence_start <= :to "
+                + "AND (recurrence_until IS NULL OR recurrence_until >= :from)) "
+                + "OR id IN (SELECT o.chore_id FROM chore_occurrences o WHERE o.due_date BETWEEN :from AND :to))",
+                params, rs -> {
+                    String frequency = rs.getString(6);
+                    RecurrenceRule rule = frequency == null ? null
+                            : new RecurrenceRule(Frequency.valueOf(frequency), rs.getInt(7), rs.getInt(8),
+                                    rs.getObject(9, LocalDate.class), rs.getObject(10, LocalDate.class));
+                    chores.put(rs.getLong(1), new CalendarChore(rs.getLong(1), rs.getString(2),
+                            rs.getObject(3, Long.class), rs.getObject(4, LocalDate.class), rs.getBoolean(5), rule));
+                });
+        Map<Key, OccurrenceRow> rows = new HashMap<>();
+        jdbc.query("SELECT o.chore_id, o.occurrence_date, o.due_date, o.assigned_to_id, o.skipped, o.completed_by_id, "
+                + "o.completed_at FROM chore_occurrences o JOIN chores c ON c.id = o.chore_id "
+                + "WHERE c.workspace_id = :workspaceId AND (o.occurrence_date BETWEEN :from AND :to "
+                + "OR o.due_date BETWEEN :from AND :to)",
+                params, rs -> {
+                    rows.put(new Key(rs.getLong(1), rs.getObject(2, LocalDate.class)),
+                            new OccurrenceRow(rs.getObject(3, LocalDate.class), rs.getObject(4, Long.class),
+                                    rs.getBoolean(5), rs.getObject(6, Long.class), rs.getTimestamp(7)));
+                });
+
+        List<Occurrence> occurrences = new ArrayList<>();
+        for (CalendarChore chore : chores.values()) {
+            if (chore.rule() == null) {
+                if (chore.dueDate() != null && !chore.dueDate().isBefore(from) && !chore.dueDate().isAfter(to)) {
+                    occurrences.add(new Occurrence(chore.id(), workspaceId, chore.title(), null, chore.dueDate(),
+                            chore.assignedToId(), false, chore.completed(), null, null));
+                }
+                continue;
+            }
+            for (LocalDate date : chore.rule().occurrences(from, to)) {
+                add(occurrences, workspaceId, chore, date, rows.remove(new Key(chore.id(), date)), from, to);
+            }
+        }
+        // Occurrences that fall outside the window but were moved into it
+        rows.forEach((key, row) -> {
+            CalendarChore chore = chores.get(key.choreId());
+            if (chore != null && chore.rule() != null && chore.rule().isOccurrence(key.occurrenceDate())) {
+                add(occurrences, workspaceId, chore, key.occurrenceDate(), row, from, to);
+            }
+        });
+        occurrences.sort(ORDER);
+        return occurrences;
+    }
+
+    private static void add(List<Occurrence> occurrences, Long workspaceId, CalendarChore chore, LocalDate date,
+                            OccurrenceRow row, LocalDate from, LocalDate to) {
+        if (row == null) {
+            occurrences.add(new Occurrence(chore.id(), workspaceId, chore.title(), date, date, chore.assignedToId(),
+                    false, false, null, null));
+            return;
+        }
+        LocalDate due = row.dueDate() != null ? row.dueDate() : date;
+        if (due.isBefore(from) || due.isAfter(to)) {
+            return;
+        }
+        occurrences.add(new Occurrence(chore.id(), workspaceId, chore.title(), date, due,
+                row.assignedToId() != null ? row.assignedToId() : chore.assignedToId(), row.skipped(),
+                row.completedAt() != null, row.completedById(),
+                row.completedAt() != null ? row.completedAt().toLocalDateTime() : null));
+    }
+}
@@ -0,0 +1,42 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in a chore feed ordered by due date, then id, with undated chores last: the key of the
+// last chore already returned. Encoded as base64url so clients treat it as an opaque token.
+public record ChoreCursor(LocalDate afterDueDate, long afterId) {
+
+    public static ChoreCursor after(LocalDate dueDate, long id) {
+        return new ChoreCursor(dueDate, id);
+    }
+
+    // True once the feed has moved past every dated chore
+    public boolean undated() {
+        return afterDueDate == null;
+    }
+
+    public String encode() {
+        String raw = afterDueDate != null ? "d:" + afterDueDate + ":" + afterId : "n:" + afterId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChoreCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (raw.startsWith("d:")) {
+                int separator = raw.lastIndexOf(':');
+                return new ChoreCursor(LocalDate.parse(raw.substring(2, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            }
+            if (raw.startsWith("n:")) {
+                return new ChoreCursor(null, Long.parseLong(raw.substring(2)));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            // fall through to the common error below
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
@@ -0,0 +1,173 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.chorecircle.chorecircle_backend.dto.ChoreSummary;
+import com.chorecircle.chorecircle_backend.dto.CursorPage;
+
+// The caller's assigned chores across all of their workspaces, ordered by due date (undated chores
+// last), then id. Every (workspace, completed state) pair is a run: one range scan of
+// idx_chores_assignee_feed that starts after the cursor and stops after a page plus one row. All runs
+// come back from a single query and are k-way merged with a heap. No run can add more than a page,
+// so the cost of a page depends on the page size and the number of workspaces, never on how many
+// chores the user has had, and there is no OFFSET to skip over.
+@Service
+@Transactional(readOnly = true)
+public class ChoreFeedService {
+
+    private static final Comparator<ChoreSummary> ORDER = Comparator
+            .comparing(ChoreSummary::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(ChoreSummary::id);
+
+    private static final RowMapper<ChoreSummary> ROW = (rs, rowNum) -> new ChoreSummary(rs.getLong(1),
+            rs.getLong(2), rs.getString(3), rs.getString(4), rs.getObject(5, Long.class),
+            rs.getObject(6, LocalDate.class), rs.getBoolean(7),
+            ChoreSummary.Recurrence.of(rs.getString(8), rs.getObject(9, Integer.class), rs.getObject(10, Integer.class),
+                    rs.getObject(11, LocalDate.class), rs.getObject(12, LocalDate.class),
+                    rs.getObject(13, LocalDate.class)));
+
+    private record Run(Long workspaceId, boolean completed) {
+    }
+
+    private record Head(ChoreSummary chore, Iterator<ChoreSummary> rest) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final MembershipIndex membershipIndex;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public ChoreFeedService(DataSource dataSource, MembershipIndex membershipIndex,
+                            @Value("${app.pagination.default-size:50}") int defaultPageSize,
+                            @Value("${app.pagination.max-size:200}") int maxPageSize) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.membershipIndex = membershipIndex;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    // One page of the feed. workspaceId narrows it to one workspace, completed to open or done chores,
+    // from and to (inclusive) to a due date range, which leaves out undated chores.
+    public CursorPage<ChoreSummary> feed(Long callerId, Long workspaceId, Boolean completed, LocalDate from,
+                                         LocalDate to, String cursor, Integer size) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        long[] workspaceIds;
+        if (workspaceId != null) {
+            if (!membershipIndex.isMember(workspaceId, callerId)) {
+                throw new RuntimeException("Not a member of workspace: " + workspaceId);
+            }
+            workspaceIds = new long[] {workspaceId};
+        } else {
+            workspaceIds = membershipIndex.workspacesOf(callerId);
+        }
+        ChoreCursor position = cursor == null || cursor.isBlank() ? null : ChoreCursor.decode(cursor);
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        if (workspaceIds.length == 0) {
+            return new CursorPage<>(List.of(), null, null);
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", callerId)
+                .addValue("workspaceIds", Arrays.stream(workspaceIds).boxed().toArray(Long[]::new))
+                .addValue("states", completed != null ? new Boolean[] {completed} : new Boolean[] {false, true})
+                .addValue("from", from != null ? Date.valueOf(from) : null)
+                .addValue("to", to != null ? Date.valueOf(to) : null);
+        // Fetches one row past the page to learn whether another page exists
+        List<ChoreSummary> rows = new ArrayList<>(pageSize + 1);
+        if (position == null || !position.undated()) {
+            rows.addAll(runs(params, true, position, pageSize + 1));
+        }
+        if (rows.size() <= pageSize && from == null && to == null) {
+            rows.addAll(runs(params, false, position != null && position.undated() ? position : null,
+                    pageSize + 1 - rows.size()));
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<ChoreSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ChoreSummary last = items.get(pageSize - 1);
+            nextCursor = ChoreCursor.after(last.dueDate(), last.id()).encode();
+        }
+        return new CursorPage<>(items, nextCursor, null);
+    }
+
+    // The first limit chores of the dated (or undated) part of the feed after the cursor
+    private List<ChoreSummary> runs(MapSqlParameterSource params, boolean dated, ChoreCursor after, int limit) {
+        StringBuilder range = new StringBuilder();
+        if (dated) {
+            range.append("due_date IS NOT NULL");
+            if (after != null) {
+                range.append(" AND (due_date, id) > (:afterDueDate, :afterId)");
+                params.addValue("afterDueDate", Date.valueOf(after.afterDueDate()));
+            }
+            if (params.getValue("from") != null) {
+                range.append(" AND due_date >= :from");
+            }
+            if (params.getValue("to") != null) {
+                range.append(" AND due_date <= :to");
+            }
+        } else {
+            range.append("due_date IS NULL");
+            if (after != null) {
+                range.append(" AND id > :afterId");
+            }
+        }
+        if (after != null) {
+            params.addValue("afterId", after.afterId());
+        }
+        params.addValue("limit", limit);
+        List<ChoreSummary> rows = jdbc.query("SELECT c.* FROM unnest(:workspaceIds) AS w(id) "
+                + "CROSS JOIN unnest(:states) AS s(completed) "
+                + "CROSS JOIN LATERAL (SELECT id, workspace_id, title, description, assigned_to_id, due_date, completed, "
+                + "recurrence_frequency, recurrence_interval, recurrence_weekdays, recurrence_start, recurrence_until, "
+                + "recurrence_next FROM chores WHERE assigned_to_id = :userId AND workspace_id = w.id "
+                + "AND completed = s.completed AND " + range + " ORDER BY due_date, id LIMIT :limit) c",
+                params, ROW);
+        return merge(rows, limit);
+    }
+
+    // k-way merge of the runs in rows, taking the first limit chores
+    static List<ChoreSummary> merge(List<ChoreSummary> rows, int limit) {
+        Map<Run, List<ChoreSummary>> runs = new LinkedHashMap<>();
+        for (ChoreSummary row : rows) {
+            runs.computeIfAbsent(new Run(row.workspaceId(), row.completed()), run -> new ArrayList<>()).add(row);
+        }
+        PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, runs.size()),
+                Comparator.comparing(Head::chore, ORDER));
+        for (List<ChoreSummary> run : runs.values()) {
+            // Each run is already in index order, for which the sort is a single pass
+            run.sort(ORDER);
+            Iterator<ChoreSummary> rest = run.iterator();
+            heads.add(new Head(rest.next(), rest));
+        }
+        List<ChoreSummary> merged = new ArrayList<>(Math.min(limit, rows.size()));
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Head head = heads.poll();
+            merged.add(head.chore());
+            if (head.rest().hasNext()) {
+                heads.add(new Head(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+}
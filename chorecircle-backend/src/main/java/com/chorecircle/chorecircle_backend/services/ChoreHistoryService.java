@@ -0,0 +1,185 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.chorecircle.chorecircle_backend.dto.HistoryEntry;
+import com.chorecircle.chorecircle_backend.repositories.ChoreRepository;
+
+// Reads and maintains the month-partitioned chore_history table. Range reads stream rows from a
+// JDBC cursor straight to the caller, so a long history never sits in memory or in a persistence
+// context, and the performed_at bounds let Postgres skip every partition outside the range.
+// Partitions are created app.history.months-ahead in advance and dropped once they are older than
+// app.history.retention-months (0 keeps everything).
+@Service
+public class ChoreHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChoreHistoryService.class);
+    private static final String PARTITION_PREFIX = "chore_history_";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyy_MM_dd");
+    private static final int FETCH_SIZE = 500;
+
+    public enum Scope { CHORE, WORKSPACE, USER }
+
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate cursorJdbc;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ChoreRepository choreRepository;
+    private final MembershipIndex membershipIndex;
+    private final ChoreHistoryWriter writer;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final Duration defaultRange;
+    private final Duration maxRange;
+
+    public ChoreHistoryService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               ChoreRepository choreRepository, MembershipIndex membershipIndex,
+                               ChoreHistoryWriter writer,
+                               @Value("${app.history.months-ahead:2}") int monthsAhead,
+                               @Value("${app.history.retention-months:24}") int retentionMonths,
+                               @Value("${app.history.default-range:30d}") Duration defaultRange,
+                               @Value("${app.history.max-range:366d}") Duration maxRange) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.cursorJdbc = new JdbcTemplate(dataSource);
+        this.cursorJdbc.setFetchSize(FETCH_SIZE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.choreRepository = choreRepository;
+        this.membershipIndex = membershipIndex;
+        this.writer = writer;
+        this.monthsAhead = Math.max(0, monthsAhead);
+        this.retentionMonths = Math.max(0, retentionMonths);
+        this.defaultRange = defaultRange;
+        this.maxRange = maxRange;
+    }
+
+    public record Range(LocalDateTime from, LocalDateTime to) {
+    }
+
+    // Validates a history request before anything is streamed: the caller must belong to the chore's
+    // or workspace's workspace, or be the user, and the range must be bounded
+    public Range checkAccess(Scope scope, Long id, Long callerId, LocalDateTime from, LocalDateTime to) {
+        switch (scope) {
+            case CHORE -> {
+                Long workspaceId = choreRepository.findById(id)
+                        .map(chore -> chore.getWorkspace().getId())
+                        .orElseThrow(() -> new RuntimeException("Chore not found with id: " + id));
+                requireMember(workspaceId, callerId);
+            }
+            case WORKSPACE -> requireMember(id, callerId);
+            case USER -> {
+                if (!id.equals(callerId)) {
+                    throw new RuntimeException("History of other users is not available");
+                }
+            }
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(defaultRange);
+        if (!start.isBefore(end)) {
+            throw new RuntimeException("from must be before to");
+        }
+        if (Duration.between(start, end).compareTo(maxRange) > 0) {
+            throw new RuntimeException("Range must not exceed " + maxRange.toDays() + " days");
+        }
+        return new Range(start, end);
+    }
+
+    // Streams entries in [from, to), newest first, to the sink
+    public void stream(Scope scope, Long id, Range range, Consumer<HistoryEntry> sink) {
+        String column = switch (scope) {
+            case CHORE -> "chore_id";
+            case WORKSPACE -> "workspace_id";
+            case USER -> "performed_by_id";
+        };
+        // Postgres only uses a cursor for fetchSize inside a transaction
+        readOnlyTransaction.executeWithoutResult(status -> {
+            cursorJdbc.query("SELECT id, chore_id, workspace_id, performed_by_id, performed_at, note, occurrence_date "
+                    + "FROM chore_history "
+                    + "WHERE " + column + " = ? AND performed_at >= ? AND performed_at < ? "
+                    + "ORDER BY performed_at DESC, id DESC",
+                    rs -> {
+                        sink.accept(new HistoryEntry(rs.getLong(1), rs.getLong(2), rs.getObject(3, Long.class),
+                                rs.getObject(4, Long.class), rs.getTimestamp(5).toLocalDateTime(), rs.getString(6),
+                                rs.getObject(7, LocalDate.class)));
+                    },
+                    id, Timestamp.valueOf(range.from()), Timestamp.valueOf(range.to()));
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    // Creates upcoming partitions and drops expired ones
+    @Scheduled(cron = "${app.history.maintenance-cron:0 15 2 * * *}")
+    public void maintainPartitions() {
+        try {
+            LocalDate thisMonth = LocalDate.now().withDayOfMonth(1);
+            for (int i = 0; i <= monthsAhead; i++) {
+                jdbc.queryForObject("SELECT chore_history_ensure_partition(?)", String.class, thisMonth.plusMonths(i));
+            }
+            Set<LocalDate> months = new HashSet<>();
+            LocalDate cutoff = thisMonth.minusMonths(retentionMonths);
+            for (String partition : partitions()) {
+                LocalDate month = partitionMonth(partition);
+                if (month == null) {
+                    continue;
+                }
+                if (retentionMonths > 0 && month.isBefore(cutoff)) {
+                    jdbc.execute("DROP TABLE IF EXISTS " + partition);
+                    logger.info("Dropped expired chore history partition {}", partition);
+                } else {
+                    months.add(month);
+                }
+            }
+            writer.partitionsChanged(months);
+        } catch (Exception ex) {
+            logger.warn("Chore history partition maintenance failed: {}", ex.getMessage());
+        }
+    }
+
+    private List<String> partitions() {
+        return jdbc.queryForList("SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = 'chore_history'::regclass", String.class);
+    }
+
+    // chore_history_2026_03 -> 2026-03-01; null for partitions not created by chore_history_ensure_partition
+    static LocalDate partitionMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(partition.substring(PARTITION_PREFIX.length()) + "_01", PARTITION_MONTH);
+        } catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private void requireMember(Long workspaceId, Long userId) {
+        if (!membershipIndex.isMember(workspaceId, userId)) {
+            throw new RuntimeException("Not a member of workspace: " + workspaceId);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.chorecircle.chorecircle_backend.dto.HistoryEntry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Writes chore_history rows in the background. A completion first stages its rows in
+// chore_history_outbox within its own transaction (stage, V16), so they commit or roll back with it.
+// After commit they are appended to a bounded queue that a single writer thread drains in batches
+// of up to app.history.batch-size rows. Each batch claims its rows by deleting them from the outbox,
+// then inserts the claimed rows as one JDBC batch and updates their completion counters, all in one
+// transaction, so a row is written exactly once even if another instance flushes it too. The
+// future returned by appendAll completes once the row is committed, so callers that must not answer
+// before the history is written can wait on it while concurrent completions share a flush. A full
+// queue makes appendAll wait up to app.history.offer-timeout, pushing back on callers instead of
+// growing without bound; past that, and during shutdown, the rows are written on the caller's thread.
+// Failed flushes are retried with backoff until they succeed; a batch that violates a constraint
+// is retried row by row so one bad row does not hold up the others, and the bad row is discarded.
+// The queue is memory only: rows it loses (the process died, or a direct write failed) stay in the
+// outbox, and recover writes them once they are older than app.history.recovery-age.
+@Service
+public class ChoreHistoryWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChoreHistoryWriter.class);
+    private static final String INSERT = "INSERT INTO chore_history "
+            + "(chore_id, workspace_id, performed_by_id, performed_at, note, occurrence_date) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String STAGE = "INSERT INTO chore_history_outbox "
+            + "(chore_id, workspace_id, performed_by_id, performed_at, note, occurrence_date) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String CLAIM = "DELETE FROM chore_history_outbox WHERE id = ?";
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+
+    // A history row staged in the outbox, not yet in chore_history
+    public record Staged(long outboxId, HistoryEntry entry) {
+    }
+
+    private record Pending(Staged staged, CompletableFuture<Void> written) {
+        HistoryEntry entry() {
+            return staged.entry();
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final CompletionStatsService completionStats;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final Duration recoveryAge;
+    private final Set<LocalDate> knownPartitions = ConcurrentHashMap.newKeySet();
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter overflowCounter;
+    private final Counter recoveredCounter;
+    private final Timer flushTimer;
+    private volatile boolean stopping;
+    private volatile long stopDeadline;
+    private Thread worker;
+
+    public ChoreHistoryWriter(DataSource dataSource, PlatformTransactionManager transactionManager,
+                              CompletionStatsService completionStats, MeterRegistry meterRegistry,
+                              @Value("${app.history.queue-capacity:10000}") int queueCapacity,
+                              @Value("${app.history.batch-size:500}") int batchSize,
+                              @Value("${app.history.flush-interval:50ms}") Duration flushInterval,
+                              @Value("${app.history.offer-timeout:2s}") Duration offerTimeout,
+                              @Value("${app.history.shutdown-timeout:10s}") Duration shutdownTimeout,
+                              @Value("${app.history.recovery-age:1m}") Duration recoveryAge) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Overflow rows are written from afterCommit callbacks, where the finished transaction is still bound
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.completionStats = completionStats;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.recoveryAge = recoveryAge;
+        this.writtenCounter = Counter.builder("chorecircle.history.written").register(meterRegistry);
+        this.failedCounter = Counter.builder("chorecircle.history.failed").register(meterRegistry);
+        this.overflowCounter = Counter.builder("chorecircle.history.overflow").register(meterRegistry);
+        this.recoveredCounter = Counter.builder("chorecircle.history.recovered").register(meterRegistry);
+        this.flushTimer = Timer.builder("chorecircle.history.flush").register(meterRegistry);
+        Gauge.builder("chorecircle.history.queued", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        worker = Thread.ofPlatform().name("chore-history-writer").daemon().start(this::run);
+    }
+
+    // Stages completions in the outbox; must run in the completion's transaction, and appendAll is
+    // called with the result once that has committed
+    public List<Staged> stage(List<HistoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(connection -> connection.prepareStatement(STAGE, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, entries.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return entries.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> ids = keys.getKeyList();
+        List<Staged> staged = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            staged.add(new Staged(((Number) ids.get(i).get("id")).longValue(), entries.get(i)));
+        }
+        return staged;
+    }
+
+    // Queues staged completions, which the writer inserts in as few batches as the queue allows.
+    // The future completes once all of them are committed, or exceptionally if one could not be
+    // written. Once one offer times out the rest are not offered, and all of those left over are
+    // written together on the caller's thread.
+    public CompletableFuture<Void> appendAll(List<Staged> entries) {
+        List<CompletableFuture<Void>> written = new ArrayList<>(entries.size());
+        List<Pending> overflow = new ArrayList<>();
+        for (Staged entry : entries) {
+            Pending pending = new Pending(entry, new CompletableFuture<>());
+            written.add(pending.written());
+            if (!overflow.isEmpty() || !enqueue(pending)) {
+                overflow.add(pending);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            logger.warn("History queue is full, writing {} row(s) directly", overflow.size());
+            overflowCounter.increment(overflow.size());
+            flush(overflow, false);
+        }
+        return written.size() == 1 ? written.get(0) : CompletableFuture.allOf(written.toArray(CompletableFuture[]::new));
+    }
+
+    private boolean enqueue(Pending pending) {
+        if (stopping) {
+            return false;
+        }
+        try {
+            return queue.offer(pending, offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    // Called when ChoreHistoryService creates or drops partitions
+    void partitionsChanged(Set<LocalDate> months) {
+        knownPartitions.clear();
+        knownPartitions.addAll(months);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        stopDeadline = System.nanoTime() + shutdownTimeout.toNanos();
+        stopping = true;
+        worker.interrupt();
+        worker.join(shutdownTimeout.toMillis() + 1000);
+        if (!queue.isEmpty()) {
+            logger.warn("{} chore history row(s) were not written before shutdown and are left for recovery",
+                    queue.size());
+        }
+    }
+
+    // Writes outbox rows staged more than app.history.recovery-age ago, which their queue entry has lost.
+    // Claiming makes this safe while the instance that staged a row is still writing it.
+    @Scheduled(initialDelayString = "${app.history.recovery-interval:1m}",
+            fixedDelayString = "${app.history.recovery-interval:1m}")
+    public void recover() {
+        try {
+            while (true) {
+                List<Pending> page = jdbc.query("SELECT id, chore_id, workspace_id, performed_by_id, performed_at, note, "
+                                + "occurrence_date FROM chore_history_outbox WHERE staged_at < localtimestamp - ?::interval "
+                                + "ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new Pending(new Staged(rs.getLong(1), new HistoryEntry(null, rs.getLong(2),
+                                rs.getObject(3, Long.class), rs.getObject(4, Long.class),
+                                rs.getTimestamp(5).toLocalDateTime(), rs.getString(6),
+                                rs.getObject(7, LocalDate.class))), new CompletableFuture<>()),
+                        recoveryAge.toMillis() + " milliseconds", batchSize);
+                if (page.isEmpty()) {
+                    return;
+                }
+                logger.warn("Recovering {} staged chore history row(s)", page.size());
+                recoveredCounter.increment(page.size());
+                flush(page, false);
+                // A failed write stays in the outbox for the next run
+                if (page.size() < batchSize || page.stream().anyMatch(p -> p.written().isCompletedExceptionally())) {
+                    return;
+                }
+            }
+        } catch (Exception ex) {
+            logger.warn("Could not recover staged chore history: {}", ex.getMessage());
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (!stopping || !queue.isEmpty()) {
+            try {
+                Pending first = stopping ? queue.poll() : queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch, true);
+            } catch (InterruptedException ex) {
+                // stop() interrupts to end the wait; pending rows are still drained above
+            } catch (Exception ex) {
+                logger.error("Chore history writer failed: {}", ex.getMessage(), ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Without retry (the caller's thread) a failed write is reported at once instead of waiting out the outage
+    private void flush(List<Pending> batch, boolean retry) {
+        long backoff = Math.max(10, flushInterval.toMillis());
+        while (true) {
+            try {
+                flushTimer.record(() -> insert(batch));
+                batch.forEach(pending -> pending.written().complete(null));
+                writtenCounter.increment(batch.size());
+                return;
+            } catch (DataIntegrityViolationException ex) {
+                if (batch.size() == 1) {
+                    discard(batch.get(0));
+                    fail(batch, ex);
+                    return;
+                }
+                for (Pending pending : batch) {
+                    flush(List.of(pending), retry);
+                }
+                return;
+            } catch (Exception ex) {
+                if (!retry || (stopping && System.nanoTime() > stopDeadline)) {
+                    fail(batch, ex);
+                    return;
+                }
+                logger.warn("Could not write {} chore history row(s), retrying in {} ms: {}",
+                        batch.size(), backoff, ex.getMessage());
+                sleep(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private void insert(List<Pending> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Pending pending : batch) {
+                ensurePartition(pending.entry().performedAt().toLocalDate().withDayOfMonth(1));
+            }
+        });
+        // Claimed in id order, so two writers flushing the same rows cannot deadlock; a row that is already
+        // gone was written by another writer
+        List<Pending> byId = batch.stream().sorted(Comparator.comparingLong(p -> p.staged().outboxId())).toList();
+        List<Object[]> ids = new ArrayList<>(byId.size());
+        for (Pending pending : byId) {
+            ids.add(new Object[] {pending.staged().outboxId()});
+        }
+        // The claim, the rows and the completion counters commit or roll back together
+        transactionTemplate.executeWithoutResult(status -> {
+            int[] claimed = jdbc.batchUpdate(CLAIM, ids);
+            List<HistoryEntry> entries = new ArrayList<>(byId.size());
+            for (int i = 0; i < byId.size(); i++) {
+                if (claimed[i] != 0) {
+                    entries.add(byId.get(i).entry());
+                }
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+            // Workspace order, so the board_version triggers lock workspace rows in the same order as every other writer
+            entries.sort(Comparator.comparing(HistoryEntry::workspaceId, Comparator.nullsFirst(Comparator.naturalOrder())));
+            jdbc.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    bind(ps, entries.get(i));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return entries.size();
+                }
+            });
+            completionStats.record(entries);
+        });
+    }
+
+    private static void bind(PreparedStatement ps, HistoryEntry entry) throws SQLException {
+        ps.setObject(1, entry.choreId(), Types.BIGINT);
+        ps.setObject(2, entry.workspaceId(), Types.BIGINT);
+        ps.setObject(3, entry.performedById(), Types.BIGINT);
+        ps.setTimestamp(4, Timestamp.valueOf(entry.performedAt()));
+        ps.setString(5, entry.note());
+        ps.setDate(6, entry.occurrenceDate() != null ? Date.valueOf(entry.occurrenceDate()) : null);
+    }
+
+    // A row that violates a constraint would fail every recovery too
+    private void discard(Pending pending) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbc.update(CLAIM, pending.staged().outboxId()));
+        } catch (Exception ex) {
+            logger.warn("Could not discard staged chore history row {}: {}", pending.staged().outboxId(), ex.getMessage());
+        }
+    }
+
+    // Partitions are normally created ahead of time; this covers rows outside that window
+    private void ensurePartition(LocalDate month) {
+        if (!knownPartitions.contains(month)) {
+            jdbc.queryForObject("SELECT chore_history_ensure_partition(?)", String.class, month);
+            knownPartitions.add(month);
+        }
+    }
+
+    private void fail(List<Pending> batch, Exception cause) {
+        logger.error("Dropping {} chore history row(s): {}", batch.size(), cause.getMessage());
+        failedCounter.increment(batch.size());
+        batch.forEach(pending -> pending.written().completeExceptionally(cause));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            // Shutdown; the caller checks the deadline on the next attempt
+        }
+    }
+}
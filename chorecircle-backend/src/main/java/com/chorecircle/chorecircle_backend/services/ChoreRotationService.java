@@ -0,0 +1,244 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Reassigns pending chores across workspace members. A run walks the workspaces in id order,
+// hands each partition of app.rotation.partition-size workspaces to a virtual thread and, per
+// partition and in one transaction, loads members, pending chores and (when a strategy needs it)
+// completion history with a handful of set-based queries, then writes only the chores whose
+// assignee changes as one JDBC batch. app.rotation.parallelism bounds how many partitions talk to
+// the database at once so the connection pool is not exhausted.
+// Strategies are deterministic and unchanged chores are not written, so running again in the same
+// rotation period is a no-op; overlapping runs on several instances are harmless for the same reason.
+@Service
+public class ChoreRotationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChoreRotationService.class);
+    private static final int HISTORY_CHUNK = 1000;
+
+    public record RotationSummary(int workspaces, int reassigned, int failedPartitions, Duration elapsed) {
+    }
+
+    private record WorkspaceRow(long id, String strategy) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, RotationStrategy> strategies;
+    private final RotationStrategy defaultStrategy;
+    private final boolean enabled;
+    private final long periodMillis;
+    private final int partitionSize;
+    private final Semaphore permits;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter reassignedCounter;
+    private final Timer runTimer;
+
+    public ChoreRotationService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                List<RotationStrategy> strategies, MeterRegistry meterRegistry,
+                                @Value("${app.rotation.enabled:true}") boolean enabled,
+                                @Value("${app.rotation.default-strategy:round-robin}") String defaultStrategy,
+                                @Value("${app.rotation.period:7d}") Duration period,
+                                @Value("${app.rotation.partition-size:500}") int partitionSize,
+                                @Value("${app.rotation.parallelism:4}") int parallelism) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.strategies = strategies.stream().collect(Collectors.toMap(RotationStrategy::name, Function.identity()));
+        this.defaultStrategy = this.strategies.get(defaultStrategy);
+        if (this.defaultStrategy == null) {
+            throw new IllegalStateException("Unknown app.rotation.default-strategy: " + defaultStrategy
+                    + " (available: " + this.strategies.keySet() + ")");
+        }
+        this.enabled = enabled;
+        this.periodMillis = Math.max(1, period.toMillis());
+        this.partitionSize = Math.max(1, partitionSize);
+        this.permits = new Semaphore(Math.max(1, parallelism));
+        this.reassignedCounter = Counter.builder("chorecircle.rotation.reassigned").register(meterRegistry);
+        this.runTimer = Timer.builder("chorecircle.rotation.run").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.rotation.cron:0 0 3 * * *}")
+    public void scheduledRotation() {
+        if (enabled) {
+            rotateAll();
+        }
+    }
+
+    // One pass over every workspace. Returns null when another pass is still running on this instance.
+    public RotationSummary rotateAll() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Chore rotation skipped: previous run still in progress");
+            return null;
+        }
+        long started = System.nanoTime();
+        try {
+            long period = Instant.now().toEpochMilli() / periodMillis;
+            int workspaces = 0;
+            List<Future<Integer>> partitions = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                long afterId = 0;
+                List<WorkspaceRow> partition;
+                while (!(partition = nextPartition(afterId)).isEmpty()) {
+                    afterId = partition.get(partition.size() - 1).id();
+                    workspaces += partition.size();
+                    List<WorkspaceRow> work = partition;
+                    partitions.add(executor.submit(() -> rotatePartition(work, period)));
+                }
+            }
+            int reassigned = 0;
+            int failed = 0;
+            for (Future<Integer> result : partitions) {
+                try {
+                    reassigned += result.get();
+                } catch (ExecutionException ex) {
+                    failed++;
+                    logger.warn("Chore rotation partition failed: {}", ex.getCause().getMessage());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while rotating chores", ex);
+                }
+            }
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+            runTimer.record(elapsed);
+            logger.info("Chore rotation: {} workspace(s), {} chore(s) reassigned, {} failed partition(s) in {} ms",
+                    workspaces, reassigned, failed, elapsed.toMillis());
+            return new RotationSummary(workspaces, reassigned, failed, elapsed);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private List<WorkspaceRow> nextPartition(long afterId) {
+        return jdbc.query("SELECT id, rotation_strategy FROM workspaces WHERE id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("afterId", afterId).addValue("limit", partitionSize),
+                (rs, row) -> new WorkspaceRow(rs.getLong("id"), rs.getString("rotation_strategy")));
+    }
+
+    private int rotatePartition(List<WorkspaceRow> partition, long period) {
+        permits.acquireUninterruptibly();
+        try {
+            Integer reassigned = transactionTemplate.execute(status -> rotate(partition, period));
+            reassignedCounter.increment(reassigned);
+            return reassigned;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private int rotate(List<WorkspaceRow> partition, long period) {
+        List<Long> workspaceIds = partition.stream().map(WorkspaceRow::id).toList();
+        MapSqlParameterSource byWorkspace = new MapSqlParameterSource("ids", workspaceIds);
+
+        Map<Long, List<Long>> members = new HashMap<>();
+        jdbc.query("SELECT workspace_id, user_id FROM workspace_members WHERE workspace_id IN (:ids) "
+                + "ORDER BY workspace_id, user_id", byWorkspace,
+                rs -> {
+                    members.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+                });
+
+        Map<Long, List<WorkspaceRotation.PendingChore>> chores = new HashMap<>();
+        jdbc.query("SELECT id, workspace_id, assigned_to_id, due_date FROM chores "
+                + "WHERE workspace_id IN (:ids) AND NOT completed", byWorkspace,
+                rs -> {
+                    Date due = rs.getDate(4);
+                    chores.computeIfAbsent(rs.getLong(2), id -> new ArrayList<>()).add(
+                            new WorkspaceRotation.PendingChore(rs.getLong(1), rs.getObject(3, Long.class),
+                                    due != null ? due.toLocalDate() : null));
+                });
+
+        Map<Long, RotationStrategy> strategyByWorkspace = new HashMap<>();
+        List<Long> historyChores = new ArrayList<>();
+        for (WorkspaceRow workspace : partition) {
+            RotationStrategy strategy = strategyFor(workspace);
+            strategyByWorkspace.put(workspace.id(), strategy);
+            if (strategy.needsHistory() && members.containsKey(workspace.id())) {
+                chores.getOrDefault(workspace.id(), List.of()).forEach(chore -> historyChores.add(chore.id()));
+            }
+        }
+        Map<Long, Map<Long, LocalDateTime>> lastPerformed = loadLastPerformed(historyChores);
+
+        List<Object[]> updates = new ArrayList<>();
+        for (WorkspaceRow workspace : partition) {
+            List<Long> memberIds = members.get(workspace.id());
+            List<WorkspaceRotation.PendingChore> pending = chores.get(workspace.id());
+            if (memberIds == null || pending == null) {
+                continue;
+            }
+            Map<Long, Long> assignments = strategyByWorkspace.get(workspace.id()).assign(
+                    new WorkspaceRotation(workspace.id(), memberIds, pending, lastPerformed, period));
+            for (WorkspaceRotation.PendingChore chore : pending) {
+                Long assignee = assignments.get(chore.id());
+                if (assignee != null && !Objects.equals(assignee, chore.assigneeId())) {
+                    updates.add(new Object[] {assignee, chore.id()});
+                }
+            }
+        }
+        if (updates.isEmpty()) {
+            return 0;
+        }
+        jdbc.getJdbcTemplate().batchUpdate("UPDATE chores SET assigned_to_id = ? WHERE id = ? AND NOT completed", updates);
+        return updates.size();
+    }
+
+    private Map<Long, Map<Long, LocalDateTime>> loadLastPerformed(List<Long> choreIds) {
+        Map<Long, Map<Long, LocalDateTime>> result = new HashMap<>();
+        for (int from = 0; from < choreIds.size(); from += HISTORY_CHUNK) {
+            List<Long> chunk = choreIds.subList(from, Math.min(from + HISTORY_CHUNK, choreIds.size()));
+            jdbc.query("SELECT chore_id, performed_by_id, MAX(performed_at) FROM chore_history "
+                    + "WHERE chore_id IN (:ids) AND performed_by_id IS NOT NULL AND performed_at IS NOT NULL "
+                    + "GROUP BY chore_id, performed_by_id", new MapSqlParameterSource("ids", chunk),
+                    rs -> {
+                        Timestamp at = rs.getTimestamp(3);
+                        result.computeIfAbsent(rs.getLong(1), id -> new HashMap<>())
+                                .put(rs.getLong(2), at.toLocalDateTime());
+                    });
+        }
+        return result;
+    }
+
+    private RotationStrategy strategyFor(WorkspaceRow workspace) {
+        if (workspace.strategy() == null) {
+            return defaultStrategy;
+        }
+        RotationStrategy strategy = strategies.get(workspace.strategy());
+        if (strategy == null) {
+            logger.debug("Workspace {} has unknown rotation strategy '{}'; using {}",
+                    workspace.id(), workspace.strategy(), defaultStrategy.name());
+            return defaultStrategy;
+        }
+        return strategy;
+    }
+}
@@ -0,0 +1,424 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.chorecircle.chorecircle_backend.dto.HistoryEntry;
+import com.chorecircle.chorecircle_backend.dto.Occurrence;
+import com.chorecircle.chorecircle_backend.dto.RecurrenceRequest;
+import com.chorecircle.chorecircle_backend.entities.Chore;
+import com.chorecircle.chorecircle_backend.entities.ChoreOccurrence;
+import com.chorecircle.chorecircle_backend.entities.User;
+import com.chorecircle.chorecircle_backend.entities.Workspace;
+import com.chorecircle.chorecircle_backend.repositories.ChoreOccurrenceRepository;
+import com.chorecircle.chorecircle_backend.repositories.ChoreRepository;
+import com.chorecircle.chorecircle_backend.repositories.UserRepository;
+import com.chorecircle.chorecircle_backend.repositories.WorkspaceRepository;
+
+// Chores of a workspace; only members of the workspace may see or change them.
+// A recurring chore is one row whatever its number of occurrences: the chore's due date is that of
+// its next open occurrence, and a chore_occurrences row exists only for an occurrence that was
+// completed, skipped, moved or reassigned.
+@Service
+@Transactional
+public class ChoreService {
+
+    private final ChoreRepository choreRepository;
+    private final ChoreOccurrenceRepository occurrenceRepository;
+    private final ChoreHistoryWriter choreHistoryWriter;
+    private final WorkspaceRepository workspaceRepository;
+    private final MembershipIndex membershipIndex;
+    private final UserRepository userRepository;
+    private final ReminderScheduler reminderScheduler;
+    private final int bulkMaxItems;
+
+    public record Completion(Chore chore, CompletableFuture<Void> recorded) {
+    }
+
+    // One chore of a bulk completion; occurrenceDate as for completeChore
+    public record BulkItem(Long choreId, String note, LocalDate occurrenceDate) {
+    }
+
+    public enum BulkStatus { COMPLETED, NOT_FOUND, REJECTED }
+
+    // Outcome of one bulk item, in request order; occurrenceDate is the occurrence that was completed
+    public record BulkOutcome(Long choreId, LocalDate occurrenceDate, BulkStatus status, String error) {
+    }
+
+    public record BulkCompletion(List<BulkOutcome> outcomes, CompletableFuture<Void> recorded) {
+    }
+
+    private record ReminderChange(Long choreId, LocalDate dueDate, boolean completed) {
+    }
+
+    public ChoreService(ChoreRepository choreRepository, ChoreOccurrenceRepository occurrenceRepository,
+                        ChoreHistoryWriter choreHistoryWriter, WorkspaceRepository workspaceRepository,
+                        MembershipIndex membershipIndex, UserRepository userRepository,
+                        ReminderScheduler reminderScheduler,
+                        @Value("${app.chores.bulk-max-items:500}") int bulkMaxItems) {
+        this.choreRepository = choreRepository;
+        this.occurrenceRepository = occurrenceRepository;
+        this.choreHistoryWriter = choreHistoryWriter;
+        this.workspaceRepository = workspaceRepository;
+        this.membershipIndex = membershipIndex;
+        this.userRepository = userRepository;
+        this.reminderScheduler = reminderScheduler;
+        this.bulkMaxItems = bulkMaxItems;
+    }
+
+    // Create a chore in a workspace the caller belongs to; a recurring chore's first occurrence is on
+    // or after its due date
+    public Chore createChore(Long workspaceId, Long callerId, String title, String description,
+                             Long assigneeId, LocalDate dueDate, RecurrenceRequest recurrence) {
+        if (title == null || title.isBlank()) {
+            throw new RuntimeException("Title is required");
+        }
+        requireMember(workspaceId, callerId);
+        Workspace workspace = workspaceRepository.getReferenceById(workspaceId);
+        Chore chore = new Chore();
+        chore.setWorkspace(workspace);
+        chore.setTitle(title);
+        chore.setDescription(description);
+        chore.setAssignedTo(assignee(workspaceId, assigneeId));
+        chore.setDueDate(dueDate);
+        if (recurrence != null) {
+            RecurrenceRule rule = rule(recurrence, dueDate);
+            LocalDate first = rule.first();
+            if (first == null) {
+                throw new RuntimeException("Recurrence has no occurrences");
+            }
+            chore.setRecurrence(rule.toRecurrence(first));
+            chore.setDueDate(first);
+        }
+        Chore saved = choreRepository.save(chore);
+        scheduleReminder(saved);
+        return saved;
+    }
+
+    // Get a chore of one of the caller's workspaces
+    @Transactional(readOnly = true)
+    public Optional<Chore> getChore(Long choreId, Long callerId) {
+        return choreRepository.findById(choreId)
+                .filter(chore -> membershipIndex.isMember(chore.getWorkspace().getId(), callerId));
+    }
+
+    // Update the given fields; null leaves a field unchanged, clearDueDate removes the due date and
+    // clearRecurrence turns the chore into a one-off due on its next occurrence. A new recurrence, or a
+    // new due date of a recurring chore, restarts the series from the due date.
+    public Chore updateChore(Long choreId, Long callerId, String title, String description, Long assigneeId,
+                             LocalDate dueDate, boolean clearDueDate, RecurrenceRequest recurrence,
+                             boolean clearRecurrence) {
+        Chore chore = memberChore(choreId, callerId);
+        if (title != null) {
+            if (title.isBlank()) {
+                throw new RuntimeException("Title is required");
+            }
+            chore.setTitle(title);
+        }
+        if (description != null) {
+            chore.setDescription(description);
+        }
+        if (assigneeId != null) {
+            chore.setAssignedTo(assignee(chore.getWorkspace().getId(), assigneeId));
+        }
+        RecurrenceRule current = RecurrenceRule.of(chore.getRecurrence());
+        if (clearRecurrence) {
+            chore.setRecurrence(null);
+            current = null;
+        }
+        if (clearDueDate) {
+            if (current != null || recurrence != null) {
+                throw new RuntimeException("A recurring chore needs a due date");
+            }
+            chore.setDueDate(null);
+        } else if (dueDate != null) {
+            chore.setDueDate(dueDate);
+        }
+        RecurrenceRule restarted = null;
+        if (recurrence != null) {
+            restarted = rule(recurrence, chore.getDueDate());
+        } else if (current != null && dueDate != null) {
+            restarted = new RecurrenceRule(current.frequency(), current.interval(), current.weekdays(), dueDate,
+                    current.until());
+        }
+        if (restarted != null) {
+            if (restarted.first() == null) {
+                throw new RuntimeException("Recurrence has no occurrences");
+            }
+            chore.setRecurrence(restarted.toRecurrence(null));
+            chore.setCompleted(false);
+            advance(chore, restarted, restarted.first());
+        }
+        scheduleReminder(chore);
+        return chore;
+    }
+
+    // Mark a chore done by the caller. For a recurring chore this completes one occurrence, by default
+    // the next open one, and moves the chore on to the following open occurrence; the chore itself is
+    // completed once no occurrence is left. The history row is staged with the chore update and queued
+    // once it commits; recorded completes when that row has been written to chore_history.
+    public Completion completeChore(Long choreId, Long callerId, String note, LocalDate occurrenceDate) {
+        // Same row lock as a bulk completion, so concurrent completions of one chore are serialized and
+        // the later one sees the chore (or occurrence) already completed
+        choreRepository.lockForCompletion(List.of(choreId));
+        Chore chore = memberChore(choreId, callerId);
+        if (chore.isCompleted()) {
+            throw new RuntimeException("Chore is already completed");
+        }
+        LocalDate completedOccurrence = null;
+        if (chore.getRecurrence() == null) {
+            if (occurrenceDate != null) {
+                throw new RuntimeException("Chore is not recurring");
+            }
+            chore.setCompleted(true);
+        } else {
+            completedOccurrence = completeOccurrence(chore, callerId, occurrenceDate);
+        }
+        HistoryEntry entry = new HistoryEntry(null, chore.getId(), chore.getWorkspace().getId(), callerId,
+                LocalDateTime.now(), note, completedOccurrence);
+        CompletableFuture<Void> recorded = recordAfterCommit(List.of(entry));
+        scheduleReminder(chore);
+        return new Completion(chore, recorded);
+    }
+
+    // Complete many chores for the caller in one transaction. Every item gets its own outcome, so a
+    // chore that is missing, already completed or outside the caller's workspaces does not fail the
+    // others. One-off chores are completed with a single UPDATE and recurring ones one occurrence at a
+    // time; the history rows are staged with them and queued together after commit, where the writer
+    // inserts them as one batch and updates the completion counters once, and the reminder queue is
+    // updated in one pass.
+    public BulkCompletion completeChores(Long callerId, List<BulkItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new RuntimeException("No chores to complete");
+        }
+        if (items.size() > bulkMaxItems) {
+            throw new RuntimeException("At most " + bulkMaxItems + " chores can be completed at once");
+        }
+        Map<Long, ChoreRepository.CompletionView> rows = new HashMap<>();
+        for (ChoreRepository.CompletionView row : choreRepository.lockForCompletion(
+                items.stream().map(BulkItem::choreId).filter(Objects::nonNull).distinct().toList())) {
+            rows.put(row.getId(), row);
+        }
+        // Lock the workspaces up front: each recurring chore is flushed as its own UPDATE, and their triggers
+        // would otherwise lock workspace rows in chore order, which two bulks can interleave into a deadlock
+        List<Long> workspaceIds = rows.values().stream()
+                .map(ChoreRepository.CompletionView::getWorkspaceId)
+                .filter(workspaceId -> workspaceId != null && membershipIndex.isMember(workspaceId, callerId))
+                .distinct()
+                .toList();
+        if (!workspaceIds.isEmpty()) {
+            workspaceRepository.lockForBoardUpdate(workspaceIds);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<BulkOutcome> outcomes = new ArrayList<>(items.size());
+        List<HistoryEntry> entries = new ArrayList<>();
+        Set<Long> oneOffs = new LinkedHashSet<>();
+        Map<Long, Chore> recurring = new LinkedHashMap<>();
+        for (BulkItem item : items) {
+            ChoreRepository.CompletionView row = item.choreId() != null ? rows.get(item.choreId()) : null;
+            if (row == null || !membershipIndex.isMember(row.getWorkspaceId(), callerId)) {
+                outcomes.add(new BulkOutcome(item.choreId(), item.occurrenceDate(), BulkStatus.NOT_FOUND,
+                        "Chore not found with id: " + item.choreId()));
+                continue;
+            }
+            try {
+                LocalDate completedOccurrence = null;
+                if (row.getFrequency() == null) {
+                    if (item.occurrenceDate() != null) {
+                        throw new RuntimeException("Chore is not recurring");
+                    }
+                    if (row.isCompleted() || !oneOffs.add(row.getId())) {
+                        throw new RuntimeException("Chore is already completed");
+                    }
+                } else {
+                    Chore chore = recurring.computeIfAbsent(row.getId(),
+                            id -> choreRepository.findById(id).orElseThrow());
+                    if (chore.isCompleted()) {
+                        throw new RuntimeException("Chore is already completed");
+                    }
+                    completedOccurrence = completeOccurrence(chore, callerId, item.occurrenceDate());
+                }
+                entries.add(new HistoryEntry(null, row.getId(), row.getWorkspaceId(), callerId, now, item.note(),
+                        completedOccurrence));
+                outcomes.add(new BulkOutcome(row.getId(), completedOccurrence, BulkStatus.COMPLETED, null));
+            } catch (RuntimeException ex) {
+                outcomes.add(new BulkOutcome(row.getId(), item.occurrenceDate(), BulkStatus.REJECTED, ex.getMessage()));
+            }
+        }
+        if (!oneOffs.isEmpty()) {
+            choreRepository.markCompleted(oneOffs);
+        }
+        List<ReminderChange> reminders = new ArrayList<>(oneOffs.size() + recurring.size());
+        oneOffs.forEach(id -> reminders.add(new ReminderChange(id, null, true)));
+        recurring.values().forEach(chore ->
+                reminders.add(new ReminderChange(chore.getId(), chore.getDueDate(), chore.isCompleted())));
+        TransactionCallbacks.afterCommit(() -> reminders.forEach(change ->
+                reminderScheduler.choreChanged(change.choreId(), change.dueDate(), change.completed())));
+        return new BulkCompletion(outcomes, recordAfterCommit(entries));
+    }
+
+    // Marks an occurrence of a recurring chore completed by the caller, by default the next open one,
+    // and moves the chore on when it was the next one. Returns the completed occurrence.
+    private LocalDate completeOccurrence(Chore chore, Long callerId, LocalDate occurrenceDate) {
+        RecurrenceRule rule = RecurrenceRule.of(chore.getRecurrence());
+        LocalDate date = occurrenceDate != null ? occurrenceDate : chore.getRecurrence().getNext();
+        ChoreOccurrence occurrence = occurrence(chore, rule, date);
+        if (occurrence.isSkipped()) {
+            throw new RuntimeException("Occurrence is skipped: " + date);
+        }
+        if (occurrence.getCompletedAt() != null) {
+            throw new RuntimeException("Occurrence is already completed: " + date);
+        }
+        occurrence.setCompletedBy(userRepository.getReferenceById(callerId));
+        occurrence.setCompletedAt(LocalDateTime.now());
+        occurrenceRepository.save(occurrence);
+        if (date.equals(chore.getRecurrence().getNext())) {
+            advance(chore, rule, rule.firstAfter(date));
+        }
+        return date;
+    }
+
+    // Stages the history rows and queues them once the transaction commits; the future completes when all are written
+    private CompletableFuture<Void> recordAfterCommit(List<HistoryEntry> entries) {
+        CompletableFuture<Void> recorded = new CompletableFuture<>();
+        if (entries.isEmpty()) {
+            recorded.complete(null);
+            return recorded;
+        }
+        // Staged in this transaction, so the rows are kept if the completion commits; the writer moves them
+        // into chore_history afterwards
+        List<ChoreHistoryWriter.Staged> staged = choreHistoryWriter.stage(entries);
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                choreHistoryWriter.appendAll(staged).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        recorded.completeExceptionally(error);
+                    } else {
+                        recorded.complete(null);
+                    }
+                });
+            } catch (RuntimeException ex) {
+                recorded.completeExceptionally(ex);
+            }
+        });
+        return recorded;
+    }
+
+    // Skip (or un-skip), move or reassign one occurrence of a recurring chore. dueDate moves the
+    // occurrence, clearDueDate moves it back to its own date; null leaves a field unchanged.
+    public Occurrence overrideOccurrence(Long choreId, Long callerId, LocalDate occurrenceDate, Boolean skipped,
+                                         LocalDate dueDate, boolean clearDueDate, Long assigneeId) {
+        Chore chore = memberChore(choreId, callerId);
+        RecurrenceRule rule = RecurrenceRule.of(chore.getRecurrence());
+        if (rule == null) {
+            throw new RuntimeException("Chore is not recurring");
+        }
+        ChoreOccurrence occurrence = occurrence(chore, rule, occurrenceDate);
+        if (occurrence.getCompletedAt() != null) {
+            throw new RuntimeException("Occurrence is already completed: " + occurrenceDate);
+        }
+        if (skipped != null) {
+            occurrence.setSkipped(skipped);
+        }
+        if (clearDueDate) {
+            occurrence.setDueDate(null);
+        } else if (dueDate != null) {
+            occurrence.setDueDate(dueDate.equals(occurrenceDate) ? null : dueDate);
+        }
+        if (assigneeId != null) {
+            occurrence.setAssignedTo(assignee(chore.getWorkspace().getId(), assigneeId));
+        }
+        occurrenceRepository.save(occurrence);
+        // The next open occurrence can only change if this one is it or comes before it
+        LocalDate next = chore.getRecurrence().getNext();
+        if (next == null || !occurrenceDate.isAfter(next)) {
+            chore.setCompleted(false);
+            advance(chore, rule, occurrenceDate);
+            scheduleReminder(chore);
+        }
+        return new Occurrence(chore.getId(), chore.getWorkspace().getId(), chore.getTitle(), occurrenceDate,
+                occurrence.getDueDate() != null ? occurrence.getDueDate() : occurrenceDate,
+                occurrence.getAssignedTo() != null ? occurrence.getAssignedTo().getId()
+                        : chore.getAssignedTo() != null ? chore.getAssignedTo().getId() : null,
+                occurrence.isSkipped(), false, null, null);
+    }
+
+    // Points the chore at the first open occurrence from candidate on, with that occurrence's due date,
+    // or completes it when the series has none left. Only rows of closed occurrences from candidate on
+    // are read, so the cost does not grow with the length of the series.
+    private void advance(Chore chore, RecurrenceRule rule, LocalDate candidate) {
+        Set<LocalDate> closed = candidate == null ? Set.of()
+                : new HashSet<>(occurrenceRepository.findClosedAfter(chore.getId(), candidate.minusDays(1)));
+        LocalDate next = candidate;
+        while (next != null && closed.contains(next)) {
+            next = rule.firstAfter(next);
+        }
+        chore.getRecurrence().setNext(next);
+        if (next == null) {
+            chore.setCompleted(true);
+            return;
+        }
+        chore.setDueDate(occurrenceRepository.findById(new ChoreOccurrence.Key(chore.getId(), next))
+                .map(ChoreOccurrence::getDueDate).orElse(next));
+    }
+
+    // The stored row of an occurrence, or a new unsaved one
+    private ChoreOccurrence occurrence(Chore chore, RecurrenceRule rule, LocalDate occurrenceDate) {
+        if (!rule.isOccurrence(occurrenceDate)) {
+            throw new RuntimeException("Not an occurrence of chore " + chore.getId() + ": " + occurrenceDate);
+        }
+        return occurrenceRepository.findById(new ChoreOccurrence.Key(chore.getId(), occurrenceDate))
+                .orElseGet(() -> new ChoreOccurrence(chore.getId(), occurrenceDate));
+    }
+
+    private static RecurrenceRule rule(RecurrenceRequest recurrence, LocalDate start) {
+        return new RecurrenceRule(recurrence.frequency(), recurrence.interval() != null ? recurrence.interval() : 1,
+                recurrence.weekdays() != null ? RecurrenceRule.mask(recurrence.weekdays()) : 0, start,
+                recurrence.until());
+    }
+
+    private Chore memberChore(Long choreId, Long callerId) {
+        Chore chore = choreRepository.findById(choreId)
+                .orElseThrow(() -> new RuntimeException("Chore not found with id: " + choreId));
+        requireMember(chore.getWorkspace().getId(), callerId);
+        return chore;
+    }
+
+    private void requireMember(Long workspaceId, Long userId) {
+        if (workspaceId == null || !membershipIndex.isMember(workspaceId, userId)) {
+            throw new RuntimeException("Not a member of workspace: " + workspaceId);
+        }
+    }
+
+    private User assignee(Long workspaceId, Long assigneeId) {
+        if (assigneeId == null) {
+            return null;
+        }
+        if (!membershipIndex.isMember(workspaceId, assigneeId)) {
+            throw new RuntimeException("Assignee is not a member of workspace: " + workspaceId);
+        }
+        return userRepository.getReferenceById(assigneeId);
+    }
+
+    private void scheduleReminder(Chore chore) {
+        Long choreId = chore.getId();
+        LocalDate dueDate = chore.getDueDate();
+        boolean completed = chore.isCompleted();
+        TransactionCallbacks.afterCommit(() -> reminderScheduler.choreChanged(choreId, dueDate, completed));
+    }
+}
@@ -0,0 +1,195 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.chorecircle.chorecircle_backend.dto.HistoryEntry;
+import com.chorecircle.chorecircle_backend.dto.LeaderboardEntry;
+
+// Per-member completion counts of each workspace by week, month and all time, kept in
+// completion_counters so a leaderboard reads one row per member instead of aggregating chore_history.
+// ChoreHistoryWriter calls record in the transaction that inserts the history rows, so the counters
+// never disagree with the history; a writer batch is summed first, so many completions by the same
+// member become a single upsert. rebuild recomputes the counters from chore_history for repair; since
+// expired partitions are dropped, it only touches periods the remaining history fully covers.
+@Service
+@Transactional
+public class CompletionStatsService {
+
+    private static final LocalDate ALL_TIME = LocalDate.of(1970, 1, 1);
+    private static final int MAX_LIMIT = 100;
+
+    public enum Period {
+        WEEK("W"), MONTH("M"), ALL("A");
+
+        private final String code;
+
+        Period(String code) {
+            this.code = code;
+        }
+
+        public static Period parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("period must be one of week, month, all");
+            }
+        }
+    }
+
+    record Key(long workspaceId, Period period, LocalDate periodStart, long userId) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            int result = Long.compare(workspaceId, other.workspaceId);
+            if (result == 0) {
+                result = period.compareTo(other.period);
+            }
+            if (result == 0) {
+                result = periodStart.compareTo(other.periodStart);
+            }
+            return result != 0 ? result : Long.compare(userId, other.userId);
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final MembershipIndex membershipIndex;
+
+    public CompletionStatsService(DataSource dataSource, MembershipIndex membershipIndex) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.membershipIndex = membershipIndex;
+    }
+
+    // Adds a batch of newly written history rows to the counters; joins the caller's transaction
+    void record(List<HistoryEntry> entries) {
+        Map<Key, Integer> deltas = deltas(entries);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        // Sorted keys lock counter rows in the same order on every instance, so concurrent flushes cannot deadlock
+        MapSqlParameterSource[] rows = deltas.entrySet().stream()
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("workspaceId", delta.getKey().workspaceId())
+                        .addValue("period", delta.getKey().period().code)
+                        .addValue("periodStart", Date.valueOf(delta.getKey().periodStart()))
+                        .addValue("userId", delta.getKey().userId())
+                        .addValue("completions", delta.getValue()))
+                .toArray(MapSqlParameterSource[]::new);
+        jdbc.batchUpdate("INSERT INTO completion_counters (workspace_id, period, period_start, user_id, completions) "
+                + "VALUES (:workspaceId, :period, :periodStart, :userId, :completions) "
+                + "ON CONFLICT (workspace_id, period, period_start, user_id) "
+                + "DO UPDATE SET completions = completion_counters.completions + EXCLUDED.completions", rows);
+    }
+
+    // Top members of a workspace for the period containing the given day, most completions first.
+    // Members without completions are included with 0 so the board shows who has not helped yet.
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntry> leaderboard(Long workspaceId, Long callerId, Period period, LocalDate day, int limit) {
+        if (workspaceId == null || !membershipIndex.isMember(workspaceId, callerId)) {
+            throw new RuntimeException("Not a member of workspace: " + workspaceId);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("workspaceId", workspaceId)
+                .addValue("period", period.code)
+                .addValue("periodStart", Date.valueOf(periodStart(period, day)))
+                .addValue("limit", Math.max(1, Math.min(limit, MAX_LIMIT)));
+        List<LeaderboardEntry> board = new ArrayList<>();
+        jdbc.query("SELECT m.user_id, u.username, COALESCE(c.completions, 0) AS completions "
+                + "FROM workspace_members m JOIN users u ON u.id = m.user_id "
+                + "LEFT JOIN completion_counters c ON c.workspace_id = m.workspace_id AND c.period = :period "
+                + "AND c.period_start = :periodStart AND c.user_id = m.user_id "
+                + "WHERE m.workspace_id = :workspaceId "
+                + "ORDER BY completions DESC, u.username LIMIT :limit", params, rs -> {
+                    int completions = rs.getInt(3);
+                    LeaderboardEntry previous = board.isEmpty() ? null : board.get(board.size() - 1);
+                    int rank = previous != null && previous.completions() == completions
+                            ? previous.rank() : board.size() + 1;
+                    board.add(new LeaderboardEntry(rank, rs.getLong(1), rs.getString(2), completions));
+                });
+        return board;
+    }
+
+    // Recomputes the counters of one workspace (or all when null) from chore_history. Only weeks and months
+    // that start on or after the oldest remaining partition are recomputed; older ones are left alone, since
+    // their history may have been dropped. The all-time counter is never recounted from history: it is
+    // moved by the difference between the old and recomputed months. The table lock makes history writer
+    // flushes wait, so no completion is counted twice or lost during the rebuild.
+    public int rebuild(Long workspaceId) {
+        LocalDate since = jdbc.getJdbcTemplate().queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'chore_history'::regclass", String.class)
+                .stream()
+                .map(ChoreHistoryService::partitionMonth)
+                .filter(Objects::nonNull)
+                .min(LocalDate::compareTo)
+                .orElse(null);
+        if (since == null) {
+            return 0;
+        }
+        LocalDate weekSince = since.with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        MapSqlParameterSource params = new MapSqlParameterSource("workspaceId", workspaceId)
+                .addValue("since", Date.valueOf(since))
+                .addValue("weekSince", Date.valueOf(weekSince));
+        String filter = workspaceId != null ? "workspace_id = :workspaceId" : "workspace_id IS NOT NULL";
+        String months = " FROM completion_counters WHERE " + filter
+                + " AND period = 'M' AND period_start >= :since GROUP BY workspace_id, user_id";
+        jdbc.getJdbcTemplate().execute("LOCK TABLE completion_counters IN EXCLUSIVE MODE");
+
+        jdbc.update("UPDATE completion_counters a SET completions = a.completions - m.total "
+                + "FROM (SELECT workspace_id, user_id, sum(completions) AS total" + months + ") m "
+                + "WHERE a.workspace_id = m.workspace_id AND a.user_id = m.user_id "
+                + "AND a.period = 'A' AND a.period_start = DATE '1970-01-01'", params);
+        jdbc.update("DELETE FROM completion_counters WHERE " + filter
+                + " AND ((period = 'W' AND period_start >= :weekSince) OR (period = 'M' AND period_start >= :since))", params);
+        String source = " FROM chore_history WHERE " + filter + " AND performed_by_id IS NOT NULL AND performed_at >= ";
+        int counters = jdbc.update("INSERT INTO completion_counters (workspace_id, period, period_start, user_id, completions) "
+                + "SELECT workspace_id, 'W', date_trunc('week', performed_at)::date, performed_by_id, count(*)"
+                + source + ":weekSince GROUP BY 1, 2, 3, 4"
+                + " UNION ALL SELECT workspace_id, 'M', date_trunc('month', performed_at)::date, performed_by_id, count(*)"
+                + source + ":since GROUP BY 1, 2, 3, 4", params);
+        counters += jdbc.update("INSERT INTO completion_counters (workspace_id, period, period_start, user_id, completions) "
+                + "SELECT workspace_id, 'A', DATE '1970-01-01', user_id, sum(completions)" + months + " "
+                + "ON CONFLICT (workspace_id, period, period_start, user_id) "
+                + "DO UPDATE SET completions = completion_counters.completions + EXCLUDED.completions", params);
+        jdbc.update("DELETE FROM completion_counters WHERE " + filter + " AND period = 'A' AND completions = 0", params);
+        return counters;
+    }
+
+    static Map<Key, Integer> deltas(List<HistoryEntry> entries) {
+        Map<Key, Integer> deltas = new TreeMap<>();
+        for (HistoryEntry entry : entries) {
+            if (entry.workspaceId() == null || entry.performedById() == null) {
+                continue;
+            }
+            LocalDate day = entry.performedAt().toLocalDate();
+            for (Period period : Period.values()) {
+                Key key = new Key(entry.workspaceId(), period, periodStart(period, day), entry.performedById());
+                deltas.merge(key, 1, Integer::sum);
+            }
+        }
+        return deltas;
+    }
+
+    // Matches date_trunc: weeks start on Monday
+    public static LocalDate periodStart(Period period, LocalDate day) {
+        return switch (period) {
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+            case ALL -> ALL_TIME;
+        };
+    }
+}
@@ -0,0 +1,196 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.chorecircle.chorecircle_backend.dto.ChoreSummary;
+import com.chorecircle.chorecircle_backend.dto.Dashboard;
+import com.chorecircle.chorecircle_backend.dto.HistoryEntry;
+import com.chorecircle.chorecircle_backend.dto.PingEvent;
+
+// Builds a workspace board with a fixed number of queries: one for the workspace row (which yields
+// the board_version for the ETag), then members, open chores, recent history and recent pings, each
+// a single query run concurrently on its own virtual thread and read-only transaction. The four run
+// in a scope that is closed before load returns, so none outlives the request, and the first
+// failure or the timeout cancels the others.
+// Every part query reads board_version in the same statement as its rows, so each part is at least
+// as new as the version it saw; the smallest version seen is the one the board is reported at.
+// A concurrent change then only costs the client one more full fetch, never a stale 304.
+@Service
+public class DashboardService {
+
+    private static final String VERSION = "WITH v AS (SELECT board_version FROM workspaces WHERE id = :workspaceId) ";
+
+    public record Header(Long workspaceId, String name, String rotationStrategy, LocalTime quietStart,
+                         LocalTime quietEnd, long version) {
+    }
+
+    private record Part<T>(long version, List<T> rows) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MembershipIndex membershipIndex;
+    private final int openChoresLimit;
+    private final int recentLimit;
+    private final Duration recentWindow;
+    private final Duration timeout;
+
+    public DashboardService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                            MembershipIndex membershipIndex,
+                            @Value("${app.dashboard.open-chores-limit:200}") int openChoresLimit,
+                            @Value("${app.dashboard.recent-limit:50}") int recentLimit,
+                            @Value("${app.dashboard.recent-window:14d}") Duration recentWindow,
+                            @Value("${app.dashboard.timeout:5s}") Duration timeout) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.membershipIndex = membershipIndex;
+        this.openChoresLimit = openChoresLimit;
+        this.recentLimit = recentLimit;
+        this.recentWindow = recentWindow;
+        this.timeout = timeout;
+    }
+
+    // The workspace row if the caller is a member; reads no chore tables, so revalidating a cached board is cheap
+    public Header header(Long workspaceId, Long callerId) {
+        if (!membershipIndex.isMember(workspaceId, callerId)) {
+            throw new RuntimeException("Not a member of workspace: " + workspaceId);
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("workspaceId", workspaceId);
+        List<Header> headers = readOnlyTransaction.execute(status -> jdbc.query(
+                "SELECT id, name, rotation_strategy, quiet_start, quiet_end, board_version FROM workspaces "
+                        + "WHERE id = :workspaceId", params,
+                (rs, rowNum) -> new Header(rs.getLong(1), rs.getString(2), rs.getString(3),
+                        rs.getObject(4, LocalTime.class), rs.getObject(5, LocalTime.class), rs.getLong(6))));
+        if (headers == null || headers.isEmpty()) {
+            throw new RuntimeException("Workspace not found: " + workspaceId);
+        }
+        return headers.get(0);
+    }
+
+    public Dashboard load(Header header) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("workspaceId", header.workspaceId())
+                .addValue("openLimit", openChoresLimit)
+                .addValue("recentLimit", recentLimit)
+                .addValue("since", Timestamp.valueOf(LocalDateTime.now().minus(recentWindow)));
+        long deadline = System.nanoTime() + timeout.toNanos();
+        // Subtasks carry the caller's security context so the replica routing still sends them to the
+        // primary right after the caller's own writes
+        try (ExecutorService scope = new DelegatingSecurityContextExecutorService(
+                Executors.newVirtualThreadPerTaskExecutor())) {
+            Future<Part<Dashboard.Member>> members = scope.submit(() -> part(VERSION
+                    + "SELECT v.board_version, u.id, u.username FROM v LEFT JOIN "
+                    + "(workspace_members m JOIN users u ON u.id = m.user_id) ON m.workspace_id = :workspaceId "
+                    + "ORDER BY u.username", params,
+                    (rs, rowNum) -> new Dashboard.Member(rs.getLong(2), rs.getString(3))));
+            Future<Part<ChoreSummary>> openChores = scope.submit(() -> part(VERSION
+                    + "SELECT v.board_version, c.id, c.title, c.description, c.assigned_to_id, c.due_date, "
+                    + "c.recurrence_frequency, c.recurrence_interval, c.recurrence_weekdays, c.recurrence_start, "
+                    + "c.recurrence_until, c.recurrence_next FROM v "
+                    + "LEFT JOIN LATERAL (SELECT id, title, description, assigned_to_id, due_date, recurrence_frequency, "
+                    + "recurrence_interval, recurrence_weekdays, recurrence_start, recurrence_until, recurrence_next "
+                    + "FROM chores "
+                    + "WHERE workspace_id = :workspaceId AND NOT completed "
+                    + "ORDER BY due_date NULLS LAST, id LIMIT :openLimit) c ON true", params,
+                    (rs, rowNum) -> {
+                        Date due = rs.getDate(6);
+                        ChoreSummary.Recurrence recurrence = ChoreSummary.Recurrence.of(rs.getString(7),
+                                rs.getObject(8, Integer.class), rs.getObject(9, Integer.class),
+                                rs.getObject(10, LocalDate.class), rs.getObject(11, LocalDate.class),
+                                rs.getObject(12, LocalDate.class));
+                        return new ChoreSummary(rs.getLong(2), header.workspaceId(), rs.getString(3), rs.getString(4),
+                                rs.getObject(5, Long.class), due != null ? due.toLocalDate() : null, false, recurrence);
+                    }));
+            Future<Part<HistoryEntry>> recentHistory = scope.submit(() -> part(VERSION
+                    + "SELECT v.board_version, h.id, h.chore_id, h.performed_by_id, h.performed_at, h.note, "
+                    + "h.occurrence_date FROM v LEFT JOIN LATERAL (SELECT id, chore_id, performed_by_id, performed_at, "
+                    + "note, occurrence_date FROM chore_history "
+                    + "WHERE workspace_id = :workspaceId AND performed_at >= :since "
+                    + "ORDER BY performed_at DESC, id DESC LIMIT :recentLimit) h ON true", params,
+                    (rs, rowNum) -> new HistoryEntry(rs.getLong(2), rs.getLong(3), header.workspaceId(),
+                            rs.getObject(4, Long.class), rs.getTimestamp(5).toLocalDateTime(), rs.getString(6),
+                            rs.getObject(7, LocalDate.class))));
+            Future<Part<PingEvent>> recentPings = scope.submit(() -> part(VERSION
+                    + "SELECT v.board_version, p.id, p.chore_id, p.target_user_id, p.sent_by_id, p.sent_at, p.message "
+                    + "FROM v LEFT JOIN LATERAL (SELECT p.id, p.chore_id, p.target_user_id, p.sent_by_id, p.sent_at, "
+                    + "p.message FROM pings p JOIN chores c ON c.id = p.chore_id "
+                    + "WHERE c.workspace_id = :workspaceId AND p.sent_at >= :since "
+                    + "ORDER BY p.sent_at DESC, p.id DESC LIMIT :recentLimit) p ON true", params,
+                    (rs, rowNum) -> new PingEvent(rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                            rs.getObject(5, Long.class), rs.getTimestamp(6).toLocalDateTime(), rs.getString(7))));
+            try {
+                Part<Dashboard.Member> memberPart = join(members, deadline);
+                Part<ChoreSummary> chorePart = join(openChores, deadline);
+                Part<HistoryEntry> historyPart = join(recentHistory, deadline);
+                Part<PingEvent> pingPart = join(recentPings, deadline);
+                long version = Math.min(Math.min(header.version(), memberPart.version()),
+                        Math.min(Math.min(chorePart.version(), historyPart.version()), pingPart.version()));
+                return new Dashboard(header.workspaceId(), header.name(), header.rotationStrategy(),
+                        header.quietStart(), header.quietEnd(), version, memberPart.rows(), chorePart.rows(), historyPart.rows(), pingPart.rows());
+            } catch (RuntimeException ex) {
+                scope.shutdownNow();
+                throw ex;
+            }
+        }
+    }
+
+    public static String etag(Long workspaceId, long version) {
+        return "\"" + workspaceId + "-" + version + "\"";
+    }
+
+    // Column 1 is board_version; a row whose column 2 is null is the placeholder for an empty part
+    private <T> Part<T> part(String sql, MapSqlParameterSource params, RowMapper<T> mapper) {
+        return readOnlyTransaction.execute(status -> {
+            long[] version = {-1};
+            List<T> rows = new ArrayList<>();
+            jdbc.query(sql, params, rs -> {
+                version[0] = rs.getLong(1);
+                if (rs.getObject(2) != null) {
+                    rows.add(mapper.mapRow(rs, rows.size()));
+                }
+            });
+            if (version[0] < 0) {
+                throw new RuntimeException("Workspace not found: " + params.getValue("workspaceId"));
+            }
+            return new Part<>(version[0], rows);
+        });
+    }
+
+    private static <T> T join(Future<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            throw ex.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new RuntimeException("Dashboard took too long to load");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading the dashboard");
+        }
+    }
+}
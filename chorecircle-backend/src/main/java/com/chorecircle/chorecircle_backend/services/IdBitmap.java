@@ -0,0 +1,278 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// Immutable compressed set of non-negative int ids in the style of a Roaring bitmap. Ids are split
+// into a 16-bit high part, which selects a container, and a 16-bit low part stored in it. A sparse
+// container is a sorted char array (2 bytes per id); past ARRAY_MAX ids it becomes a 65536-bit
+// bitset (8 KB), whichever is smaller. Lookups are a binary search over the few high keys and then
+// either a binary search in at most ARRAY_MAX chars or a single bit test.
+// with and without return a new bitmap that shares every container except the one they change,
+// so readers never need a lock and updates copy at most one container.
+final class IdBitmap {
+
+    static final int ARRAY_MAX = 4096;
+    private static final int BITSET_WORDS = 1 << 10;
+
+    static final IdBitmap EMPTY = new IdBitmap(new char[0], new Object[0], 0);
+
+    // keys[i] is the high 16 bits of every id in containers[i]; each container is a char[] or a Bitset
+    private final char[] keys;
+    private final Object[] containers;
+    private final int cardinality;
+
+    private record Bitset(long[] words, int cardinality) {
+    }
+
+    private IdBitmap(char[] keys, Object[] containers, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    static IdBitmap of(int... ids) {
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        Builder builder = new Builder();
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                builder.add(sorted[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    boolean contains(int id) {
+        if (id < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, (char) (id >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        Object container = containers[index];
+        char low = (char) id;
+        if (container instanceof Bitset bitset) {
+            return (bitset.words()[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, low) >= 0;
+    }
+
+    IdBitmap with(int id) {
+        checkId(id);
+        if (contains(id)) {
+            return this;
+        }
+        char high = (char) (id >>> 16);
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, high);
+        if (index < 0) {
+            int insert = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Object[] newContainers = new Object[containers.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insert);
+            System.arraycopy(containers, 0, newContainers, 0, insert);
+            newKeys[insert] = high;
+            newContainers[insert] = new char[] {low};
+            System.arraycopy(keys, insert, newKeys, insert + 1, keys.length - insert);
+            System.arraycopy(containers, insert, newContainers, insert + 1, containers.length - insert);
+            return new IdBitmap(newKeys, newContainers, cardinality + 1);
+        }
+        Object[] newContainers = containers.clone();
+        if (containers[index] instanceof Bitset bitset) {
+            long[] words = bitset.words().clone();
+            words[low >>> 6] |= 1L << low;
+            newContainers[index] = new Bitset(words, bitset.cardinality() + 1);
+        } else {
+            char[] values = (char[]) containers[index];
+            int insert = -Arrays.binarySearch(values, low) - 1;
+            if (values.length < ARRAY_MAX) {
+                char[] grown = new char[values.length + 1];
+                System.arraycopy(values, 0, grown, 0, insert);
+                grown[insert] = low;
+                System.arraycopy(values, insert, grown, insert + 1, values.length - insert);
+                newContainers[index] = grown;
+            } else {
+                long[] words = toWords(values);
+                words[low >>> 6] |= 1L << low;
+                newContainers[index] = new Bitset(words, values.length + 1);
+            }
+        }
+        return new IdBitmap(keys, newContainers, cardinality + 1);
+    }
+
+    IdBitmap without(int id) {
+        if (!contains(id)) {
+            return this;
+        }
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, (char) (id >>> 16));
+        Object replacement;
+        if (containers[index] instanceof Bitset bitset) {
+            long[] words = bitset.words().clone();
+            words[low >>> 6] &= ~(1L << low);
+            int remaining = bitset.cardinality() - 1;
+            replacement = remaining > ARRAY_MAX ? new Bitset(words, remaining) : toValues(words, remaining);
+        } else {
+            char[] values = (char[]) containers[index];
+            int remove = Arrays.binarySearch(values, low);
+            char[] shrunk = new char[values.length - 1];
+            System.arraycopy(values, 0, shrunk, 0, remove);
+            System.arraycopy(values, remove + 1, shrunk, remove, values.length - remove - 1);
+            replacement = shrunk.length > 0 ? shrunk : null;
+        }
+        if (replacement != null) {
+            Object[] newContainers = containers.clone();
+            newContainers[index] = replacement;
+            return new IdBitmap(keys, newContainers, cardinality - 1);
+        }
+        if (cardinality == 1) {
+            return EMPTY;
+        }
+        char[] newKeys = new char[keys.length - 1];
+        Object[] newContainers = new Object[containers.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(containers, 0, newContainers, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, keys.length - index - 1);
+        System.arraycopy(containers, index + 1, newContainers, index, containers.length - index - 1);
+        return new IdBitmap(newKeys, newContainers, cardinality - 1);
+    }
+
+    int cardinality() {
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    // Visits the ids in ascending order
+    void forEach(IntConsumer action) {
+        for (int i = 0; i < keys.length; i++) {
+            int high = keys[i] << 16;
+            if (containers[i] instanceof Bitset bitset) {
+                long[] words = bitset.words();
+                for (int w = 0; w < words.length; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        action.accept(high | ((w << 6) + Long.numberOfTrailingZeros(word)));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                for (char low : (char[]) containers[i]) {
+                    action.accept(high | low);
+                }
+            }
+        }
+    }
+
+    int[] toArray() {
+        int[] ids = new int[cardinality];
+        int[] next = {0};
+        forEach(id -> ids[next[0]++] = id);
+        return ids;
+    }
+
+    private static void checkId(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Negative id: " + id);
+        }
+    }
+
+    private static long[] toWords(char[] values) {
+        long[] words = new long[BITSET_WORDS];
+        for (char value : values) {
+            words[value >>> 6] |= 1L << value;
+        }
+        return words;
+    }
+
+    private static char[] toValues(long[] words, int cardinality) {
+        char[] values = new char[cardinality];
+        int next = 0;
+        for (int w = 0; w < words.length; w++) {
+            long word = words[w];
+            while (word != 0) {
+                values[next++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return values;
+    }
+
+    // Builds a bitmap from ids given in strictly ascending order, without the per-id copying of with
+    static final class Builder {
+
+        private char[] keys = new char[4];
+        private Object[] containers = new Object[4];
+        private int size;
+        private char[] values = new char[16];
+        private int valueCount;
+        private long[] words;
+        private int cardinality;
+        private int last = -1;
+
+        Builder add(int id) {
+            checkId(id);
+            if (id <= last) {
+                throw new IllegalArgumentException("Ids must be added in ascending order: " + id + " after " + last);
+            }
+            char high = (char) (id >>> 16);
+            if (last < 0 || (char) (last >>> 16) != high) {
+                if (last >= 0) {
+                    seal();
+                }
+                open(high);
+            }
+            char low = (char) id;
+            if (words != null) {
+                words[low >>> 6] |= 1L << low;
+            } else if (valueCount < ARRAY_MAX) {
+                if (valueCount == values.length) {
+                    values = Arrays.copyOf(values, Math.min(ARRAY_MAX, values.length * 2));
+                }
+                values[valueCount] = low;
+            } else {
+                words = toWords(Arrays.copyOf(values, valueCount));
+                words[low >>> 6] |= 1L << low;
+            }
+            valueCount++;
+            cardinality++;
+            last = id;
+            return this;
+        }
+
+        IdBitmap build() {
+            if (last >= 0) {
+                seal();
+            }
+            IdBitmap bitmap = cardinality == 0 ? EMPTY
+                    : new IdBitmap(Arrays.copyOf(keys, size), Arrays.copyOf(containers, size), cardinality);
+            keys = new char[4];
+            containers = new Object[4];
+            size = 0;
+            cardinality = 0;
+            last = -1;
+            return bitmap;
+        }
+
+        private void open(char high) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                containers = Arrays.copyOf(containers, size * 2);
+            }
+            keys[size++] = high;
+            valueCount = 0;
+            words = null;
+        }
+
+        // Stores the container being filled into the last key's slot
+        private void seal() {
+            containers[size - 1] = words != null ? new Bitset(words, valueCount) : Arrays.copyOf(values, valueCount);
+            words = null;
+            valueCount = 0;
+        }
+    }
+}
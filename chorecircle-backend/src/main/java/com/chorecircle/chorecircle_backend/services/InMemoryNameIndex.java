@@ -0,0 +1,96 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import com.chorecircle.chorecircle_backend.dto.SearchHit;
+
+// Sorted in-memory index of names, used when the database has no pg_trgm support.
+// Prefix lookups are a range scan of the sorted keys; substring search scans all names,
+// which is fine for test data and small installations.
+final class InMemoryNameIndex {
+
+    // Same order as the SQL queries: exact match, then prefix, then closeness, then name
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparingInt(Candidate::matchClass).reversed()
+            .thenComparing(Comparator.comparingDouble((Candidate candidate) -> candidate.hit().score()).reversed())
+            .thenComparing(Candidate::lowerName);
+
+    // key: lower-cased name + '\0' + id, so equal names with different ids stay distinct
+    private final ConcurrentSkipListMap<String, SearchHit> byKey = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keyById = new ConcurrentHashMap<>();
+
+    void put(Long id, String name) {
+        String key = name.toLowerCase(Locale.ROOT) + '\0' + id;
+        String previous = keyById.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            byKey.remove(previous);
+        }
+        byKey.put(key, new SearchHit(id, name, 0));
+    }
+
+    void remove(Long id) {
+        String key = keyById.remove(id);
+        if (key != null) {
+            byKey.remove(key);
+        }
+    }
+
+    void clear() {
+        byKey.clear();
+        keyById.clear();
+    }
+
+    int size() {
+        return keyById.size();
+    }
+
+    List<SearchHit> prefix(String normalizedPrefix, int limit) {
+        List<SearchHit> hits = new ArrayList<>(limit);
+        for (SearchHit entry : byKey.subMap(normalizedPrefix, true, normalizedPrefix + Character.MAX_VALUE, false)
+                .values()) {
+            if (hits.size() == limit) {
+                break;
+            }
+            hits.add(new SearchHit(entry.id(), entry.name(), 1.0));
+        }
+        return hits;
+    }
+
+    List<SearchHit> search(String normalizedQuery, int limit) {
+        // Bounded heap keeps the best `limit` matches without sorting every hit
+        PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (Map.Entry<String, SearchHit> entry : byKey.entrySet()) {
+            String key = entry.getKey();
+            String lower = key.substring(0, key.lastIndexOf('\0'));
+            int position = lower.indexOf(normalizedQuery);
+            if (position < 0) {
+                continue;
+            }
+            int matchClass = lower.equals(normalizedQuery) ? 2 : position == 0 ? 1 : 0;
+            SearchHit hit = new SearchHit(entry.getValue().id(), entry.getValue().name(),
+                    closeness(normalizedQuery, lower));
+            best.add(new Candidate(hit, matchClass, lower));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Candidate> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+        return ranked.stream().map(Candidate::hit).toList();
+    }
+
+    // Fraction of the name covered by the query, standing in for trigram similarity
+    private static double closeness(String query, String name) {
+        return name.isEmpty() ? 0 : (double) query.length() / name.length();
+    }
+
+    private record Candidate(SearchHit hit, int matchClass, String lowerName) {
+    }
+}
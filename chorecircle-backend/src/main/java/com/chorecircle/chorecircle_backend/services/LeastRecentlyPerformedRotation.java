@@ -0,0 +1,43 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+// Each chore goes to the member who has gone longest without doing it (never beats any date).
+// Ties go to the member with fewer chores so far in this pass, then to the current assignee so a
+// repeated run changes nothing, then to the lowest member id.
+@Component
+public class LeastRecentlyPerformedRotation implements RotationStrategy {
+
+    @Override
+    public String name() {
+        return "least-recent";
+    }
+
+    @Override
+    public boolean needsHistory() {
+        return true;
+    }
+
+    @Override
+    public Map<Long, Long> assign(WorkspaceRotation workspace) {
+        Map<Long, Integer> load = new HashMap<>();
+        Map<Long, Long> assignments = new HashMap<>();
+        workspace.chores().stream().sorted(WorkspaceRotation.BY_DUE_DATE).forEach(chore -> {
+            Comparator<Long> order = Comparator
+                    .comparing((Long member) -> workspace.lastPerformed(chore.id(), member),
+                            Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+                    .thenComparingInt(member -> load.getOrDefault(member, 0))
+                    .thenComparingInt(member -> member.equals(chore.assigneeId()) ? 0 : 1)
+                    .thenComparingLong(Long::longValue);
+            Long chosen = workspace.memberIds().stream().min(order).orElseThrow();
+            load.merge(chosen, 1, Integer::sum);
+            assignments.put(chore.id(), chosen);
+        });
+        return assignments;
+    }
+}
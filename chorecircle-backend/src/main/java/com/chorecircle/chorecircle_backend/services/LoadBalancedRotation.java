@@ -0,0 +1,34 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+// Spreads pending chores so every member carries the same number, handing out the most urgent
+// chores first. Ties keep the current assignee, so a repeated run changes nothing.
+@Component
+public class LoadBalancedRotation implements RotationStrategy {
+
+    @Override
+    public String name() {
+        return "least-loaded";
+    }
+
+    @Override
+    public Map<Long, Long> assign(WorkspaceRotation workspace) {
+        Map<Long, Integer> load = new HashMap<>();
+        Map<Long, Long> assignments = new HashMap<>();
+        workspace.chores().stream().sorted(WorkspaceRotation.BY_DUE_DATE).forEach(chore -> {
+            Comparator<Long> order = Comparator
+                    .comparingInt((Long member) -> load.getOrDefault(member, 0))
+                    .thenComparingInt(member -> member.equals(chore.assigneeId()) ? 0 : 1)
+                    .thenComparingLong(Long::longValue);
+            Long chosen = workspace.memberIds().stream().min(order).orElseThrow();
+            load.merge(chosen, 1, Integer::sum);
+            assignments.put(chore.id(), chosen);
+        });
+        return assignments;
+    }
+}
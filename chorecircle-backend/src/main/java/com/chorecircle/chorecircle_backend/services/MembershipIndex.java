@@ -0,0 +1,206 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.chorecircle.chorecircle_backend.repositories.WorkspaceRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// In-memory workspace membership used by every chore, ping, history and stats authorization check.
+// Each workspace's member ids and each user's workspace ids are held as an IdBitmap, so a check is
+// two hash lookups and a bitmap probe, with no database access, however large the workspace.
+// The index is built from workspace_members once the application is ready and then follows the
+// workspace_member_changes log (filled by trigger, so changes from any instance or tool are seen),
+// every app.membership.refresh-interval: each (workspace, user) pair with an entry logged by a transaction
+// that had not committed when the previous refresh took its snapshot (xid at or above that snapshot's
+// xmin, V13) is re-read from workspace_members, so a long-running transaction's changes are not missed.
+// The entries are not replayed as add/remove in order, because xids are assigned at a transaction's
+// first write rather than at commit, and a remove can drop out of the window before an earlier add does.
+// A change therefore takes effect within one interval of its commit. Until a load completes, or after an
+// id that does not fit the bitmaps, checks fall back to the database and the index is rebuilt every
+// app.membership.rebuild-interval.
+@Service
+public class MembershipIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(MembershipIndex.class);
+    private static final int FETCH_SIZE = 5000;
+    private static final String SNAPSHOT_XMIN = "SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    private final JdbcTemplate jdbc;
+    private final JdbcTemplate cursorJdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkspaceRepository workspaceRepository;
+    private final Duration changeRetention;
+    private final Duration rebuildInterval;
+    private final Map<Long, IdBitmap> membersByWorkspace = new ConcurrentHashMap<>();
+    private final Map<Long, IdBitmap> workspacesByUser = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private Long snapshotXmin;
+    private long nextRebuild;
+
+    public MembershipIndex(DataSource dataSource, PlatformTransactionManager transactionManager,
+                           WorkspaceRepository workspaceRepository, MeterRegistry meterRegistry,
+                           @Value("${app.membership.change-retention:1d}") Duration changeRetention,
+                           @Value("${app.membership.rebuild-interval:1m}") Duration rebuildInterval) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.cursorJdbc = new JdbcTemplate(dataSource);
+        this.cursorJdbc.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workspaceRepository = workspaceRepository;
+        this.changeRetention = changeRetention;
+        this.rebuildInterval = rebuildInterval;
+        this.nextRebuild = System.nanoTime() + rebuildInterval.toNanos();
+        Gauge.builder("chorecircle.membership.workspaces", membersByWorkspace, Map::size).register(meterRegistry);
+    }
+
+    public boolean isMember(Long workspaceId, Long userId) {
+        if (workspaceId == null || userId == null) {
+            return false;
+        }
+        if (!loaded || !fits(workspaceId) || !fits(userId)) {
+            return workspaceRepository.isMember(workspaceId, userId);
+        }
+        IdBitmap members = membersByWorkspace.get(workspaceId);
+        return members != null && members.contains(userId.intValue());
+    }
+
+    // Ids of the user's workspaces, ascending
+    public long[] workspacesOf(Long userId) {
+        if (userId == null) {
+            return new long[0];
+        }
+        if (!loaded || !fits(userId)) {
+            return jdbc.queryForList("SELECT workspace_id FROM workspace_members WHERE user_id = ? ORDER BY workspace_id",
+                    Long.class, userId).stream().mapToLong(Long::longValue).toArray();
+        }
+        IdBitmap workspaces = workspacesByUser.getOrDefault(userId, IdBitmap.EMPTY);
+        long[] ids = new long[workspaces.cardinality()];
+        int[] next = {0};
+        workspaces.forEach(id -> ids[next[0]++] = id);
+        return ids;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long started = System.nanoTime();
+        nextRebuild = started + rebuildInterval.toNanos();
+        try {
+            Map<Long, IdBitmap> members = new HashMap<>();
+            Map<Long, IdBitmap.Builder> byUser = new HashMap<>();
+            Long loadedXmin = transactionTemplate.execute(status -> {
+                // Taken before the scan, so pairs whose changes the scan misses are re-read by the first refresh
+                Long xmin = jdbc.queryForObject(SNAPSHOT_XMIN, Long.class);
+                IdBitmap.Builder builder = new IdBitmap.Builder();
+                long[] current = {-1};
+                // Rows arrive by workspace, so each workspace's users and each user's workspaces ascend
+                cursorJdbc.query("SELECT workspace_id, user_id FROM workspace_members ORDER BY workspace_id, user_id", rs -> {
+                    long workspaceId = rs.getLong(1);
+                    long userId = rs.getLong(2);
+                    if (!fits(workspaceId) || !fits(userId)) {
+                        throw new IllegalStateException("Membership ids exceed the index range: " + workspaceId + "/" + userId);
+                    }
+                    if (workspaceId != current[0]) {
+                        if (current[0] >= 0) {
+                            members.put(current[0], builder.build());
+                        }
+                        current[0] = workspaceId;
+                    }
+                    builder.add((int) userId);
+                    byUser.computeIfAbsent(userId, id -> new IdBitmap.Builder()).add((int) workspaceId);
+                });
+                if (current[0] >= 0) {
+                    members.put(current[0], builder.build());
+                }
+                return xmin;
+            });
+            membersByWorkspace.clear();
+            membersByWorkspace.putAll(members);
+            workspacesByUser.clear();
+            byUser.forEach((userId, builder) -> workspacesByUser.put(userId, builder.build()));
+            snapshotXmin = loadedXmin;
+            loaded = true;
+            logger.info("Loaded membership of {} workspace(s) and {} user(s) in {} ms", membersByWorkspace.size(),
+                    workspacesByUser.size(), Duration.ofNanos(System.nanoTime() - started).toMillis());
+            refresh();
+        } catch (Exception ex) {
+            logger.warn("Could not load the membership index, checks use the database: {}", ex.getMessage());
+        }
+    }
+
+    // Re-reads every membership pair with a change in the window; pairs are absolute (member or not), so
+    // re-reading one twice is harmless, and the single statement sees one consistent state of them all
+    @Scheduled(fixedDelayString = "${app.membership.refresh-interval:2s}")
+    public synchronized void refresh() {
+        if (!loaded) {
+            if (System.nanoTime() - nextRebuild >= 0) {
+                load();
+            }
+            return;
+        }
+        try {
+            Long xmin = jdbc.queryForObject(SNAPSHOT_XMIN, Long.class);
+            jdbc.query("SELECT c.workspace_id, c.user_id, EXISTS (SELECT 1 FROM workspace_members m "
+                            + "WHERE m.workspace_id = c.workspace_id AND m.user_id = c.user_id) "
+                            + "FROM (SELECT DISTINCT workspace_id, user_id FROM workspace_member_changes "
+                            + "WHERE xid >= ?::text::xid8) c",
+                    rs -> {
+                        apply(rs.getLong(1), rs.getLong(2), rs.getBoolean(3));
+                    },
+                    snapshotXmin);
+            if (loaded) {
+                snapshotXmin = xmin;
+            }
+        } catch (Exception ex) {
+            logger.warn("Could not refresh the membership index: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.membership.purge-interval:1h}")
+    public void purgeChanges() {
+        try {
+            jdbc.update("DELETE FROM workspace_member_changes WHERE changed_at < localtimestamp - ?::interval",
+                    changeRetention.toSeconds() + " seconds");
+        } catch (Exception ex) {
+            logger.warn("Could not purge membership changes: {}", ex.getMessage());
+        }
+    }
+
+    private void apply(long workspaceId, long userId, boolean added) {
+        if (!fits(workspaceId) || !fits(userId)) {
+            logger.warn("Membership ids exceed the index range, falling back to the database until a rebuild: {}/{}",
+                    workspaceId, userId);
+            loaded = false;
+            nextRebuild = System.nanoTime() + rebuildInterval.toNanos();
+            return;
+        }
+        membersByWorkspace.compute(workspaceId, (id, bitmap) -> update(bitmap, (int) userId, added));
+        workspacesByUser.compute(userId, (id, bitmap) -> update(bitmap, (int) workspaceId, added));
+    }
+
+    private static IdBitmap update(IdBitmap bitmap, int id, boolean added) {
+        IdBitmap current = bitmap != null ? bitmap : IdBitmap.EMPTY;
+        IdBitmap updated = added ? current.with(id) : current.without(id);
+        return updated.isEmpty() ? null : updated;
+    }
+
+    private static boolean fits(long id) {
+        return id >= 0 && id <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,237 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.chorecircle.chorecircle_backend.dto.PingEvent;
+import com.chorecircle.chorecircle_backend.repositories.PingRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Pushes pings to their target users over Server-Sent Events. Every open stream has its own
+// bounded PingInbox and a virtual thread that writes it to the connection, so a slow client only
+// ever holds up itself. Publishing (after the ping's transaction commits) fans out by target user
+// id and never blocks. A reconnecting client sends Last-Event-ID and first gets the pings it missed
+// from the pings table, limited to app.pings.replay-window and app.pings.replay-max.
+@Service
+public class PingHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(PingHub.class);
+    private static final int WRITE_BATCH = 64;
+
+    private final PingRepository pingRepository;
+    private final MeterRegistry meterRegistry;
+    private final int inboxCapacity;
+    private final int maxStreamsPerUser;
+    private final Duration replayWindow;
+    private final int replayMax;
+    private final Duration heartbeat;
+    private final Duration streamTimeout;
+    private final Map<Long, Set<Subscriber>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Counter deliveredCounter;
+    private final Counter droppedCounter;
+    private final Counter coalescedCounter;
+    private final Counter replayedCounter;
+
+    public PingHub(PingRepository pingRepository, MeterRegistry meterRegistry,
+                   @Value("${app.pings.inbox-capacity:256}") int inboxCapacity,
+                   @Value("${app.pings.max-streams-per-user:5}") int maxStreamsPerUser,
+                   @Value("${app.pings.replay-window:10m}") Duration replayWindow,
+                   @Value("${app.pings.replay-max:500}") int replayMax,
+                   @Value("${app.pings.heartbeat:20s}") Duration heartbeat,
+                   @Value("${app.pings.stream-timeout:30m}") Duration streamTimeout) {
+        this.pingRepository = pingRepository;
+        this.meterRegistry = meterRegistry;
+        this.inboxCapacity = inboxCapacity;
+        this.maxStreamsPerUser = Math.max(1, maxStreamsPerUser);
+        this.replayWindow = replayWindow;
+        this.replayMax = Math.max(0, replayMax);
+        this.heartbeat = heartbeat;
+        this.streamTimeout = streamTimeout;
+        this.deliveredCounter = Counter.builder("chorecircle.pings.delivered").register(meterRegistry);
+        this.droppedCounter = Counter.builder("chorecircle.pings.dropped").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("chorecircle.pings.coalesced").register(meterRegistry);
+        this.replayedCounter = Counter.builder("chorecircle.pings.replayed").register(meterRegistry);
+        Gauge.builder("chorecircle.pings.connections", connections, AtomicInteger::get).register(meterRegistry);
+    }
+
+    // Registered once the hub is fully built, since the gauge reads from it
+    @PostConstruct
+    void registerQueuedGauge() {
+        Gauge.builder("chorecircle.pings.queued", this, PingHub::queued).register(meterRegistry);
+    }
+
+    // Opens a stream for the user. lastEventId is the id of the last ping the client received, if any.
+    // Past app.pings.max-streams-per-user the user's oldest stream is closed.
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber stream = new Subscriber(userId, emitter, new PingInbox(inboxCapacity));
+        Set<Subscriber> userStreams = streams.compute(userId, (id, current) -> {
+            Set<Subscriber> set = current != null ? current : new CopyOnWriteArraySet<>();
+            set.add(stream);
+            return set;
+        });
+        connections.incrementAndGet();
+        if (userStreams.size() > maxStreamsPerUser) {
+            userStreams.stream().min((a, b) -> Long.compare(a.openedAt, b.openedAt)).ifPresent(Subscriber::close);
+        }
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(error -> stream.close());
+        // Registered before the replay query runs, so nothing published in between is lost
+        writers.execute(() -> stream.run(lastEventId));
+        return emitter;
+    }
+
+    // Called after the pings are committed
+    public void publish(Collection<PingEvent> events) {
+        for (PingEvent event : events) {
+            Set<Subscriber> targets = streams.get(event.targetUserId());
+            if (targets == null) {
+                continue;
+            }
+            for (Subscriber stream : targets) {
+                switch (stream.inbox.offer(event)) {
+                    case COALESCED -> coalescedCounter.increment();
+                    case DROPPED_OLDEST -> droppedCounter.increment();
+                    default -> {
+                    }
+                }
+            }
+        }
+    }
+
+    public int connections() {
+        return connections.get();
+    }
+
+    private int queued() {
+        int depth = 0;
+        for (Set<Subscriber> userStreams : streams.values()) {
+            for (Subscriber stream : userStreams) {
+                depth += stream.inbox.depth();
+            }
+        }
+        return depth;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streams.values().forEach(userStreams -> userStreams.forEach(Subscriber::close));
+        writers.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final PingInbox inbox;
+        private final long openedAt = System.nanoTime();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter, PingInbox inbox) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.inbox = inbox;
+        }
+
+        private void run(Long lastEventId) {
+            try {
+                long lastSent = replay(lastEventId);
+                while (!inbox.isClosed()) {
+                    List<PingEvent> events = inbox.take(WRITE_BATCH, heartbeat);
+                    int dropped = inbox.takeDropped();
+                    if (dropped > 0) {
+                        emitter.send(SseEmitter.event().name("dropped").data(Map.of("count", dropped)));
+                    }
+                    if (events.isEmpty()) {
+                        if (inbox.isClosed()) {
+                            break;
+                        }
+                        // Keeps proxies from timing out the connection and detects dead clients
+                        emitter.send(SseEmitter.event().comment("keepalive"));
+                        continue;
+                    }
+                    for (PingEvent event : events) {
+                        // Already sent by the replay
+                        if (event.id() <= lastSent) {
+                            continue;
+                        }
+                        send(event);
+                        lastSent = event.id();
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                logger.debug("Ping stream for user {} closed: {}", userId, ex.getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (Exception ex) {
+                logger.warn("Ping stream for user {} failed: {}", userId, ex.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        private long replay(Long lastEventId) throws IOException {
+            if (lastEventId == null || replayMax == 0) {
+                return 0;
+            }
+            long lastSent = lastEventId;
+            List<PingEvent> missed = pingRepository.findEventsSince(userId, LocalDateTime.now().minus(replayWindow),
+                    lastEventId, Limit.of(replayMax));
+            for (PingEvent event : missed) {
+                send(event);
+                lastSent = event.id();
+            }
+            replayedCounter.increment(missed.size());
+            return lastSent;
+        }
+
+        private void send(PingEvent event) throws IOException {
+            emitter.send(SseEmitter.event().id(String.valueOf(event.id())).name("ping").data(event));
+            deliveredCounter.increment();
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            inbox.close();
+            streams.computeIfPresent(userId, (id, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+            connections.decrementAndGet();
+            try {
+                emitter.complete();
+            } catch (Exception ex) {
+                // Already completed by the container
+            }
+        }
+    }
+}
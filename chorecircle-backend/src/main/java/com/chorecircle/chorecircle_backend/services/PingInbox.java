@@ -0,0 +1,140 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.chorecircle.chorecircle_backend.dto.PingEvent;
+
+// Bounded ring buffer of pings waiting to be written to one stream. A ping about a chore that
+// still has an undelivered ping from the same sender replaces it (coalesce); when the buffer is
+// full the oldest ping is dropped and counted, so the stream can tell the client it missed some.
+// Uses a ReentrantLock rather than synchronized so a waiting virtual thread does not pin its carrier.
+final class PingInbox {
+
+    enum Outcome { QUEUED, COALESCED, DROPPED_OLDEST, CLOSED }
+
+    private final PingEvent[] buffer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int head;
+    private int size;
+    private boolean closed;
+    private int dropped;
+
+    PingInbox(int capacity) {
+        this.buffer = new PingEvent[Math.max(1, capacity)];
+    }
+
+    Outcome offer(PingEvent event) {
+        lock.lock();
+        try {
+            if (closed) {
+                return Outcome.CLOSED;
+            }
+            Outcome outcome = Outcome.QUEUED;
+            // Keep ids ascending: the superseded ping is removed and the new one appended
+            int superseded = indexOfSameChore(event);
+            if (superseded >= 0) {
+                removeAt(superseded);
+                outcome = Outcome.COALESCED;
+            } else if (size == buffer.length) {
+                buffer[head] = null;
+                head = (head + 1) % buffer.length;
+                size--;
+                dropped++;
+                outcome = Outcome.DROPPED_OLDEST;
+            }
+            buffer[(head + size) % buffer.length] = event;
+            size++;
+            notEmpty.signal();
+            return outcome;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Waits up to timeout for pings; returns an empty list on timeout or once closed
+    List<PingEvent> take(int max, Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            long remaining = timeout.toNanos();
+            while (size == 0 && !closed && remaining > 0) {
+                remaining = notEmpty.awaitNanos(remaining);
+            }
+            int count = Math.min(max, size);
+            List<PingEvent> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                events.add(buffer[head]);
+                buffer[head] = null;
+                head = (head + 1) % buffer.length;
+            }
+            size -= count;
+            return events;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Pings dropped since the last call
+    int takeDropped() {
+        lock.lock();
+        try {
+            int count = dropped;
+            dropped = 0;
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int depth() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int indexOfSameChore(PingEvent event) {
+        for (int i = 0; i < size; i++) {
+            PingEvent queued = buffer[(head + i) % buffer.length];
+            if (Objects.equals(queued.choreId(), event.choreId()) && Objects.equals(queued.sentById(), event.sentById())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Shifts the pings after the removed one forward so the buffer stays contiguous
+    private void removeAt(int offset) {
+        for (int i = offset; i < size - 1; i++) {
+            buffer[(head + i) % buffer.length] = buffer[(head + i + 1) % buffer.length];
+        }
+        buffer[(head + size - 1) % buffer.length] = null;
+        size--;
+    }
+}
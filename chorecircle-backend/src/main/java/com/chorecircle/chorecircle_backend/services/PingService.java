@@ -0,0 +1,57 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.chorecircle.chorecircle_backend.dto.PingEvent;
+import com.chorecircle.chorecircle_backend.entities.Chore;
+import com.chorecircle.chorecircle_backend.entities.Ping;
+import com.chorecircle.chorecircle_backend.repositories.ChoreRepository;
+import com.chorecircle.chorecircle_backend.repositories.PingRepository;
+import com.chorecircle.chorecircle_backend.repositories.UserRepository;
+
+// Pings sent by members to the assignee of a chore; delivered live through PingHub
+@Service
+@Transactional
+public class PingService {
+
+    private static final int MESSAGE_LENGTH = 255;
+
+    private final PingRepository pingRepository;
+    private final ChoreRepository choreRepository;
+    private final MembershipIndex membershipIndex;
+    private final UserRepository userRepository;
+    private final PingHub pingHub;
+
+    public PingService(PingRepository pingRepository, ChoreRepository choreRepository,
+                       MembershipIndex membershipIndex, UserRepository userRepository, PingHub pingHub) {
+        this.pingRepository = pingRepository;
+        this.choreRepository = choreRepository;
+        this.membershipIndex = membershipIndex;
+        this.userRepository = userRepository;
+        this.pingHub = pingHub;
+    }
+
+    // Ping the assignee of a chore in one of the caller's workspaces
+    public PingEvent sendPing(Long choreId, Long callerId, String message) {
+        Chore chore = choreRepository.findById(choreId)
+                .orElseThrow(() -> new RuntimeException("Chore not found with id: " + choreId));
+        if (!membershipIndex.isMember(chore.getWorkspace().getId(), callerId)) {
+            throw new RuntimeException("Not a member of workspace: " + chore.getWorkspace().getId());
+        }
+        if (chore.getAssignedTo() == null) {
+            throw new RuntimeException("Chore has no assignee");
+        }
+        if (message != null && message.length() > MESSAGE_LENGTH) {
+            throw new RuntimeException("Message must be at most " + MESSAGE_LENGTH + " characters");
+        }
+        Ping ping = pingRepository.save(new Ping(null, chore, chore.getAssignedTo(),
+                userRepository.getReferenceById(callerId), LocalDateTime.now(), message));
+        PingEvent event = PingEvent.from(ping);
+        TransactionCallbacks.afterCommit(() -> pingHub.publish(List.of(event)));
+        return event;
+    }
+}
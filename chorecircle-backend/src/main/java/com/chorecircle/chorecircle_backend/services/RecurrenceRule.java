@@ -0,0 +1,136 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.chorecircle.chorecircle_backend.entities.Recurrence;
+import com.chorecircle.chorecircle_backend.entities.Recurrence.Frequency;
+
+// Expands a chore's recurrence into occurrence dates. Nothing is stored per occurrence: the first
+// occurrence on or after any date is computed arithmetically from the start, so listing a window
+// costs one step per occurrence inside it, however long the series has been running.
+// DAILY repeats every interval days from the start. WEEKLY repeats on the weekdays bitmask (bit =
+// ISO day of week - 1) of every interval-th week, counting weeks from the Monday of the start week.
+// MONTHLY repeats every interval months on the start's day of month, or the month's last day when
+// it is shorter. until is inclusive.
+record RecurrenceRule(Frequency frequency, int interval, int weekdays, LocalDate start, LocalDate until) {
+
+    static final int MAX_INTERVAL = 999;
+    private static final int ALL_WEEKDAYS = (1 << 7) - 1;
+
+    RecurrenceRule {
+        if (frequency == null) {
+            throw new RuntimeException("Recurrence frequency is required");
+        }
+        if (interval < 1 || interval > MAX_INTERVAL) {
+            throw new RuntimeException("Recurrence interval must be between 1 and " + MAX_INTERVAL);
+        }
+        if (start == null) {
+            throw new RuntimeException("A recurring chore needs a due date to start from");
+        }
+        if (until != null && until.isBefore(start)) {
+            throw new RuntimeException("Recurrence end is before its start");
+        }
+        if (frequency == Frequency.WEEKLY) {
+            weekdays = weekdays == 0 ? bit(start.getDayOfWeek()) : weekdays;
+            if ((weekdays & ~ALL_WEEKDAYS) != 0) {
+                throw new RuntimeException("Invalid recurrence weekdays: " + weekdays);
+            }
+        } else {
+            weekdays = 0;
+        }
+    }
+
+    static RecurrenceRule of(Recurrence recurrence) {
+        if (recurrence == null || recurrence.getFrequency() == null) {
+            return null;
+        }
+        return new RecurrenceRule(recurrence.getFrequency(),
+                recurrence.getInterval() != null ? recurrence.getInterval() : 1,
+                recurrence.getWeekdays() != null ? recurrence.getWeekdays() : 0,
+                recurrence.getStart(), recurrence.getUntil());
+    }
+
+    static int bit(DayOfWeek day) {
+        return 1 << (day.getValue() - 1);
+    }
+
+    static int mask(Iterable<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= bit(day);
+        }
+        return mask;
+    }
+
+    Recurrence toRecurrence(LocalDate next) {
+        return new Recurrence(frequency, interval, frequency == Frequency.WEEKLY ? weekdays : null, start, until, next);
+    }
+
+    // Occurrences from from to to, both inclusive, ascending
+    List<LocalDate> occurrences(LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (LocalDate date = firstOnOrAfter(from); date != null && !date.isAfter(to); date = firstAfter(date)) {
+            dates.add(date);
+        }
+        return dates;
+    }
+
+    boolean isOccurrence(LocalDate date) {
+        return date != null && date.equals(firstOnOrAfter(date));
+    }
+
+    LocalDate first() {
+        return firstOnOrAfter(start);
+    }
+
+    // The first occurrence strictly after date, or null when the series has ended
+    LocalDate firstAfter(LocalDate date) {
+        return firstOnOrAfter(date.plusDays(1));
+    }
+
+    // The first occurrence on or after date, or null when the series has ended
+    LocalDate firstOnOrAfter(LocalDate date) {
+        LocalDate from = date.isBefore(start) ? start : date;
+        LocalDate found = switch (frequency) {
+            case DAILY -> start.plusDays(roundUp(ChronoUnit.DAYS.between(start, from), interval));
+            case WEEKLY -> weekly(from);
+            case MONTHLY -> monthly(from);
+        };
+        return until != null && found.isAfter(until) ? null : found;
+    }
+
+    private LocalDate weekly(LocalDate from) {
+        LocalDate firstMonday = start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        long week = ChronoUnit.WEEKS.between(firstMonday, from);
+        if (week % interval == 0) {
+            // Weekdays of this week still to come
+            int remaining = weekdays & (ALL_WEEKDAYS << (from.getDayOfWeek().getValue() - 1));
+            if (remaining != 0) {
+                return firstMonday.plusWeeks(week).plusDays(Integer.numberOfTrailingZeros(remaining));
+            }
+            week++;
+        }
+        return firstMonday.plusWeeks(roundUp(week, interval)).plusDays(Integer.numberOfTrailingZeros(weekdays));
+    }
+
+    private LocalDate monthly(LocalDate from) {
+        YearMonth first = YearMonth.from(start);
+        long months = roundUp(ChronoUnit.MONTHS.between(first, YearMonth.from(from)), interval);
+        LocalDate candidate = onDay(first.plusMonths(months));
+        return candidate.isBefore(from) ? onDay(first.plusMonths(months + interval)) : candidate;
+    }
+
+    private LocalDate onDay(YearMonth month) {
+        return month.atDay(Math.min(start.getDayOfMonth(), month.lengthOfMonth()));
+    }
+
+    private static long roundUp(long value, int step) {
+        return (value + step - 1) / step * step;
+    }
+}
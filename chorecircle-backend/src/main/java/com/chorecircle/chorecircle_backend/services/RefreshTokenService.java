@@ -0,0 +1,131 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.chorecircle.chorecircle_backend.entities.RefreshToken;
+import com.chorecircle.chorecircle_backend.entities.RevokedToken;
+import com.chorecircle.chorecircle_backend.entities.User;
+import com.chorecircle.chorecircle_backend.repositories.RefreshTokenRepository;
+import com.chorecircle.chorecircle_backend.repositories.RevokedTokenRepository;
+import com.chorecircle.chorecircle_backend.security.TokenRevocationList;
+
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final Duration refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               RevokedTokenRepository revokedTokenRepository,
+                               TokenRevocationList tokenRevocationList,
+                               @Value("${app.jwt.refresh-expiration:30d}") Duration refreshExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.tokenRevocationList = tokenRevocationList;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    // Issue a refresh token that starts a new family (one per login)
+    public String issueToken(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    // Exchange a refresh token for a new one in the same family. Presenting a token that was already
+    // rotated means it leaked, so the whole family is revoked. Empty when the token cannot be used.
+    public Optional<Rotation> rotate(String rawToken) {
+        Optional<RefreshToken> tokenOpt = refreshTokenRepository.findByTokenHash(hash(rawToken));
+        if (tokenOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        RefreshToken token = tokenOpt.get();
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getRevokedAt() != null) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            return Optional.empty();
+        }
+        if (token.getExpiresAt().isBefore(now) || !token.getUser().isEnabled()) {
+            return Optional.empty();
+        }
+
+        // Losing the race to another rotation of the same token is treated as reuse too
+        if (refreshTokenRepository.markRotated(token.getId(), now) != 1) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+            return Optional.empty();
+        }
+        String replacement = issue(token.getUser(), token.getFamilyId());
+        return Optional.of(new Rotation(token.getUser(), replacement));
+    }
+
+    // Logout: revoke every token descending from the same login
+    public boolean revokeFamily(String rawToken) {
+        return refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .map(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()) > 0)
+                .orElse(false);
+    }
+
+    // Revoke a single access token until it expires on its own
+    public void revokeAccessToken(String tokenId, Date expiration) {
+        if (tokenId == null || revokedTokenRepository.existsByTokenId(tokenId)) {
+            return;
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(tokenId, expiresAt, LocalDateTime.now()));
+        TransactionCallbacks.afterCommit(() -> tokenRevocationList.add(tokenId, expiration.getTime()));
+    }
+
+    public int revokeAllForUser(Long userId) {
+        return refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.purge-interval:10m}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteExpired(now);
+        revokedTokenRepository.deleteExpired(now);
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] random = new byte[32];
+        secureRandom.nextBytes(random);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(random);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = new RefreshToken(null, hash(rawToken), familyId, user, now,
+                now.plus(refreshExpiration), null);
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Bounded in-memory calendar of upcoming reminders, ordered by (due date, chore id) like the
+// loader's index. The cursor marks how far the database has been read: every pending chore at or
+// before it is either here or already reminded, so chores past it are simply left to the loader.
+// When the calendar is over capacity the latest entries are dropped and the cursor is moved back
+// in front of them, which keeps memory bounded without losing a reminder.
+// Entries held back by quiet hours move to a second set ordered by the time they may fire.
+final class ReminderQueue {
+
+    record Key(LocalDate dueDate, long choreId) implements Comparable<Key> {
+
+        private static final Comparator<Key> ORDER =
+                Comparator.comparing(Key::dueDate).thenComparingLong(Key::choreId);
+
+        @Override
+        public int compareTo(Key other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private record Deferred(Instant notBefore, Key key) {
+    }
+
+    private static final Comparator<Deferred> BY_NOT_BEFORE =
+            Comparator.comparing(Deferred::notBefore).thenComparing(Deferred::key);
+
+    private final int capacity;
+    private final TreeSet<Key> calendar = new TreeSet<>();
+    private final Map<Long, Key> scheduled = new HashMap<>();
+    private final TreeSet<Deferred> deferred = new TreeSet<>(BY_NOT_BEFORE);
+    private final Map<Long, Deferred> deferredByChore = new HashMap<>();
+    private Key cursor;
+
+    ReminderQueue(int capacity, Key cursor) {
+        this.capacity = Math.max(1, capacity);
+        this.cursor = cursor;
+    }
+
+    synchronized Key cursor() {
+        return cursor;
+    }
+
+    // How many more rows the loader may read
+    synchronized int room() {
+        return Math.max(0, capacity - size());
+    }
+
+    synchronized int size() {
+        return calendar.size() + deferred.size();
+    }
+
+    // Rows read by the loader in key order, all past the cursor; the cursor moves to newCursor
+    synchronized void loaded(List<Key> keys, Key newCursor) {
+        for (Key key : keys) {
+            if (!scheduled.containsKey(key.choreId()) && !deferredByChore.containsKey(key.choreId())) {
+                calendar.add(key);
+                scheduled.put(key.choreId(), key);
+            }
+        }
+        if (newCursor.compareTo(cursor) > 0) {
+            cursor = newCursor;
+        }
+        trim();
+    }
+
+    // A chore was created or its due date changed. Returns false when it lies past the cursor,
+    // in which case the loader will pick it up.
+    synchronized boolean offer(long choreId, LocalDate dueDate) {
+        remove(choreId);
+        Key key = new Key(dueDate, choreId);
+        if (key.compareTo(cursor) > 0) {
+            return false;
+        }
+        calendar.add(key);
+        scheduled.put(choreId, key);
+        trim();
+        return scheduled.containsKey(choreId);
+    }
+
+    synchronized void remove(long choreId) {
+        Key key = scheduled.remove(choreId);
+        if (key != null) {
+            calendar.remove(key);
+        }
+        Deferred held = deferredByChore.remove(choreId);
+        if (held != null) {
+            deferred.remove(held);
+        }
+    }
+
+    // Takes up to max entries that may fire now: deferred ones whose quiet hours are over, then
+    // calendar entries due on or before lastDueDate
+    synchronized List<Key> pollDue(LocalDate lastDueDate, Instant now, int max) {
+        List<Key> due = new ArrayList<>();
+        while (due.size() < max && !deferred.isEmpty() && !deferred.first().notBefore().isAfter(now)) {
+            Deferred held = deferred.pollFirst();
+            deferredByChore.remove(held.key().choreId());
+            due.add(held.key());
+        }
+        while (due.size() < max && !calendar.isEmpty() && !calendar.first().dueDate().isAfter(lastDueDate)) {
+            Key key = calendar.pollFirst();
+            scheduled.remove(key.choreId());
+            due.add(key);
+        }
+        return due;
+    }
+
+    // A polled entry that must wait, e.g. for the end of its workspace's quiet hours
+    synchronized void defer(Key key, Instant notBefore) {
+        remove(key.choreId());
+        Deferred held = new Deferred(notBefore, key);
+        deferred.add(held);
+        deferredByChore.put(key.choreId(), held);
+    }
+
+    // A polled entry that could not be handled (e.g. the transaction failed) is held back until notBefore,
+    // unless the chore was offered again meanwhile
+    synchronized void retry(Key key, Instant notBefore) {
+        if (!scheduled.containsKey(key.choreId()) && !deferredByChore.containsKey(key.choreId())) {
+            Deferred held = new Deferred(notBefore, key);
+            deferred.add(held);
+            deferredByChore.put(key.choreId(), held);
+        }
+    }
+
+    private void trim() {
+        while (size() > capacity && !calendar.isEmpty()) {
+            Key last = calendar.pollLast();
+            scheduled.remove(last.choreId());
+            cursor = new Key(last.dueDate(), last.choreId() - 1);
+        }
+    }
+}
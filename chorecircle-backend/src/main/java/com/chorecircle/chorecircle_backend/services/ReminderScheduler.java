@@ -0,0 +1,272 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.chorecircle.chorecircle_backend.dto.PingEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Generates system reminder pings (sent_by NULL) for pending chores when their due date's
+// reminder time (app.reminders.time-of-day) is reached. Upcoming chores are kept in a bounded
+// in-memory ReminderQueue that is filled incrementally by a keyset scan of the partial
+// idx_chores_reminder_due index, up to app.reminders.horizon ahead, and kept current by
+// ChoreService after each commit. Each tick only touches the chores that are due, so the cost of
+// reminding follows the number of due chores rather than the size of the table.
+// chores.reminded_for records the due date a reminder was sent for; claiming it with a conditional
+// UPDATE makes a reminder fire once even with several instances, and lets the scan resume after
+// downtime (app.reminders.catch-up bounds how far back it looks). A batch that fails ends the tick and
+// its chores are held back for app.reminders.retry-backoff, doubling with each consecutive failure.
+@Service
+public class ReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+    private static final int MESSAGE_LENGTH = 255;
+    private static final int MAX_BACKOFF_DOUBLINGS = 6;
+
+    private record DueChore(long id, LocalTime quietStart, LocalTime quietEnd) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final boolean enabled;
+    private final LocalTime timeOfDay;
+    private final int horizonDays;
+    private final int batchSize;
+    private final Duration retryBackoff;
+    private final ReminderQueue queue;
+    private final PingHub pingHub;
+    private final AtomicBoolean running = new AtomicBoolean();
+    // Only touched by the thread holding running
+    private int consecutiveFailures;
+    private final Counter sentCounter;
+    private final Counter deferredCounter;
+
+    public ReminderScheduler(DataSource dataSource, PlatformTransactionManager transactionManager,
+                             PingHub pingHub, MeterRegistry meterRegistry,
+                             @Value("${app.reminders.enabled:true}") boolean enabled,
+                             @Value("${app.reminders.zone:}") String zone,
+                             @Value("${app.reminders.time-of-day:08:00}") String timeOfDay,
+                             @Value("${app.reminders.horizon:2d}") Duration horizon,
+                             @Value("${app.reminders.catch-up:3d}") Duration catchUp,
+                             @Value("${app.reminders.max-entries:100000}") int maxEntries,
+                             @Value("${app.reminders.batch-size:500}") int batchSize,
+                             @Value("${app.reminders.retry-backoff:1m}") Duration retryBackoff) {
+        this.jdbc = new NamedParameterJdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = zone.isBlank() ? Clock.systemDefaultZone() : Clock.system(ZoneId.of(zone));
+        this.pingHub = pingHub;
+        this.enabled = enabled;
+        this.timeOfDay = LocalTime.parse(timeOfDay);
+        this.horizonDays = (int) Math.max(0, horizon.toDays());
+        this.batchSize = Math.max(1, batchSize);
+        this.retryBackoff = retryBackoff;
+        // Start just before the oldest due date still worth reminding about
+        LocalDate earliest = LocalDate.now(clock).minusDays(Math.max(0, catchUp.toDays()));
+        this.queue = new ReminderQueue(maxEntries, new ReminderQueue.Key(earliest.minusDays(1), Long.MAX_VALUE));
+        this.sentCounter = Counter.builder("chorecircle.reminders.sent").register(meterRegistry);
+        this.deferredCounter = Counter.builder("chorecircle.reminders.deferred").register(meterRegistry);
+        Gauge.builder("chorecircle.reminders.queued", queue, ReminderQueue::size).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reminders.tick:30s}", initialDelayString = "${app.reminders.initial-delay:10s}")
+    public void scheduledTick() {
+        if (enabled) {
+            tick();
+        }
+    }
+
+    // Tops up the queue and fires everything that is due. Returns the number of pings created.
+    public int tick() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            load();
+            int sent = 0;
+            Instant now = clock.instant();
+            LocalDate lastDueDate = lastDueDate(now);
+            List<ReminderQueue.Key> due;
+            while (!(due = queue.pollDue(lastDueDate, now, batchSize)).isEmpty()) {
+                int fired = fire(due, now, lastDueDate);
+                if (fired < 0) {
+                    break;
+                }
+                sent += fired;
+            }
+            return sent;
+        } catch (Exception ex) {
+            logger.warn("Reminder tick failed: {}", ex.getMessage());
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Called by ChoreService after a commit that created a chore or changed its due date,
+    // assignee or completion
+    public void choreChanged(Long choreId, LocalDate dueDate, boolean completed) {
+        if (completed || dueDate == null) {
+            queue.remove(choreId);
+        } else {
+            queue.offer(choreId, dueDate);
+        }
+    }
+
+    public void choreRemoved(Long choreId) {
+        queue.remove(choreId);
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    // Seeks forward from the cursor until the queue is full or the horizon is reached
+    private void load() {
+        LocalDate horizon = LocalDate.now(clock).plusDays(horizonDays);
+        int room;
+        while ((room = queue.room()) > 0) {
+            ReminderQueue.Key cursor = queue.cursor();
+            if (!cursor.dueDate().isBefore(horizon) && cursor.choreId() == Long.MAX_VALUE) {
+                return;
+            }
+            int limit = Math.min(room, batchSize);
+            List<ReminderQueue.Key> rows = jdbc.query(
+                    "SELECT id, due_date FROM chores WHERE NOT completed AND reminded_for IS DISTINCT FROM due_date "
+                    + "AND (due_date, id) > (:afterDate, :afterId) AND due_date <= :horizon "
+                    + "ORDER BY due_date, id LIMIT :limit",
+                    new MapSqlParameterSource("afterDate", cursor.dueDate())
+                            .addValue("afterId", cursor.choreId())
+                            .addValue("horizon", horizon)
+                            .addValue("limit", limit),
+                    (rs, row) -> new ReminderQueue.Key(rs.getDate(2).toLocalDate(), rs.getLong(1)));
+            // A short page means everything up to the horizon has been read
+            ReminderQueue.Key next = rows.size() < limit
+                    ? new ReminderQueue.Key(horizon, Long.MAX_VALUE)
+                    : rows.get(rows.size() - 1);
+            queue.loaded(rows, next);
+            if (rows.size() < limit) {
+                return;
+            }
+        }
+    }
+
+    // One transaction per batch: hold back chores in quiet hours, claim the rest, insert their pings.
+    // The pings are pushed to connected clients once the transaction has committed. Returns -1 when
+    // the batch failed and was put back with a backoff.
+    private int fire(List<ReminderQueue.Key> due, Instant now, LocalDate lastDueDate) {
+        List<PingEvent> pings;
+        try {
+            pings = transactionTemplate.execute(status -> remind(due, now, lastDueDate));
+        } catch (Exception ex) {
+            Duration backoff = retryBackoff.multipliedBy(1L << Math.min(consecutiveFailures++, MAX_BACKOFF_DOUBLINGS));
+            logger.warn("Could not send {} reminder(s), retrying in {}: {}", due.size(), backoff, ex.getMessage());
+            Instant notBefore = now.plus(backoff);
+            due.forEach(key -> queue.retry(key, notBefore));
+            return -1;
+        }
+        consecutiveFailures = 0;
+        sentCounter.increment(pings.size());
+        pingHub.publish(pings);
+        return pings.size();
+    }
+
+    private List<PingEvent> remind(List<ReminderQueue.Key> due, Instant now, LocalDate lastDueDate) {
+        Map<Long, ReminderQueue.Key> byChore = new HashMap<>();
+        due.forEach(key -> byChore.put(key.choreId(), key));
+        List<DueChore> chores = jdbc.query(
+                "SELECT c.id, w.quiet_start, w.quiet_end FROM chores c "
+                + "LEFT JOIN workspaces w ON w.id = c.workspace_id WHERE c.id IN (:ids)",
+                new MapSqlParameterSource("ids", byChore.keySet()),
+                (rs, row) -> new DueChore(rs.getLong(1), toLocalTime(rs.getTime(2)), toLocalTime(rs.getTime(3))));
+
+        ZonedDateTime local = now.atZone(clock.getZone());
+        List<Long> claimable = new ArrayList<>();
+        for (DueChore chore : chores) {
+            Instant quietUntil = quietUntil(chore.quietStart(), chore.quietEnd(), local);
+            if (quietUntil != null) {
+                queue.defer(byChore.get(chore.id()), quietUntil);
+                deferredCounter.increment();
+            } else {
+                claimable.add(chore.id());
+            }
+        }
+        if (claimable.isEmpty()) {
+            return List.of();
+        }
+
+        // Claims only chores still pending, not yet reminded and whose current due date has been
+        // reached, and inserts the pings for those with an assignee in the same statement
+        LocalDateTime sentAt = LocalDateTime.ofInstant(now, clock.getZone());
+        return jdbc.query("WITH claimed AS (UPDATE chores SET reminded_for = due_date WHERE id IN (:ids) "
+                + "AND NOT completed AND reminded_for IS DISTINCT FROM due_date AND due_date <= :lastDueDate "
+                + "RETURNING id, assigned_to_id, title, due_date) "
+                + "INSERT INTO pings (chore_id, target_user_id, sent_by_id, sent_at, message) "
+                + "SELECT id, assigned_to_id, NULL, :sentAt, "
+                + "left('Reminder: \"' || coalesce(title, 'Chore') || '\" is due ' || to_char(due_date, 'YYYY-MM-DD'), "
+                + MESSAGE_LENGTH + ") FROM claimed WHERE assigned_to_id IS NOT NULL "
+                + "RETURNING id, chore_id, target_user_id, message",
+                new MapSqlParameterSource("ids", claimable)
+                        .addValue("lastDueDate", lastDueDate)
+                        .addValue("sentAt", Timestamp.valueOf(sentAt)),
+                (rs, row) -> new PingEvent(rs.getLong(1), rs.getLong(2), rs.getLong(3), null, sentAt, rs.getString(4)));
+    }
+
+    // Latest due date whose reminder time has passed
+    private LocalDate lastDueDate(Instant now) {
+        ZonedDateTime local = now.atZone(clock.getZone());
+        return local.toLocalTime().isBefore(timeOfDay) ? local.toLocalDate().minusDays(1) : local.toLocalDate();
+    }
+
+    // End of the quiet window containing the given local time, or null when outside it.
+    // A window whose start is after its end wraps past midnight.
+    static Instant quietUntil(LocalTime start, LocalTime end, ZonedDateTime local) {
+        if (start == null || end == null || start.equals(end)) {
+            return null;
+        }
+        LocalTime time = local.toLocalTime();
+        boolean quiet = start.isBefore(end)
+                ? !time.isBefore(start) && time.isBefore(end)
+                : !time.isBefore(start) || time.isBefore(end);
+        if (!quiet) {
+            return null;
+        }
+        ZonedDateTime until = local.with(end);
+        if (!until.isAfter(local)) {
+            until = until.plusDays(1);
+        }
+        return until.toInstant();
+    }
+
+    private static LocalTime toLocalTime(Time time) {
+        return time != null ? time.toLocalTime() : null;
+    }
+}
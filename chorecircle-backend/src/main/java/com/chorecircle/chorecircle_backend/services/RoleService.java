@@ -1,15 +1,29 @@
 package com.chorecircle.chorecircle_backend.services;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.chorecircle.chorecircle_backend.dto.RoleSummary;
+import com.chorecircle.chorecircle_backend.dto.SearchHit;
 import com.chorecircle.chorecircle_backend.entities.Role;
-import com.chorecircle.chorecircle_backend.entities.User;
 import com.chorecircle.chorecircle_backend.repositories.RoleRepository;
 import com.chorecircle.chorecircle_backend.repositories.UserRepository;
+import com.chorecircle.chorecircle_backend.repositories.UserRepository.SecurityVersionView;
+import com.chorecircle.chorecircle_backend.security.RoleBitRegistry;
+import com.chorecircle.chorecircle_backend.security.SecurityVersionRegistry;
+import com.chorecircle.chorecircle_backend.security.UserDetailsCache;
 
 @Service
 @Transactional
@@ -17,10 +31,23 @@ public class RoleService {
 
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final RoleBitRegistry roleBitRegistry;
+    private final SearchService searchService;
+    private final int chunkSize;
 
-    public RoleService(RoleRepository roleRepository, UserRepository userRepository) {
+    public RoleService(RoleRepository roleRepository, UserRepository userRepository,
+                       SecurityVersionRegistry securityVersionRegistry, UserDetailsCache userDetailsCache,
+                       RoleBitRegistry roleBitRegistry, SearchService searchService,
+                       @Value("${app.roles.membership-chunk-size:1000}") int chunkSize) {
         this.roleRepository = roleRepository;
         this.userRepository = userRepository;
+        this.securityVersionRegistry = securityVersionRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.roleBitRegistry = roleBitRegistry;
+        this.searchService = searchService;
+        this.chunkSize = Math.max(1, chunkSize);
     }
 
     // Create a new role
@@ -29,33 +56,76 @@ public class RoleService {
             throw new RuntimeException("Role already exists: " + name);
         }
 
+        roleBitRegistry.requireBit(name);
         Role role = new Role(name);
-        return roleRepository.save(role);
+        Role saved = roleRepository.save(role);
+        TransactionCallbacks.afterCommit(() -> {
+            roleBitRegistry.register(name);
+            searchService.roleSaved(saved.getId(), name);
+        });
+        return saved;
     }
 
     // Get role by ID
+    @Transactional(readOnly = true)
     public Optional<Role> getRoleById(Long id) {
         return roleRepository.findById(id);
     }
 
     // Get role by name
+    @Transactional(readOnly = true)
     public Optional<Role> getRoleByName(String name) {
         return roleRepository.findByName(name);
     }
 
+    // Get roles by name, failing on the first name that does not exist
+    @Transactional(readOnly = true)
+    public List<Role> getRolesByNames(Collection<String> names) {
+        List<Role> roles = roleRepository.findByNameIn(names);
+        if (roles.size() < new HashSet<>(names).size()) {
+            Set<String> found = new HashSet<>();
+            roles.forEach(role -> found.add(role.getName()));
+            names.stream().filter(name -> !found.contains(name)).findFirst()
+                    .ifPresent(name -> {
+                        throw new RuntimeException("Role not found: " + name);
+                    });
+        }
+        return roles;
+    }
+
     // Get all roles
-    public List<Role> getAllRoles() {
-        return roleRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<RoleSummary> getAllRoles() {
+        return roleRepository.findAllSummaries();
     }
 
     // Get all roles ordered by name
-    public List<Role> getAllRolesOrderByName() {
-        return roleRepository.findAllOrderByName();
+    @Transactional(readOnly = true)
+    public List<RoleSummary> getAllRolesOrderByName() {
+        return roleRepository.findAllSummariesOrderByName();
+    }
+
+    // Roles of one user, without loading the user
+    @Transactional(readOnly = true)
+    public List<RoleSummary> getRolesForUser(Long userId) {
+        return roleRepository.findSummariesByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RoleSummary> getRolesForUsername(String username) {
+        return roleRepository.findSummariesByUsername(username);
     }
 
-    // Search roles by name
-    public List<Role> searchRolesByName(String keyword) {
-        return roleRepository.findByNameContaining(keyword);
+    // Search roles by name, best matches first
+    @Transactional(readOnly = true)
+    public List<SearchHit> searchRolesByName(String keyword, Integer limit) {
+        return searchService.searchRoles(keyword, limit);
+    }
+
+    // Autocomplete role names by prefix
+    @Transactional(readOnly = true)
+    public List<SearchHit> autocompleteRoles(String prefix, Integer limit) {
+        return searchService.autocompleteRoles(prefix, limit);
     }
 
     // Update role name
@@ -66,7 +136,13 @@ public class RoleService {
             if (roleRepository.existsByName(newName)) {
                 throw new RuntimeException("Role name already exists: " + newName);
             }
+            roleBitRegistry.requireBit(newName);
+            invalidateTokensForRole(roleId);
             roleRepository.updateRoleName(roleId, newName);
+            TransactionCallbacks.afterCommit(() -> {
+                roleBitRegistry.register(newName);
+                searchService.roleSaved(roleId, newName);
+            });
             return true;
         }
         return false;
@@ -80,7 +156,14 @@ public class RoleService {
             if (roleRepository.existsByName(newName)) {
                 throw new RuntimeException("Role name already exists: " + newName);
             }
-            roleRepository.updateRoleName(roleOpt.get().getId(), newName);
+            roleBitRegistry.requireBit(newName);
+            invalidateTokensForRole(roleOpt.get().getId());
+            Long roleId = roleOpt.get().getId();
+            roleRepository.updateRoleName(roleId, newName);
+            TransactionCallbacks.afterCommit(() -> {
+                roleBitRegistry.register(newName);
+                searchService.roleSaved(roleId, newName);
+            });
             return true;
         }
         return false;
@@ -96,6 +179,7 @@ public class RoleService {
                 throw new RuntimeException("Cannot delete role. " + userCount + " user(s) have this role.");
             }
             roleRepository.deleteById(roleId);
+            TransactionCallbacks.afterCommit(() -> searchService.roleRemoved(roleId));
             return true;
         }
         return false;
@@ -110,58 +194,71 @@ public class RoleService {
             if (userCount > 0) {
                 throw new RuntimeException("Cannot delete role. " + userCount + " user(s) have this role.");
             }
+            Long roleId = roleOpt.get().getId();
             roleRepository.delete(roleOpt.get());
+            TransactionCallbacks.afterCommit(() -> searchService.roleRemoved(roleId));
             return true;
         }
         return false;
     }
 
-    // Force delete role (removes role from all users first)
-    public boolean forceDeleteRole(Long roleId) {
-        Optional<Role> roleOpt = roleRepository.findById(roleId);
-        if (roleOpt.isPresent()) {
-            Role role = roleOpt.get();
-            // Remove this role from all users
-            List<User> usersWithRole = userRepository.findByRolesId(roleId);
-            usersWithRole.forEach(user -> user.removeRole(role));
-            userRepository.saveAll(usersWithRole);
-            roleRepository.deleteById(roleId);
-            return true;
+    // Force delete role (removes role from all users first); returns how many users lost it
+    public Optional<Integer> forceDeleteRole(Long roleId) {
+        if (!roleRepository.existsById(roleId)) {
+            return Optional.empty();
         }
-        return false;
+        return Optional.of(forceDelete(roleId));
     }
 
     // Force delete role by name
-    public boolean forceDeleteRoleByName(String name) {
-        Optional<Role> roleOpt = roleRepository.findByName(name);
-        if (roleOpt.isPresent()) {
-            Role role = roleOpt.get();
-            // Remove this role from all users
-            List<User> usersWithRole = userRepository.findByRolesId(role.getId());
-            usersWithRole.forEach(user -> user.removeRole(role));
-            userRepository.saveAll(usersWithRole);
-            roleRepository.delete(roleOpt.get());
-            return true;
-        }
-        return false;
+    public Optional<Integer> forceDeleteRoleByName(String name) {
+        return roleRepository.findByName(name).map(role -> forceDelete(role.getId()));
+    }
+
+    // Grant a role to the given users; returns how many users did not have it before
+    public int assignRoleToUsers(Long roleId, Collection<Long> userIds) {
+        requireRole(roleId);
+        return changeMembership(roleId, idChunks(userIds), true);
+    }
+
+    // Grant a role to every user matching a filter: username substring or holders of another role
+    public int assignRoleToMatchingUsers(Long roleId, String usernameContains, String withRole) {
+        requireRole(roleId);
+        return changeMembership(roleId, filterChunks(usernameContains, withRole), true);
+    }
+
+    // Revoke a role from the given users; returns how many users actually held it
+    public int revokeRoleFromUsers(Long roleId, Collection<Long> userIds) {
+        requireRole(roleId);
+        return changeMembership(roleId, idChunks(userIds), false);
+    }
+
+    // Revoke a role from every user matching a filter
+    public int revokeRoleFromMatchingUsers(Long roleId, String usernameContains, String withRole) {
+        requireRole(roleId);
+        return changeMembership(roleId, filterChunks(usernameContains, withRole), false);
     }
 
     // Check if role exists
+    @Transactional(readOnly = true)
     public boolean roleExists(String name) {
         return roleRepository.existsByName(name);
     }
 
     // Check if role exists by ID
+    @Transactional(readOnly = true)
     public boolean roleExists(Long roleId) {
         return roleRepository.existsById(roleId);
     }
 
     // Get count of users with a specific role
+    @Transactional(readOnly = true)
     public long getUsersCountWithRole(Long roleId) {
         return roleRepository.countUsersWithRole(roleId);
     }
 
     // Get count of users with a specific role by name
+    @Transactional(readOnly = true)
     public long getUsersCountWithRoleByName(String roleName) {
         Optional<Role> roleOpt = roleRepository.findByName(roleName);
         if (roleOpt.isPresent()) {
@@ -180,4 +277,122 @@ public class RoleService {
             }
         }
     }
+
+    private int forceDelete(Long roleId) {
+        invalidateTokensForRole(roleId);
+        int removed = userRepository.deleteAllRoleMemberships(roleId);
+        roleRepository.deleteById(roleId);
+        TransactionCallbacks.afterCommit(() -> searchService.roleRemoved(roleId));
+        return removed;
+    }
+
+    private void requireRole(Long roleId) {
+        if (!roleRepository.existsById(roleId)) {
+            throw new RuntimeException("Role not found: " + roleId);
+        }
+    }
+
+    // Works through the users one chunk of ids at a time: find who actually changes, bump their security
+    // version, then insert or delete their join rows with a single statement per chunk
+    private int changeMembership(Long roleId, Iterator<List<Long>> chunks, boolean grant) {
+        List<SecurityVersionView> versions = new ArrayList<>();
+        int affected = 0;
+        while (chunks.hasNext()) {
+            List<Long> chunk = chunks.next();
+            List<Long> changing = grant
+                    ? userRepository.findIdsWithoutRole(roleId, chunk)
+                    : userRepository.findIdsWithRole(roleId, chunk);
+            if (changing.isEmpty()) {
+                continue;
+            }
+            userRepository.incrementSecurityVersions(changing);
+            affected += grant
+                    ? userRepository.insertRoleMemberships(roleId, changing)
+                    : userRepository.deleteRoleMemberships(roleId, changing);
+            versions.addAll(userRepository.findSecurityVersions(changing));
+        }
+        if (!versions.isEmpty()) {
+            TransactionCallbacks.afterCommit(() -> {
+                Set<Long> userIds = new HashSet<>();
+                versions.forEach(view -> {
+                    securityVersionRegistry.record(view.getId(), view.getSecurityVersion());
+                    userIds.add(view.getId());
+                });
+                userDetailsCache.evictUsers(userIds);
+            });
+        }
+        return affected;
+    }
+
+    private Iterator<List<Long>> idChunks(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            throw new RuntimeException("No user ids given");
+        }
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        return new Iterator<>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < ids.size();
+            }
+
+            @Override
+            public List<Long> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<Long> chunk = ids.subList(next, Math.min(next + chunkSize, ids.size()));
+                next += chunk.size();
+                return chunk;
+            }
+        };
+    }
+
+    // Keyset scan over matching user ids, so the filter never materialises more than one chunk
+    private Iterator<List<Long>> filterChunks(String usernameContains, String withRole) {
+        boolean byName = usernameContains != null && !usernameContains.isBlank();
+        boolean byRole = withRole != null && !withRole.isBlank();
+        if (byName == byRole) {
+            throw new RuntimeException("Specify exactly one of usernameContains or withRole");
+        }
+        String pattern = byName ? SearchService.containsPattern(usernameContains) : null;
+        return new Iterator<>() {
+            private long afterId = 0;
+            private List<Long> pending;
+
+            @Override
+            public boolean hasNext() {
+                if (pending == null) {
+                    pending = byName
+                            ? userRepository.findIdsByUsernameLike(pattern, afterId, Limit.of(chunkSize))
+                            : userRepository.findIdsByRoleName(withRole, afterId, Limit.of(chunkSize));
+                }
+                return !pending.isEmpty();
+            }
+
+            @Override
+            public List<Long> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<Long> chunk = pending;
+                afterId = chunk.get(chunk.size() - 1);
+                pending = chunk.size() < chunkSize ? List.of() : null;
+                return chunk;
+            }
+        };
+    }
+
+    // Tokens and cached users carry role names, so renaming or dropping a role invalidates every holder
+    private void invalidateTokensForRole(Long roleId) {
+        if (userRepository.incrementSecurityVersionForRole(roleId) == 0) {
+            return;
+        }
+        List<SecurityVersionView> versions = userRepository.findSecurityVersionsByRoleId(roleId);
+        TransactionCallbacks.afterCommit(() -> {
+            versions.forEach(view -> securityVersionRegistry.record(view.getId(), view.getSecurityVersion()));
+            userDetailsCache.evictRole(roleId);
+        });
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.util.Map;
+
+// Decides who does each pending chore of a workspace. Implementations are Spring beans picked by
+// name (workspaces.rotation_strategy, else app.rotation.default-strategy). They must be
+// deterministic: fed their own output again they return the same assignments, which is what
+// makes repeated rotation runs idempotent.
+public interface RotationStrategy {
+
+    String name();
+
+    // Whether the engine needs to load WorkspaceRotation.lastPerformed for this strategy
+    default boolean needsHistory() {
+        return false;
+    }
+
+    // chore id -> member id, for the chores that should be assigned
+    Map<Long, Long> assign(WorkspaceRotation workspace);
+}
@@ -0,0 +1,29 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+// Every chore moves to the next member each rotation period. The starting member is derived from
+// the chore id, so chores are spread over members and stay put for the rest of the period.
+@Component
+public class RoundRobinRotation implements RotationStrategy {
+
+    @Override
+    public String name() {
+        return "round-robin";
+    }
+
+    @Override
+    public Map<Long, Long> assign(WorkspaceRotation workspace) {
+        List<Long> members = workspace.memberIds();
+        Map<Long, Long> assignments = new HashMap<>();
+        for (WorkspaceRotation.PendingChore chore : workspace.chores()) {
+            int index = (int) Math.floorMod(workspace.period() + chore.id(), (long) members.size());
+            assignments.put(chore.id(), members.get(index));
+        }
+        return assignments;
+    }
+}
@@ -0,0 +1,202 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.chorecircle.chorecircle_backend.dto.SearchHit;
+import com.chorecircle.chorecircle_backend.repositories.NameMatchView;
+import com.chorecircle.chorecircle_backend.repositories.RoleRepository;
+import com.chorecircle.chorecircle_backend.repositories.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+
+// Case-insensitive name search for users and roles. On Postgres, substring search runs against
+// pg_trgm GIN indexes and prefix search against text_pattern_ops indexes on lower(name), both
+// created by the schema migrations. Elsewhere (or when pg_trgm could not be installed) names are
+// kept in in-memory sorted indexes that UserService and RoleService update after each commit.
+@Service
+@Transactional(readOnly = true)
+public class SearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+    // pg_trgm cannot use the GIN index for fewer than three characters, so those become prefix searches
+    private static final int MIN_SUBSTRING_LENGTH = 3;
+
+    private static final List<String> TRIGRAM_INDEXES = List.of("idx_users_username_trgm", "idx_roles_name_trgm");
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final DataSource dataSource;
+    private final String mode;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    private final InMemoryNameIndex userIndex = new InMemoryNameIndex();
+    private final InMemoryNameIndex roleIndex = new InMemoryNameIndex();
+    private volatile boolean trigram;
+
+    public SearchService(UserRepository userRepository, RoleRepository roleRepository, DataSource dataSource,
+                         @Value("${app.search.mode:auto}") String mode,
+                         @Value("${app.search.default-limit:10}") int defaultLimit,
+                         @Value("${app.search.max-limit:50}") int maxLimit) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.dataSource = dataSource;
+        this.mode = mode.toLowerCase(Locale.ROOT);
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    // auto: use pg_trgm when the database is Postgres and the migrations created the indexes, memory otherwise
+    @PostConstruct
+    void init() {
+        trigram = !"memory".equals(mode) && isPostgres() && trigramIndexesPresent();
+        if (trigram) {
+            logger.info("Name search using pg_trgm indexes");
+            return;
+        }
+        if ("trigram".equals(mode)) {
+            logger.warn("app.search.mode=trigram but pg_trgm is not available; using in-memory indexes");
+        }
+        try {
+            userRepository.findAllNames().forEach(view -> userIndex.put(view.getId(), view.getName()));
+            roleRepository.findAllNames().forEach(view -> roleIndex.put(view.getId(), view.getName()));
+            logger.info("Name search using in-memory indexes ({} users, {} roles)", userIndex.size(), roleIndex.size());
+        } catch (Exception ex) {
+            logger.warn("Could not load in-memory search indexes: {}", ex.getMessage());
+        }
+    }
+
+    // Ranked substring search: exact match first, then prefix matches, then by similarity
+    public List<SearchHit> searchUsers(String query, Integer limit) {
+        String normalized = normalize(query);
+        int max = clampLimit(limit);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        if (normalized.length() < MIN_SUBSTRING_LENGTH) {
+            return autocompleteUsers(normalized, max);
+        }
+        return trigram
+                ? toHits(userRepository.searchRanked(normalized, "%" + escapeLike(normalized) + "%",
+                        escapeLike(normalized) + "%", max))
+                : userIndex.search(normalized, max);
+    }
+
+    public List<SearchHit> autocompleteUsers(String prefix, Integer limit) {
+        String normalized = normalize(prefix);
+        int max = clampLimit(limit);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return trigram
+                ? toHits(userRepository.findByPrefix(escapeLike(normalized) + "%", max))
+                : userIndex.prefix(normalized, max);
+    }
+
+    public List<SearchHit> searchRoles(String query, Integer limit) {
+        String normalized = normalize(query);
+        int max = clampLimit(limit);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        if (normalized.length() < MIN_SUBSTRING_LENGTH) {
+            return autocompleteRoles(normalized, max);
+        }
+        return trigram
+                ? toHits(roleRepository.searchRanked(normalized, "%" + escapeLike(normalized) + "%",
+                        escapeLike(normalized) + "%", max))
+                : roleIndex.search(normalized, max);
+    }
+
+    public List<SearchHit> autocompleteRoles(String prefix, Integer limit) {
+        String normalized = normalize(prefix);
+        int max = clampLimit(limit);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return trigram
+                ? toHits(roleRepository.findByPrefix(escapeLike(normalized) + "%", max))
+                : roleIndex.prefix(normalized, max);
+    }
+
+    // Lower-cased LIKE pattern for a case-insensitive substring match, with wildcards escaped
+    public static String containsPattern(String keyword) {
+        return "%" + escapeLike(normalize(keyword)) + "%";
+    }
+
+    // Index maintenance for the in-memory fallback; called after commit, no-ops on Postgres
+    public void userSaved(Long id, String username) {
+        if (!trigram) {
+            userIndex.put(id, username);
+        }
+    }
+
+    public void userRemoved(Long id) {
+        if (!trigram) {
+            userIndex.remove(id);
+        }
+    }
+
+    public void roleSaved(Long id, String name) {
+        if (!trigram) {
+            roleIndex.put(id, name);
+        }
+    }
+
+    public void roleRemoved(Long id) {
+        if (!trigram) {
+            roleIndex.remove(id);
+        }
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (Exception ex) {
+            logger.warn("Could not determine database type: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    // V3 only creates the indexes when pg_trgm could be installed
+    private boolean trigramIndexesPresent() {
+        try {
+            Integer found = new JdbcTemplate(dataSource).queryForObject(
+                    "SELECT COUNT(*) FROM pg_indexes WHERE indexname IN (?, ?)", Integer.class,
+                    TRIGRAM_INDEXES.get(0), TRIGRAM_INDEXES.get(1));
+            return found != null && found == TRIGRAM_INDEXES.size();
+        } catch (Exception ex) {
+            logger.warn("Could not check for pg_trgm search indexes: {}", ex.getMessage());
+            return false;
+        }
+    }
+
+    private int clampLimit(Integer limit) {
+        return limit == null ? defaultLimit : Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static List<SearchHit> toHits(List<NameMatchView> views) {
+        return views.stream()
+                .map(view -> new SearchHit(view.getId(), view.getName(), view.getScore() != null ? view.getScore() : 0))
+                .toList();
+    }
+}
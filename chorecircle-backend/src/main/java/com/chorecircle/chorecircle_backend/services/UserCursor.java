@@ -0,0 +1,53 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+// Position in a user listing: the sort order plus the key of the last user already returned.
+// Encoded as base64url so clients treat it as an opaque token.
+public record UserCursor(Sort sort, long afterId, String afterUsername) {
+
+    public enum Sort {
+        ID, USERNAME;
+
+        public static Sort from(String value) {
+            if (value == null || value.isBlank()) {
+                return ID;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported sort: " + value + " (expected id or username)");
+            }
+        }
+    }
+
+    public static UserCursor first(Sort sort) {
+        return new UserCursor(sort, 0L, "");
+    }
+
+    public static UserCursor after(Sort sort, long id, String username) {
+        return new UserCursor(sort, id, username);
+    }
+
+    public String encode() {
+        String raw = sort == Sort.ID ? "i:" + afterId : "u:" + afterUsername;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (raw.startsWith("i:")) {
+                return new UserCursor(Sort.ID, Long.parseLong(raw.substring(2)), "");
+            }
+            if (raw.startsWith("u:")) {
+                return new UserCursor(Sort.USERNAME, 0L, raw.substring(2));
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through to the common error below
+        }
+        throw new IllegalArgumentException("Invalid cursor");
+    }
+}
@@ -0,0 +1,438 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.chorecircle.chorecircle_backend.entities.Role;
+import com.chorecircle.chorecircle_backend.entities.User;
+import com.chorecircle.chorecircle_backend.repositories.RoleRepository;
+import com.chorecircle.chorecircle_backend.repositories.UserRepository;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+// Bulk user import from NDJSON or CSV. Input is read and answered chunk by chunk, so memory use
+// does not depend on the size of the upload:
+//   1. parse and validate the chunk, dropping usernames already seen earlier in the same import
+//   2. look up the remaining usernames in one query
+//   3. hash passwords in parallel on a dedicated pool (rows may also carry an existing BCrypt hash)
+//   4. insert the chunk in its own transaction; ids come from the pooled users_seq, so Hibernate
+//      sends the users and user_roles rows as JDBC batches
+// Transactions are per chunk rather than per import, so this service is not @Transactional.
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final int MAX_USERNAME_LENGTH = 255;
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    // One line of output per input row; status is created, exists, duplicate, invalid or failed
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record RowResult(int line, String username, String status, String error) {
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Summary(boolean summary, int rows, int created, int skipped, int failed) {
+    }
+
+    private record ImportRow(int line, String username, String password, String passwordHash,
+                             Set<String> roles, boolean enabled, String error) {
+    }
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final SearchService searchService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService hashingPool;
+    private final Semaphore running;
+    private final int chunkSize;
+    private final int flushSize;
+
+    public UserImportService(UserRepository userRepository, RoleRepository roleRepository,
+                             PasswordEncoder passwordEncoder, SearchService searchService,
+                             EntityManager entityManager, PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${app.import.chunk-size:1000}") int chunkSize,
+                             @Value("${app.import.hashing-threads:0}") int hashingThreads,
+                             @Value("${app.import.max-concurrent:1}") int maxConcurrent,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int flushSize) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.searchService = searchService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.flushSize = Math.max(1, flushSize);
+        this.running = new Semaphore(Math.max(1, maxConcurrent));
+
+        // Imports are the one place where using every core for BCrypt is the point
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        this.hashingPool = Executors.newFixedThreadPool(threads, new ImportThreadFactory());
+    }
+
+    // Imports run one at a time (app.import.max-concurrent); callers reserve a slot before streaming
+    public boolean tryReserve() {
+        return running.tryAcquire();
+    }
+
+    public void release() {
+        running.release();
+    }
+
+    public static Format formatFor(String contentType) {
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv") ? Format.CSV : Format.NDJSON;
+    }
+
+    public Summary importUsers(InputStream input, Format format, OutputStream output) throws IOException {
+        // Detached roles are enough for the join table rows and avoid a lookup per row
+        Map<String, Role> roles = new HashMap<>();
+        roleRepository.findAll().forEach(role -> roles.put(role.getName(), role));
+
+        Set<String> seen = new HashSet<>();
+        int rows = 0;
+        int created = 0;
+        int skipped = 0;
+        int failed = 0;
+        long started = System.currentTimeMillis();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String[] csvColumns = null;
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int lineNumber = 0;
+        String text;
+        while (true) {
+            text = reader.readLine();
+            if (text != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && csvColumns == null) {
+                    csvColumns = csvHeader(text);
+                    if (csvColumns != null) {
+                        continue;
+                    }
+                    csvColumns = new String[] {"username", "password", "roles"};
+                }
+                chunk.add(format == Format.CSV ? parseCsv(lineNumber, text, csvColumns) : parseJson(lineNumber, text));
+            }
+            if (chunk.size() == chunkSize || (text == null && !chunk.isEmpty())) {
+                for (RowResult result : processChunk(chunk, seen, roles)) {
+                    rows++;
+                    switch (result.status()) {
+                        case "created" -> created++;
+                        case "failed" -> failed++;
+                        default -> skipped++;
+                    }
+                    meterRegistry.counter("chorecircle.users.import.rows", "result", result.status()).increment();
+                    write(output, result);
+                }
+                output.flush();
+                chunk = new ArrayList<>(chunkSize);
+            }
+            if (text == null) {
+                break;
+            }
+        }
+
+        Summary summary = new Summary(true, rows, created, skipped, failed);
+        write(output, summary);
+        output.flush();
+        logger.info("User import finished in {} ms: {} row(s), {} created, {} skipped, {} failed",
+                System.currentTimeMillis() - started, rows, created, skipped, failed);
+        return summary;
+    }
+
+    private List<RowResult> processChunk(List<ImportRow> chunk, Set<String> seen, Map<String, Role> roles) {
+        RowResult[] results = new RowResult[chunk.size()];
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRow row = chunk.get(i);
+            String error = row.error() != null ? row.error() : validate(row, roles);
+            if (error != null) {
+                results[i] = new RowResult(row.line(), row.username(), "invalid", error);
+            } else if (!seen.add(row.username())) {
+                results[i] = new RowResult(row.line(), row.username(), "duplicate", "Username appears earlier in this import");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        candidates = dropExisting(chunk, candidates, results);
+        if (candidates.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // Hash in parallel; rows that came with a BCrypt hash skip this step
+        Map<Integer, CompletableFuture<String>> hashes = new HashMap<>();
+        for (int index : candidates) {
+            ImportRow row = chunk.get(index);
+            hashes.put(index, row.passwordHash() != null
+                    ? CompletableFuture.completedFuture(row.passwordHash())
+                    : CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.password()), hashingPool));
+        }
+        Map<Integer, String> encoded = new HashMap<>();
+        hashes.forEach((index, future) -> encoded.put(index, future.join()));
+
+        try {
+            insert(chunk, candidates, encoded, roles);
+        } catch (RuntimeException e) {
+            // Usually a username taken between the check and the insert; check again and retry once
+            candidates = dropExisting(chunk, candidates, results);
+            try {
+                insert(chunk, candidates, encoded, roles);
+            } catch (RuntimeException retryFailure) {
+                logger.warn("User import chunk failed: {}", retryFailure.getMessage());
+                for (int index : candidates) {
+                    results[index] = new RowResult(chunk.get(index).line(), chunk.get(index).username(), "failed",
+                            "Could not insert this chunk; retry the rows marked failed");
+                }
+                return Arrays.asList(results);
+            }
+        }
+        for (int index : candidates) {
+            results[index] = new RowResult(chunk.get(index).line(), chunk.get(index).username(), "created", null);
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<Integer> dropExisting(List<ImportRow> chunk, List<Integer> candidates, RowResult[] results) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<String> existing = new HashSet<>(userRepository.findExistingUsernames(
+                candidates.stream().map(index -> chunk.get(index).username()).toList()));
+        List<Integer> remaining = new ArrayList<>(candidates.size());
+        for (int index : candidates) {
+            ImportRow row = chunk.get(index);
+            if (existing.contains(row.username())) {
+                results[index] = new RowResult(row.line(), row.username(), "exists", "Username already exists");
+            } else {
+                remaining.add(index);
+            }
+        }
+        return remaining;
+    }
+
+    // One transaction per chunk, flushed every JDBC batch so the persistence context stays small
+    private void insert(List<ImportRow> chunk, List<Integer> candidates, Map<Integer, String> encoded,
+                        Map<String, Role> roles) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<User> saved = new ArrayList<>(candidates.size());
+            int pending = 0;
+            for (int index : candidates) {
+                ImportRow row = chunk.get(index);
+                User user = new User(row.username(), encoded.get(index));
+                user.setEnabled(row.enabled());
+                for (String roleName : row.roles()) {
+                    user.addRole(roles.get(roleName));
+                }
+                entityManager.persist(user);
+                saved.add(user);
+                if (++pending == flushSize) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    pending = 0;
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            List<User> committed = List.copyOf(saved);
+            TransactionCallbacks.afterCommit(() ->
+                    committed.forEach(user -> searchService.userSaved(user.getId(), user.getUsername())));
+        });
+    }
+
+    private static String validate(ImportRow row, Map<String, Role> roles) {
+        if (row.username() == null || row.username().isBlank()) {
+            return "username is required";
+        }
+        if (row.username().length() > MAX_USERNAME_LENGTH) {
+            return "username is too long";
+        }
+        if (row.passwordHash() != null) {
+            if (!BCRYPT_HASH.matcher(row.passwordHash()).matches()) {
+                return "passwordHash must be a BCrypt hash";
+            }
+        } else if (row.password() == null || row.password().isEmpty()) {
+            return "password or passwordHash is required";
+        }
+        for (String role : row.roles()) {
+            if (!roles.containsKey(role)) {
+                return "Role not found: " + role;
+            }
+        }
+        return null;
+    }
+
+    // {"username": "...", "password": "...", "roles": ["USER"], "enabled": true}
+    private ImportRow parseJson(int line, String text) {
+        try {
+            JsonNode node = objectMapper.readTree(text);
+            if (!node.isObject()) {
+                return invalid(line, null, "Expected a JSON object");
+            }
+            Set<String> roles = new LinkedHashSet<>();
+            JsonNode rolesNode = node.path("roles");
+            if (rolesNode.isArray()) {
+                rolesNode.forEach(role -> roles.add(role.asText().trim()));
+            } else if (rolesNode.isTextual()) {
+                roles.addAll(splitRoles(rolesNode.asText()));
+            }
+            return row(line, textOrNull(node, "username"), textOrNull(node, "password"),
+                    textOrNull(node, "passwordHash"), roles, node.path("enabled").asBoolean(true));
+        } catch (IOException e) {
+            return invalid(line, null, "Malformed JSON");
+        }
+    }
+
+    // Columns come from the header line if there is one, otherwise username,password,roles
+    private ImportRow parseCsv(int line, String text, String[] columns) {
+        List<String> fields = splitCsv(text);
+        if (fields == null) {
+            return invalid(line, null, "Malformed CSV line");
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < columns.length && i < fields.size(); i++) {
+            values.put(columns[i], fields.get(i).isEmpty() ? null : fields.get(i));
+        }
+        String enabled = values.get("enabled");
+        return row(line, values.get("username"), values.get("password"), values.get("passwordhash"),
+                splitRoles(values.get("roles")), enabled == null || Boolean.parseBoolean(enabled.trim()));
+    }
+
+    private static String[] csvHeader(String text) {
+        List<String> fields = splitCsv(text);
+        if (fields == null || fields.isEmpty() || !"username".equalsIgnoreCase(fields.get(0).trim())) {
+            return null;
+        }
+        return fields.stream().map(field -> field.trim().toLowerCase(Locale.ROOT)).toArray(String[]::new);
+    }
+
+    // Minimal RFC 4180 field splitting: quoted fields may contain commas and doubled quotes
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static Set<String> splitRoles(String value) {
+        Set<String> roles = new LinkedHashSet<>();
+        if (value != null) {
+            for (String role : value.split("[;|,]")) {
+                if (!role.isBlank()) {
+                    roles.add(role.trim());
+                }
+            }
+        }
+        return roles;
+    }
+
+    // Same default as registration: no roles means USER
+    private static ImportRow row(int line, String username, String password, String passwordHash,
+                                 Set<String> roles, boolean enabled) {
+        String trimmed = username != null ? username.trim() : null;
+        return new ImportRow(line, trimmed, password, passwordHash, roles.isEmpty() ? Set.of("USER") : roles,
+                enabled, null);
+    }
+
+    private static ImportRow invalid(int line, String username, String error) {
+        return new ImportRow(line, username, null, null, Set.of(), true, error);
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private void write(OutputStream output, Object value) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(value));
+        output.write('\n');
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    private static final class ImportThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "user-import-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
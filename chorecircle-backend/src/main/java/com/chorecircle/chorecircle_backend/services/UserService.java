@@ -1,16 +1,33 @@
 package com.chorecircle.chorecircle_backend.services;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.chorecircle.chorecircle_backend.dto.CursorPage;
+import com.chorecircle.chorecircle_backend.dto.RoleSummary;
+import com.chorecircle.chorecircle_backend.dto.UserSummary;
 import com.chorecircle.chorecircle_backend.entities.Role;
 import com.chorecircle.chorecircle_backend.entities.User;
+import com.chorecircle.chorecircle_backend.repositories.RefreshTokenRepository;
 import com.chorecircle.chorecircle_backend.repositories.UserRepository;
+import com.chorecircle.chorecircle_backend.repositories.UserRepository.SecurityVersionView;
+import com.chorecircle.chorecircle_backend.repositories.UserRepository.UserRowView;
+import com.chorecircle.chorecircle_backend.security.SecurityVersionRegistry;
+import com.chorecircle.chorecircle_backend.security.UserDetailsCache;
 
 @Service
 @Transactional
@@ -19,11 +36,27 @@ public class UserService {
     private final UserRepository userRepository;
     private final RoleService roleService;
     private final PasswordEncoder passwordEncoder;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SearchService searchService;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
-    public UserService(UserRepository userRepository, RoleService roleService, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, RoleService roleService, PasswordEncoder passwordEncoder,
+                       SecurityVersionRegistry securityVersionRegistry, UserDetailsCache userDetailsCache,
+                       RefreshTokenRepository refreshTokenRepository, SearchService searchService,
+                       @Value("${app.pagination.default-size:50}") int defaultPageSize,
+                       @Value("${app.pagination.max-size:200}") int maxPageSize) {
         this.userRepository = userRepository;
         this.roleService = roleService;
         this.passwordEncoder = passwordEncoder;
+        this.securityVersionRegistry = securityVersionRegistry;
+        this.userDetailsCache = userDetailsCache;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.searchService = searchService;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     // Create a new user
@@ -31,22 +64,15 @@ public class UserService {
         if (userRepository.existsByUsername(username)) {
             throw new RuntimeException("Username already exists: " + username);
         }
+        return saveNewUser(username, passwordEncoder.encode(password), roleNames);
+    }
 
-        User user = new User(username, passwordEncoder.encode(password));
-        
-        // Add roles to user
-        if (roleNames != null && !roleNames.isEmpty()) {
-            for (String roleName : roleNames) {
-                Optional<Role> role = roleService.getRoleByName(roleName);
-                if (role.isPresent()) {
-                    user.addRole(role.get());
-                } else {
-                    throw new RuntimeException("Role not found: " + roleName);
-                }
-            }
+    // Create a new user whose password was already hashed by the caller
+    public User createUserWithEncodedPassword(String username, String encodedPassword, Set<String> roleNames) {
+        if (userRepository.existsByUsername(username)) {
+            throw new RuntimeException("Username already exists: " + username);
         }
-
-        return userRepository.save(user);
+        return saveNewUser(username, encodedPassword, roleNames);
     }
 
     // Create a new user with default role
@@ -54,24 +80,42 @@ public class UserService {
         return createUser(username, password, Set.of("USER"));
     }
 
-    // Get user by ID
+    // Get user by ID, with roles
+    @Transactional(readOnly = true)
     public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+        return userRepository.findWithRolesById(id);
     }
 
-    // Get user by username
+    // Get user by username, with roles
+    @Transactional(readOnly = true)
     public Optional<User> getUserByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userRepository.findWithRolesByUsername(username);
+    }
+
+    // Credential lookup for authentication. Not read-only, so it always runs on the primary: a user who
+    // just registered can log in, and a changed password or disabled flag applies despite replica lag.
+    public Optional<User> getUserCredentials(String username) {
+        return userRepository.findWithRolesByUsername(username);
     }
 
-    // Get all users
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    // Get a page of all users
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> getUsersPage(String cursor, Integer size, String sort, boolean includeTotal) {
+        return page(cursor, size, sort, includeTotal ? userRepository::count : null,
+                (position, limit) -> position.sort() == UserCursor.Sort.ID
+                        ? userRepository.findPageById(position.afterId(), limit)
+                        : userRepository.findPageByUsername(position.afterUsername(), limit));
     }
 
-    // Search users by username
-    public List<User> searchUsersByUsername(String keyword) {
-        return userRepository.findByUsernameContaining(keyword);
+    // Search users by username (case-insensitive), one page at a time
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> searchUsersPage(String keyword, String cursor, Integer size, String sort,
+                                            boolean includeTotal) {
+        String pattern = SearchService.containsPattern(keyword);
+        return page(cursor, size, sort, includeTotal ? () -> userRepository.countByUsernameLike(pattern) : null,
+                (position, limit) -> position.sort() == UserCursor.Sort.ID
+                        ? userRepository.searchPageById(pattern, position.afterId(), limit)
+                        : userRepository.searchPageByUsername(pattern, position.afterUsername(), limit));
     }
 
     // Update user password
@@ -79,6 +123,8 @@ public class UserService {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isPresent()) {
             userRepository.updatePassword(userId, passwordEncoder.encode(newPassword));
+            refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+            recordSecurityVersion(userId);
             return true;
         }
         return false;
@@ -89,29 +135,35 @@ public class UserService {
         Optional<User> userOpt = userRepository.findByUsername(username);
         if (userOpt.isPresent()) {
             userRepository.updatePassword(userOpt.get().getId(), passwordEncoder.encode(newPassword));
+            refreshTokenRepository.revokeAllForUser(userOpt.get().getId(), LocalDateTime.now());
+            recordSecurityVersion(userOpt.get().getId());
             return true;
         }
         return false;
     }
 
+    // Replace a password hash with a re-encoded one (cost factor upgrade on login)
+    public boolean rehashPassword(String username, String encodedPassword) {
+        return userRepository.updatePasswordHash(username, encodedPassword) > 0;
+    }
+
     // Update user roles
     public boolean updateUserRoles(Long userId, Set<String> roleNames) {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            user.getRoles().clear(); // Remove existing roles
-            
-            // Add new roles
-            for (String roleName : roleNames) {
-                Optional<Role> role = roleService.getRoleByName(roleName);
-                if (role.isPresent()) {
-                    user.addRole(role.get());
-                } else {
-                    throw new RuntimeException("Role not found: " + roleName);
-                }
+            List<Role> targetRoles = roleService.getRolesByNames(roleNames);
+            Set<Long> targetIds = targetRoles.stream().map(Role::getId).collect(Collectors.toSet());
+
+            // Only the difference is written; clearing the collection would rewrite every join row
+            boolean changed = user.getRoles().removeIf(role -> !targetIds.contains(role.getId()));
+            changed |= user.getRoles().addAll(targetRoles);
+            if (!changed) {
+                return true;
             }
-            
+
             userRepository.save(user);
+            bumpSecurityVersion(userId);
             return true;
         }
         return false;
@@ -126,6 +178,7 @@ public class UserService {
             User user = userOpt.get();
             user.addRole(roleOpt.get());
             userRepository.save(user);
+            bumpSecurityVersion(userId);
             return true;
         }
         return false;
@@ -140,6 +193,7 @@ public class UserService {
             User user = userOpt.get();
             user.removeRole(roleOpt.get());
             userRepository.save(user);
+            bumpSecurityVersion(userId);
             return true;
         }
         return false;
@@ -150,6 +204,10 @@ public class UserService {
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isPresent()) {
             userRepository.updateEnabledStatus(userId, enabled);
+            if (!enabled) {
+                refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+            }
+            recordSecurityVersion(userId);
             return true;
         }
         return false;
@@ -158,7 +216,13 @@ public class UserService {
     // Delete user by ID
     public boolean deleteUser(Long userId) {
         if (userRepository.existsById(userId)) {
+            refreshTokenRepository.deleteByUserId(userId);
             userRepository.deleteById(userId);
+            TransactionCallbacks.afterCommit(() -> {
+                securityVersionRegistry.revokeAll(userId);
+                userDetailsCache.evictUser(userId);
+                searchService.userRemoved(userId);
+            });
             return true;
         }
         return false;
@@ -168,69 +232,151 @@ public class UserService {
     public boolean deleteUserByUsername(String username) {
         Optional<User> userOpt = userRepository.findByUsername(username);
         if (userOpt.isPresent()) {
+            Long userId = userOpt.get().getId();
+            refreshTokenRepository.deleteByUserId(userId);
             userRepository.delete(userOpt.get());
+            TransactionCallbacks.afterCommit(() -> {
+                securityVersionRegistry.revokeAll(userId);
+                userDetailsCache.evictUser(userId);
+                searchService.userRemoved(userId);
+            });
             return true;
         }
         return false;
     }
 
     // Check if user exists
+    @Transactional(readOnly = true)
     public boolean userExists(String username) {
         return userRepository.existsByUsername(username);
     }
 
     // Check if user exists by ID
+    @Transactional(readOnly = true)
     public boolean userExists(Long userId) {
         return userRepository.existsById(userId);
     }
 
-    // Get users by role
-    public List<User> getUsersByRole(String roleName) {
-        return userRepository.findByRolesName(roleName);
+    // Get a page of users with a role
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> getUsersByRolePage(String roleName, String cursor, Integer size, String sort,
+                                               boolean includeTotal) {
+        return page(cursor, size, sort, includeTotal ? () -> userRepository.countByRoleName(roleName) : null,
+                (position, limit) -> position.sort() == UserCursor.Sort.ID
+                        ? userRepository.findPageByRoleNameById(roleName, position.afterId(), limit)
+                        : userRepository.findPageByRoleNameByUsername(roleName, position.afterUsername(), limit));
     }
 
-    // Get users by role ID
-    public List<User> getUsersByRoleId(Long roleId) {
-        return userRepository.findByRolesId(roleId);
+    // Get a page of users with a role, by role ID
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> getUsersByRoleIdPage(Long roleId, String cursor, Integer size, String sort,
+                                                 boolean includeTotal) {
+        return page(cursor, size, sort, includeTotal ? () -> userRepository.countByRoleId(roleId) : null,
+                (position, limit) -> position.sort() == UserCursor.Sort.ID
+                        ? userRepository.findPageByRoleIdById(roleId, position.afterId(), limit)
+                        : userRepository.findPageByRoleIdByUsername(roleId, position.afterUsername(), limit));
     }
 
     // Check if user has specific role
+    @Transactional(readOnly = true)
     public boolean userHasRole(Long userId, String roleName) {
-        Optional<User> userOpt = getUserById(userId);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            return user.getRoles().stream()
-                    .anyMatch(role -> role.getName().equals(roleName));
-        }
-        return false;
+        return userRepository.existsByIdAndRolesName(userId, roleName);
     }
 
     // Check if user has specific role by username
+    @Transactional(readOnly = true)
     public boolean userHasRoleByUsername(String username, String roleName) {
-        Optional<User> userOpt = getUserByUsername(username);
-        if (userOpt.isPresent()) {
-            User user = userOpt.get();
-            return user.getRoles().stream()
-                    .anyMatch(role -> role.getName().equals(roleName));
-        }
-        return false;
+        return userRepository.existsByUsernameAndRolesName(username, roleName);
     }
 
     // Get user roles
-    public Set<Role> getUserRoles(Long userId) {
-        Optional<User> userOpt = getUserById(userId);
-        if (userOpt.isPresent()) {
-            return userOpt.get().getRoles();
-        }
-        return Set.of();
+    @Transactional(readOnly = true)
+    public List<RoleSummary> getUserRoles(Long userId) {
+        return roleService.getRolesForUser(userId);
     }
 
     // Get user roles by username
-    public Set<Role> getUserRolesByUsername(String username) {
-        Optional<User> userOpt = getUserByUsername(username);
-        if (userOpt.isPresent()) {
-            return userOpt.get().getRoles();
+    @Transactional(readOnly = true)
+    public List<RoleSummary> getUserRolesByUsername(String username) {
+        return roleService.getRolesForUsername(username);
+    }
+
+    private User saveNewUser(String username, String encodedPassword, Set<String> roleNames) {
+        User user = new User(username, encodedPassword);
+        
+        // Add roles to user
+        if (roleNames != null && !roleNames.isEmpty()) {
+            for (String roleName : roleNames) {
+                Optional<Role> role = roleService.getRoleByName(roleName);
+                if (role.isPresent()) {
+                    user.addRole(role.get());
+                } else {
+                    throw new RuntimeException("Role not found: " + roleName);
+                }
+            }
+        }
+
+        User saved = userRepository.save(user);
+        TransactionCallbacks.afterCommit(() -> searchService.userSaved(saved.getId(), saved.getUsername()));
+        return saved;
+    }
+
+    // Increments in the database rather than from the loaded entity, so a concurrent bump is never overwritten
+    private void bumpSecurityVersion(Long userId) {
+        userRepository.incrementSecurityVersions(List.of(userId));
+        recordSecurityVersion(userId);
+    }
+
+    // Publish the new security version and drop the cached user once the change is committed. The version
+    // is read back after this transaction's increment, which holds the row lock, so it is the committed value.
+    private void recordSecurityVersion(Long userId) {
+        long securityVersion = userRepository.findSecurityVersion(userId)
+                .map(SecurityVersionView::getSecurityVersion)
+                .orElse(0L);
+        TransactionCallbacks.afterCommit(() -> {
+            securityVersionRegistry.record(userId, securityVersion);
+            userDetailsCache.evictUser(userId);
+        });
+    }
+
+    // Fetches one row past the page to learn whether another page exists. A cursor carries its own
+    // sort order; an explicit sort that disagrees with it is rejected rather than silently mixed.
+    private CursorPage<UserSummary> page(String cursor, Integer size, String sort, LongSupplier total,
+                                         BiFunction<UserCursor, Limit, List<UserRowView>> query) {
+        UserCursor position;
+        if (cursor == null || cursor.isBlank()) {
+            position = UserCursor.first(UserCursor.Sort.from(sort));
+        } else {
+            position = UserCursor.decode(cursor);
+            if (sort != null && !sort.isBlank() && UserCursor.Sort.from(sort) != position.sort()) {
+                throw new IllegalArgumentException("Cursor was issued for a different sort order");
+            }
+        }
+
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        List<UserRowView> rows = query.apply(position, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<UserRowView> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            UserRowView last = items.get(pageSize - 1);
+            nextCursor = UserCursor.after(position.sort(), last.getId(), last.getUsername()).encode();
+        }
+        return new CursorPage<>(withRoles(items), nextCursor, total != null ? total.getAsLong() : null);
+    }
+
+    // One query for the roles of every user on the page, so a page costs two queries whatever its size
+    private List<UserSummary> withRoles(List<UserRowView> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
         }
-        return Set.of();
+        Map<Long, List<RoleSummary>> rolesByUser = new HashMap<>();
+        userRepository.findRoleRows(rows.stream().map(UserRowView::getId).toList())
+                .forEach(row -> rolesByUser.computeIfAbsent(row.getUserId(), id -> new ArrayList<>())
+                        .add(new RoleSummary(row.getRoleId(), row.getRoleName())));
+        return rows.stream()
+                .map(row -> new UserSummary(row.getId(), row.getUsername(), row.isEnabled(),
+                        rolesByUser.getOrDefault(row.getId(), List.of())))
+                .toList();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+// Everything a RotationStrategy sees of one workspace. memberIds are sorted ascending, period is
+// the index of the current rotation period (app.rotation.period) and lastPerformed maps
+// chore id -> member id -> latest completion; it is only filled for strategies that need history.
+public record WorkspaceRotation(long workspaceId, List<Long> memberIds, List<PendingChore> chores,
+                                Map<Long, Map<Long, LocalDateTime>> lastPerformed, long period) {
+
+    // Earliest due date first, undated chores last
+    public static final Comparator<PendingChore> BY_DUE_DATE = Comparator
+            .comparing(PendingChore::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(PendingChore::id);
+
+    public record PendingChore(long id, Long assigneeId, LocalDate dueDate) {
+    }
+
+    public LocalDateTime lastPerformed(long choreId, long memberId) {
+        Map<Long, LocalDateTime> byMember = lastPerformed.get(choreId);
+        return byMember == null ? null : byMember.get(memberId);
+    }
+}
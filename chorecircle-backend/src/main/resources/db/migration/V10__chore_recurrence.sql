@@ -0,0 +1,52 @@
+-- A recurring chore stores its rule once; occurrences are expanded on demand for the requested window.
+-- recurrence_start is the first occurrence, recurrence_next the earliest occurrence not yet completed or
+-- skipped. due_date stays the effective due date of that occurrence, so reminders, rotation and the
+-- dashboard treat a recurring chore like any other open chore.
+ALTER TABLE chores ADD COLUMN IF NOT EXISTS recurrence_frequency varchar(8);
+ALTER TABLE chores ADD COLUMN IF NOT EXISTS recurrence_interval integer;
+-- Bit (ISO day of week - 1) for each weekday a WEEKLY rule falls on
+ALTER TABLE chores ADD COLUMN IF NOT EXISTS recurrence_weekdays integer;
+ALTER TABLE chores ADD COLUMN IF NOT EXISTS recurrence_start date;
+ALTER TABLE chores ADD COLUMN IF NOT EXISTS recurrence_until date;
+ALTER TABLE chores ADD COLUMN IF NOT EXISTS recurrence_next date;
+
+-- Only occurrences that were completed, skipped (exceptions to the rule) or overridden have a row
+CREATE TABLE IF NOT EXISTS chore_occurrences (
+    chore_id        bigint  NOT NULL REFERENCES chores (id),
+    occurrence_date date    NOT NULL,
+    due_date        date,
+    assigned_to_id  bigint REFERENCES users (id),
+    skipped         boolean NOT NULL DEFAULT false,
+    completed_by_id bigint REFERENCES users (id),
+    completed_at    timestamp(6),
+    PRIMARY KEY (chore_id, occurrence_date)
+);
+
+-- Occurrences moved to another day are found by their new date too
+CREATE INDEX IF NOT EXISTS idx_chore_occurrences_moved ON chore_occurrences (due_date) WHERE due_date IS NOT NULL;
+
+-- History rows of a recurring chore name the occurrence they completed
+ALTER TABLE chore_history ADD COLUMN IF NOT EXISTS occurrence_date date;
+
+-- The recurrence is shown on the board too
+CREATE OR REPLACE FUNCTION chores_board_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM bump_board_versions(ARRAY(SELECT DISTINCT workspace_id FROM new_rows WHERE workspace_id IS NOT NULL));
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM bump_board_versions(ARRAY(SELECT DISTINCT workspace_id FROM old_rows WHERE workspace_id IS NOT NULL));
+    ELSE
+        -- Only columns shown on the board count; e.g. the reminder job's reminded_for does not
+        PERFORM bump_board_versions(ARRAY(
+            SELECT unnest(ARRAY[n.workspace_id, o.workspace_id])
+            FROM new_rows n JOIN old_rows o ON o.id = n.id
+            WHERE (n.workspace_id, n.title, n.description, n.assigned_to_id, n.due_date, n.completed,
+                   n.recurrence_frequency, n.recurrence_interval, n.recurrence_weekdays, n.recurrence_start,
+                   n.recurrence_until, n.recurrence_next)
+                  IS DISTINCT FROM (o.workspace_id, o.title, o.description, o.assigned_to_id, o.due_date, o.completed,
+                   o.recurrence_frequency, o.recurrence_interval, o.recurrence_weekdays, o.recurrence_start,
+                   o.recurrence_until, o.recurrence_next)));
+    END IF;
+    RETURN NULL;
+END
+$$;
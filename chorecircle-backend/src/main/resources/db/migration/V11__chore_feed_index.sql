@@ -0,0 +1,4 @@
+-- Serves the cross-workspace "my chores" feed. For one assignee, workspace and completed state the
+-- entries are in feed order (due date, undated last, then id), so each run the feed merges is a
+-- single range scan starting right after the client's cursor.
+CREATE INDEX IF NOT EXISTS idx_chores_assignee_feed ON chores (assigned_to_id, workspace_id, completed, due_date, id);
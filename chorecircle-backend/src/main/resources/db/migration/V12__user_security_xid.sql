@@ -0,0 +1,18 @@
+-- Id of the transaction that last changed a user's security_version. SecurityVersionRegistry refreshes
+-- from it: every transaction that had not committed when the previous refresh took its snapshot has an
+-- id at or above that snapshot's xmin, so rows are picked up in commit order however long the writer ran.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS security_xid xid8;
+
+CREATE INDEX IF NOT EXISTS idx_users_security_xid ON users (security_xid) WHERE security_xid IS NOT NULL;
+
+CREATE OR REPLACE FUNCTION users_stamp_security_xid() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    NEW.security_xid := pg_current_xact_id();
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS users_security_xid ON users;
+CREATE TRIGGER users_security_xid BEFORE UPDATE OF security_version ON users
+    FOR EACH ROW WHEN (NEW.security_version IS DISTINCT FROM OLD.security_version)
+    EXECUTE FUNCTION users_stamp_security_xid();
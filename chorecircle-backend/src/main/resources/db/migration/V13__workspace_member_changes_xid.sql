@@ -0,0 +1,6 @@
+-- Id of the transaction that logged each membership change. MembershipIndex replays the changes whose xid is
+-- at or above the xmin of its previous refresh's snapshot, which covers every transaction that had not yet
+-- committed then, however long it ran; changed_at is the write time and cannot tell that.
+ALTER TABLE workspace_member_changes ADD COLUMN IF NOT EXISTS xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+CREATE INDEX IF NOT EXISTS idx_workspace_member_changes_xid ON workspace_member_changes (xid);
@@ -0,0 +1,6 @@
+-- Id of the transaction that revoked each access token. TokenRevocationList loads the rows whose xid is at or
+-- above the xmin of its previous refresh's snapshot, which covers every transaction that had not yet committed
+-- then, however long it ran; revoked_at is the write time and cannot tell that.
+ALTER TABLE revoked_tokens ADD COLUMN IF NOT EXISTS xid xid8 NOT NULL DEFAULT pg_current_xact_id();
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_xid ON revoked_tokens (xid);
@@ -0,0 +1,21 @@
+-- Tombstones for deleted users, written by trigger so every writer is covered. SecurityVersionRegistry loads
+-- them by xid like security_xid (V12), so every instance stops accepting a deleted user's self-contained
+-- tokens; a tombstone is only needed until the last access token issued before the delete has expired.
+CREATE TABLE IF NOT EXISTS deleted_users (
+    user_id    bigint       PRIMARY KEY,
+    deleted_at timestamp(6) NOT NULL DEFAULT clock_timestamp(),
+    xid        xid8         NOT NULL DEFAULT pg_current_xact_id()
+);
+
+CREATE INDEX IF NOT EXISTS idx_deleted_users_xid ON deleted_users (xid);
+
+CREATE OR REPLACE FUNCTION users_log_delete() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO deleted_users (user_id) VALUES (OLD.id) ON CONFLICT (user_id) DO NOTHING;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS users_log_delete ON users;
+CREATE TRIGGER users_log_delete AFTER DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION users_log_delete();
@@ -0,0 +1,13 @@
+-- Completions stage their history row here in their own transaction, so the row is as durable as the
+-- completion. ChoreHistoryWriter moves rows into chore_history in batches, claiming each by deleting it, and
+-- rescans rows left behind (by a crash or a failed write) once they are older than app.history.recovery-age.
+CREATE TABLE IF NOT EXISTS chore_history_outbox (
+    id              bigint       GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    chore_id        bigint       NOT NULL,
+    workspace_id    bigint,
+    performed_by_id bigint,
+    performed_at    timestamp(6) NOT NULL,
+    note            varchar(255),
+    occurrence_date date,
+    staged_at       timestamp(6) NOT NULL DEFAULT clock_timestamp()
+);
@@ -0,0 +1,83 @@
+-- Schema as previously created by ddl-auto. Every statement is idempotent so databases that
+-- were created by Hibernate can be baselined by simply running this script against them.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id               bigint       NOT NULL PRIMARY KEY,
+    username         varchar(255) NOT NULL UNIQUE,
+    password         varchar(255) NOT NULL,
+    enabled          boolean      NOT NULL,
+    security_version bigint       NOT NULL DEFAULT 0
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(255) NOT NULL UNIQUE
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id bigint NOT NULL REFERENCES users (id),
+    role_id bigint NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_hash  varchar(64)  NOT NULL UNIQUE,
+    family_id   varchar(36)  NOT NULL,
+    user_id     bigint       NOT NULL REFERENCES users (id),
+    created_at  timestamp(6) NOT NULL,
+    expires_at  timestamp(6) NOT NULL,
+    revoked_at  timestamp(6)
+);
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token_id   varchar(36)  NOT NULL UNIQUE,
+    expires_at timestamp(6) NOT NULL,
+    revoked_at timestamp(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS workspaces (
+    id   bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name varchar(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS workspace_members (
+    workspace_id bigint NOT NULL REFERENCES workspaces (id),
+    user_id      bigint NOT NULL REFERENCES users (id),
+    PRIMARY KEY (workspace_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS chores (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title          varchar(255),
+    description    varchar(255),
+    workspace_id   bigint REFERENCES workspaces (id),
+    assigned_to_id bigint REFERENCES users (id),
+    due_date       date,
+    completed      boolean NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS chore_history (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    chore_id        bigint NOT NULL REFERENCES chores (id),
+    performed_by_id bigint REFERENCES users (id),
+    performed_at    timestamp(6),
+    note            varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS pings (
+    id             bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    chore_id       bigint NOT NULL REFERENCES chores (id),
+    target_user_id bigint NOT NULL REFERENCES users (id),
+    sent_by_id     bigint REFERENCES users (id),
+    sent_at        timestamp(6),
+    message        varchar(255)
+);
+
+-- users.id used to be an identity column; make sure the pooled sequence starts past existing ids.
+-- Hibernate hands out the 50 ids below each value it reads, and the sequence never moves backwards.
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users) + 50,
+                                    (SELECT last_value FROM users_seq)));
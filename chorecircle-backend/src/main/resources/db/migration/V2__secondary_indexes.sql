@@ -0,0 +1,34 @@
+-- Indexes for foreign keys and the access paths the services use. Postgres does not index the
+-- referencing side of a foreign key, so without these every join or cascade is a sequential scan.
+
+-- Role membership is looked up by role as often as by user (role listings, bulk assign/revoke)
+CREATE INDEX IF NOT EXISTS idx_user_roles_role_id ON user_roles (role_id);
+
+-- Username/role name prefix search and keyset pages on lower(name)
+CREATE INDEX IF NOT EXISTS idx_users_username_prefix ON users (lower(username) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_roles_name_prefix ON roles (lower(name) text_pattern_ops);
+
+-- Loaded at startup by SecurityVersionRegistry; most users never change it
+CREATE INDEX IF NOT EXISTS idx_users_security_version ON users (id, security_version) WHERE security_version > 0;
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_workspace_members_user_id ON workspace_members (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_chores_workspace_id ON chores (workspace_id);
+CREATE INDEX IF NOT EXISTS idx_chores_assigned_to_id ON chores (assigned_to_id);
+-- Pending chores by due date, overall, per workspace and per assignee. Completed chores make up
+-- most of the table over time and are never read through these paths.
+CREATE INDEX IF NOT EXISTS idx_chores_pending_due ON chores (due_date) WHERE NOT completed;
+CREATE INDEX IF NOT EXISTS idx_chores_workspace_pending_due ON chores (workspace_id, due_date) WHERE NOT completed;
+CREATE INDEX IF NOT EXISTS idx_chores_assignee_pending_due ON chores (assigned_to_id, due_date) WHERE NOT completed;
+
+CREATE INDEX IF NOT EXISTS idx_chore_history_chore_performed ON chore_history (chore_id, performed_at DESC);
+CREATE INDEX IF NOT EXISTS idx_chore_history_performer_performed ON chore_history (performed_by_id, performed_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_pings_target_sent ON pings (target_user_id, sent_at DESC);
+CREATE INDEX IF NOT EXISTS idx_pings_chore_id ON pings (chore_id);
+CREATE INDEX IF NOT EXISTS idx_pings_sent_by_id ON pings (sent_by_id);
@@ -0,0 +1,19 @@
+-- Substring search uses pg_trgm GIN indexes. Installing the extension needs elevated privileges;
+-- when that is not possible the migration still succeeds and SearchService falls back to its
+-- in-memory indexes.
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+    RAISE NOTICE 'pg_trgm is not available (%); substring search will use in-memory indexes', SQLERRM;
+END
+$$;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+        CREATE INDEX IF NOT EXISTS idx_roles_name_trgm ON roles USING gin (lower(name) gin_trgm_ops);
+    END IF;
+END
+$$;
@@ -0,0 +1,2 @@
+-- Per-workspace choice of rotation strategy (see RotationStrategy); null uses the configured default
+ALTER TABLE workspaces ADD COLUMN IF NOT EXISTS rotation_strategy varchar(32);
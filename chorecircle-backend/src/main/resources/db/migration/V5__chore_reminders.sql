@@ -0,0 +1,11 @@
+-- Due date a reminder ping was last generated for; a chore whose due_date moves gets a new reminder
+ALTER TABLE chores ADD COLUMN IF NOT EXISTS reminded_for date;
+
+-- Optional per-workspace quiet hours (local time); reminders falling inside are held until the window ends.
+-- A start after the end wraps past midnight, e.g. 22:00-07:00.
+ALTER TABLE workspaces ADD COLUMN IF NOT EXISTS quiet_start time;
+ALTER TABLE workspaces ADD COLUMN IF NOT EXISTS quiet_end time;
+
+-- The reminder loader seeks through pending, not yet reminded chores in (due_date, id) order
+CREATE INDEX IF NOT EXISTS idx_chores_reminder_due ON chores (due_date, id)
+    WHERE NOT completed AND reminded_for IS DISTINCT FROM due_date;
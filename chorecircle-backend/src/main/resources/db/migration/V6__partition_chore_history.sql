@@ -0,0 +1,67 @@
+-- chore_history becomes an append-only table range-partitioned by performed_at month. Ids come from a
+-- sequence instead of IDENTITY, and the primary key includes the partition key.
+-- workspace_id is copied from the chore so workspace history reads touch only chore_history.
+
+-- Creates the month's partition if it does not exist yet; used here and by ChoreHistoryService
+CREATE OR REPLACE FUNCTION chore_history_ensure_partition(month_start date) RETURNS text
+LANGUAGE plpgsql AS $$
+DECLARE
+    lower_bound date := date_trunc('month', month_start)::date;
+    partition_name text := 'chore_history_' || to_char(lower_bound, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        BEGIN
+            EXECUTE format('CREATE TABLE %I PARTITION OF chore_history FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, lower_bound, (lower_bound + interval '1 month')::date);
+        EXCEPTION WHEN duplicate_table THEN
+            -- created concurrently by another instance
+            NULL;
+        END;
+    END IF;
+    RETURN partition_name;
+END
+$$;
+
+CREATE SEQUENCE IF NOT EXISTS chore_history_seq START WITH 1;
+
+DO $$
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'chore_history'::regclass) = 'p' THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE chore_history RENAME TO chore_history_unpartitioned;
+    DROP INDEX IF EXISTS idx_chore_history_chore_performed;
+    DROP INDEX IF EXISTS idx_chore_history_performer_performed;
+
+    CREATE TABLE chore_history (
+        id              bigint       NOT NULL DEFAULT nextval('chore_history_seq'),
+        chore_id        bigint       NOT NULL REFERENCES chores (id),
+        workspace_id    bigint       REFERENCES workspaces (id),
+        performed_by_id bigint       REFERENCES users (id),
+        performed_at    timestamp(6) NOT NULL,
+        note            varchar(255),
+        PRIMARY KEY (id, performed_at)
+    ) PARTITION BY RANGE (performed_at);
+
+    PERFORM chore_history_ensure_partition(month::date)
+    FROM generate_series(
+        date_trunc('month', LEAST((SELECT MIN(performed_at) FROM chore_history_unpartitioned), now())),
+        date_trunc('month', now()) + interval '2 months',
+        interval '1 month') AS month;
+
+    INSERT INTO chore_history (id, chore_id, workspace_id, performed_by_id, performed_at, note)
+    SELECT h.id, h.chore_id, c.workspace_id, h.performed_by_id, COALESCE(h.performed_at, now()), h.note
+    FROM chore_history_unpartitioned h JOIN chores c ON c.id = h.chore_id;
+
+    DROP TABLE chore_history_unpartitioned;
+END
+$$;
+
+SELECT setval('chore_history_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM chore_history) + 1,
+                                            (SELECT last_value FROM chore_history_seq)));
+
+-- Created on the parent, so every partition gets them
+CREATE INDEX IF NOT EXISTS idx_chore_history_chore_performed ON chore_history (chore_id, performed_at DESC);
+CREATE INDEX IF NOT EXISTS idx_chore_history_performer_performed ON chore_history (performed_by_id, performed_at DESC);
+CREATE INDEX IF NOT EXISTS idx_chore_history_workspace_performed ON chore_history (workspace_id, performed_at DESC);
@@ -0,0 +1,25 @@
+-- Completions per workspace member and period, maintained by the history writer in the same transaction
+-- that inserts the chore_history rows. period is 'W' (ISO week, period_start is the Monday), 'M' (calendar
+-- month, period_start is the 1st) or 'A' (all time, period_start is 1970-01-01).
+CREATE TABLE IF NOT EXISTS completion_counters (
+    workspace_id bigint  NOT NULL,
+    period       char(1) NOT NULL,
+    period_start date    NOT NULL,
+    user_id      bigint  NOT NULL,
+    completions  integer NOT NULL,
+    PRIMARY KEY (workspace_id, period, period_start, user_id)
+);
+
+INSERT INTO completion_counters (workspace_id, period, period_start, user_id, completions)
+SELECT workspace_id, 'W', date_trunc('week', performed_at)::date, performed_by_id, count(*)
+FROM chore_history WHERE workspace_id IS NOT NULL AND performed_by_id IS NOT NULL
+GROUP BY 1, 2, 3, 4
+UNION ALL
+SELECT workspace_id, 'M', date_trunc('month', performed_at)::date, performed_by_id, count(*)
+FROM chore_history WHERE workspace_id IS NOT NULL AND performed_by_id IS NOT NULL
+GROUP BY 1, 2, 3, 4
+UNION ALL
+SELECT workspace_id, 'A', DATE '1970-01-01', performed_by_id, count(*)
+FROM chore_history WHERE workspace_id IS NOT NULL AND performed_by_id IS NOT NULL
+GROUP BY 1, 2, 3, 4
+ON CONFLICT DO NOTHING;
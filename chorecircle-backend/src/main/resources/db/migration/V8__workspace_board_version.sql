@@ -0,0 +1,111 @@
+-- board_version changes whenever anything shown on a workspace's dashboard changes: the workspace row, its
+-- members (or their usernames), its chores, its chore history and pings about its chores. The dashboard
+-- ETag is derived from it, so a client's cached board can be revalidated without reading chore tables.
+-- Triggers keep it current for every writer (JPA, JDBC batches, the reminder and rotation jobs).
+ALTER TABLE workspaces ADD COLUMN IF NOT EXISTS board_version bigint NOT NULL DEFAULT 0;
+
+-- Bumps each given workspace once, locking the rows in id order so concurrent statements cannot deadlock
+CREATE OR REPLACE FUNCTION bump_board_versions(workspace_ids bigint[]) RETURNS void LANGUAGE sql AS $$
+    UPDATE workspaces w SET board_version = w.board_version + 1
+    FROM (SELECT id FROM workspaces WHERE id = ANY (workspace_ids) ORDER BY id FOR NO KEY UPDATE) locked
+    WHERE w.id = locked.id
+$$;
+
+-- Direct updates of a workspace row bump its own version unless they set it
+CREATE OR REPLACE FUNCTION workspaces_board_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF NEW.board_version = OLD.board_version THEN
+        NEW.board_version := OLD.board_version + 1;
+    END IF;
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS workspaces_board_version ON workspaces;
+CREATE TRIGGER workspaces_board_version BEFORE UPDATE ON workspaces
+    FOR EACH ROW EXECUTE FUNCTION workspaces_board_changed();
+
+-- Statement-level triggers see all affected rows at once through transition tables, so a multi-row
+-- statement bumps each workspace a single time. A trigger with transition tables handles one event,
+-- hence one trigger per event sharing a function per table.
+CREATE OR REPLACE FUNCTION chores_board_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM bump_board_versions(ARRAY(SELECT DISTINCT workspace_id FROM new_rows WHERE workspace_id IS NOT NULL));
+    ELSIF TG_OP = 'DELETE' THEN
+        PERFORM bump_board_versions(ARRAY(SELECT DISTINCT workspace_id FROM old_rows WHERE workspace_id IS NOT NULL));
+    ELSE
+        -- Only columns shown on the board count; e.g. the reminder job's reminded_for does not
+        PERFORM bump_board_versions(ARRAY(
+            SELECT unnest(ARRAY[n.workspace_id, o.workspace_id])
+            FROM new_rows n JOIN old_rows o ON o.id = n.id
+            WHERE (n.workspace_id, n.title, n.description, n.assigned_to_id, n.due_date, n.completed)
+                  IS DISTINCT FROM (o.workspace_id, o.title, o.description, o.assigned_to_id, o.due_date, o.completed)));
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS chores_board_insert ON chores;
+DROP TRIGGER IF EXISTS chores_board_update ON chores;
+DROP TRIGGER IF EXISTS chores_board_delete ON chores;
+CREATE TRIGGER chores_board_insert AFTER INSERT ON chores REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION chores_board_changed();
+CREATE TRIGGER chores_board_update AFTER UPDATE ON chores REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION chores_board_changed();
+CREATE TRIGGER chores_board_delete AFTER DELETE ON chores REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION chores_board_changed();
+
+CREATE OR REPLACE FUNCTION workspace_members_board_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM bump_board_versions(ARRAY(SELECT DISTINCT workspace_id FROM new_rows));
+    ELSE
+        PERFORM bump_board_versions(ARRAY(SELECT DISTINCT workspace_id FROM old_rows));
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS workspace_members_board_insert ON workspace_members;
+DROP TRIGGER IF EXISTS workspace_members_board_delete ON workspace_members;
+CREATE TRIGGER workspace_members_board_insert AFTER INSERT ON workspace_members REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION workspace_members_board_changed();
+CREATE TRIGGER workspace_members_board_delete AFTER DELETE ON workspace_members REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION workspace_members_board_changed();
+
+-- chore_history is append-only; expired partitions are dropped, which no board shows anyway
+CREATE OR REPLACE FUNCTION chore_history_board_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM bump_board_versions(ARRAY(SELECT DISTINCT workspace_id FROM new_rows WHERE workspace_id IS NOT NULL));
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS chore_history_board_insert ON chore_history;
+CREATE TRIGGER chore_history_board_insert AFTER INSERT ON chore_history REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION chore_history_board_changed();
+
+CREATE OR REPLACE FUNCTION pings_board_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM bump_board_versions(ARRAY(
+        SELECT DISTINCT c.workspace_id FROM new_rows p JOIN chores c ON c.id = p.chore_id WHERE c.workspace_id IS NOT NULL));
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS pings_board_insert ON pings;
+CREATE TRIGGER pings_board_insert AFTER INSERT ON pings REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION pings_board_changed();
+
+-- Members' usernames are on the board
+CREATE OR REPLACE FUNCTION users_board_changed() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM bump_board_versions(ARRAY(SELECT workspace_id FROM workspace_members WHERE user_id = NEW.id));
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS users_board_username ON users;
+CREATE TRIGGER users_board_username AFTER UPDATE OF username ON users
+    FOR EACH ROW WHEN (OLD.username IS DISTINCT FROM NEW.username) EXECUTE FUNCTION users_board_changed();
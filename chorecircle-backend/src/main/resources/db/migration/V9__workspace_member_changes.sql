@@ -0,0 +1,32 @@
+-- Log of membership changes, written by trigger so every writer is covered. Each instance's in-memory
+-- MembershipIndex replays the recent entries to pick up changes made elsewhere. For one (workspace, user)
+-- pair the row lock on workspace_members orders the changes, so id order is also commit order.
+CREATE TABLE IF NOT EXISTS workspace_member_changes (
+    id           bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    workspace_id bigint       NOT NULL,
+    user_id      bigint       NOT NULL,
+    added        boolean      NOT NULL,
+    changed_at   timestamp(6) NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX IF NOT EXISTS idx_workspace_member_changes_changed_at ON workspace_member_changes (changed_at);
+
+CREATE OR REPLACE FUNCTION workspace_members_log_change() RETURNS trigger LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO workspace_member_changes (workspace_id, user_id, added)
+        SELECT workspace_id, user_id, true FROM new_rows ORDER BY workspace_id, user_id;
+    ELSE
+        INSERT INTO workspace_member_changes (workspace_id, user_id, added)
+        SELECT workspace_id, user_id, false FROM old_rows ORDER BY workspace_id, user_id;
+    END IF;
+    RETURN NULL;
+END
+$$;
+
+DROP TRIGGER IF EXISTS workspace_members_log_insert ON workspace_members;
+DROP TRIGGER IF EXISTS workspace_members_log_delete ON workspace_members;
+CREATE TRIGGER workspace_members_log_insert AFTER INSERT ON workspace_members REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION workspace_members_log_change();
+CREATE TRIGGER workspace_members_log_delete AFTER DELETE ON workspace_members REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION workspace_members_log_change();
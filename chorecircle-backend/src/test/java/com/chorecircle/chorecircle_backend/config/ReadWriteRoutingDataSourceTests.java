@@ -0,0 +1,103 @@
+package com.chorecircle.chorecircle_backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReadWriteRoutingDataSourceTests {
+
+	private final Connection primaryConnection = mock(Connection.class);
+	private final Connection replicaConnection = mock(Connection.class);
+	private final AtomicLong now = new AtomicLong(1_000);
+	private ReadWriteRoutingDataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		DataSource primary = mock(DataSource.class);
+		DataSource replica = mock(DataSource.class);
+		when(primary.getConnection()).thenReturn(primaryConnection);
+		when(replica.getConnection()).thenReturn(replicaConnection);
+		dataSource = new ReadWriteRoutingDataSource(primary, replica, Duration.ofSeconds(5), now::get);
+	}
+
+	@AfterEach
+	void tearDown() {
+		endTransaction();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void routesReadOnlyTransactionsToReplica() throws SQLException {
+		assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+
+		beginTransaction(true);
+		assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+		endTransaction();
+
+		beginTransaction(false);
+		assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+	}
+
+	@Test
+	void keepsWriterOnPrimaryForStickyWindow() throws SQLException {
+		authenticate("alice");
+		beginTransaction(false);
+		dataSource.getConnection();
+		commit();
+
+		beginTransaction(true);
+		assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+		endTransaction();
+
+		authenticate("bob");
+		beginTransaction(true);
+		assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+		endTransaction();
+
+		authenticate("alice");
+		now.addAndGet(5_001);
+		beginTransaction(true);
+		assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+	}
+
+	private static void beginTransaction(boolean readOnly) {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+	}
+
+	private static void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		endTransaction();
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+	}
+
+	private static void endTransaction() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		TransactionSynchronizationManager.setActualTransactionActive(false);
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+	private static void authenticate(String username) {
+		SecurityContextHolder.getContext()
+				.setAuthentication(new UsernamePasswordAuthenticationToken(username, null, List.of()));
+	}
+}
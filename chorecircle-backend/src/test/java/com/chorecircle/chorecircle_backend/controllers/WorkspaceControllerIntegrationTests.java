@@ -0,0 +1,125 @@
+package com.chorecircle.chorecircle_backend.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.chorecircle.chorecircle_backend.entities.User;
+import com.chorecircle.chorecircle_backend.security.JwtTokenProvider;
+import com.chorecircle.chorecircle_backend.services.ChoreService;
+import com.chorecircle.chorecircle_backend.services.MembershipIndex;
+import com.chorecircle.chorecircle_backend.services.UserService;
+
+// Runs against the configured database; every row it creates is removed afterwards
+@SpringBootTest
+@AutoConfigureMockMvc
+class WorkspaceControllerIntegrationTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ChoreService choreService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private MembershipIndex membershipIndex;
+
+	@Autowired
+	private JwtTokenProvider jwtTokenProvider;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private JdbcTemplate jdbc;
+	private User user;
+	private Long workspaceId;
+
+	@BeforeEach
+	void setUp() {
+		jdbc = new JdbcTemplate(dataSource);
+		user = userService.createUser("it-" + UUID.randomUUID().toString().substring(0, 12), "secret123");
+		workspaceId = jdbc.queryForObject("INSERT INTO workspaces (name, rotation_strategy) VALUES ('it', 'ROUND_ROBIN') "
+				+ "RETURNING id", Long.class);
+		jdbc.update("INSERT INTO workspace_members (workspace_id, user_id) VALUES (?, ?)", workspaceId, user.getId());
+		membershipIndex.refresh();
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbc.update("DELETE FROM completion_counters WHERE workspace_id = ?", workspaceId);
+		jdbc.update("DELETE FROM chore_history WHERE workspace_id = ?", workspaceId);
+		jdbc.update("DELETE FROM chore_occurrences WHERE chore_id IN (SELECT id FROM chores WHERE workspace_id = ?)",
+				workspaceId);
+		jdbc.update("DELETE FROM chores WHERE workspace_id = ?", workspaceId);
+		jdbc.update("DELETE FROM workspace_members WHERE workspace_id = ?", workspaceId);
+		jdbc.update("DELETE FROM workspaces WHERE id = ?", workspaceId);
+		userService.deleteUser(user.getId());
+	}
+
+	@Test
+	void answersNotModifiedUntilTheBoardChanges() throws Exception {
+		String etag = dashboardEtag(dashboard());
+
+		mockMvc.perform(dashboard().header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag));
+
+		Long choreId = choreService.createChore(workspaceId, user.getId(), "Dishes", null, null, null, null).getId();
+		String afterCreate = dashboardEtag(dashboard().header(HttpHeaders.IF_NONE_MATCH, etag));
+		assertThat(afterCreate).isNotEqualTo(etag);
+
+		choreService.completeChore(choreId, user.getId(), null, null).recorded().get(10, TimeUnit.SECONDS);
+		String afterCompletion = dashboardEtag(dashboard().header(HttpHeaders.IF_NONE_MATCH, afterCreate));
+		assertThat(afterCompletion).isNotEqualTo(afterCreate);
+
+		mockMvc.perform(dashboard().header(HttpHeaders.IF_NONE_MATCH, afterCompletion))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void rejectsCallersOutsideTheWorkspace() throws Exception {
+		User outsider = userService.createUser("it-" + UUID.randomUUID().toString().substring(0, 12), "secret123");
+		try {
+			mockMvc.perform(get("/api/workspaces/{id}/dashboard", workspaceId)
+					.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtTokenProvider.generateToken(outsider)))
+					.andExpect(status().isBadRequest())
+					.andExpect(header().doesNotExist(HttpHeaders.ETAG));
+		} finally {
+			userService.deleteUser(outsider.getId());
+		}
+	}
+
+	// Expects a full response and returns its ETag
+	private String dashboardEtag(MockHttpServletRequestBuilder request) throws Exception {
+		String etag = mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).startsWith("\"" + workspaceId + "-");
+		return etag;
+	}
+
+	private MockHttpServletRequestBuilder dashboard() {
+		return get("/api/workspaces/{id}/dashboard", workspaceId)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtTokenProvider.generateToken(user));
+	}
+}
@@ -0,0 +1,40 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTests {
+
+	@Test
+	void neverReportsAddedValuesAsAbsent() {
+		BloomFilter filter = new BloomFilter(1_000, 0.001);
+		String[] ids = new String[1_000];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = UUID.randomUUID().toString();
+			filter.add(ids[i]);
+		}
+
+		for (String id : ids) {
+			assertThat(filter.mightContain(id)).isTrue();
+		}
+	}
+
+	@Test
+	void keepsFalsePositivesNearConfiguredRate() {
+		BloomFilter filter = new BloomFilter(1_000, 0.001);
+		for (int i = 0; i < 1_000; i++) {
+			filter.add(UUID.randomUUID().toString());
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain(UUID.randomUUID().toString())) {
+				falsePositives++;
+			}
+		}
+		assertThat(falsePositives).isLessThan(500);
+	}
+}
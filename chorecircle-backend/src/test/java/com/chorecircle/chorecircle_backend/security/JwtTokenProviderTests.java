@@ -0,0 +1,63 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.chorecircle.chorecircle_backend.entities.Role;
+import com.chorecircle.chorecircle_backend.entities.User;
+
+class JwtTokenProviderTests {
+
+	private static final String SECRET = "test-secret-that-is-long-enough-for-hs512-signatures-0123456789-0123456789-0123456789";
+
+	private JwtTokenProvider tokenProvider;
+
+	@BeforeEach
+	void setUp() {
+		tokenProvider = new JwtTokenProvider();
+		ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60_000);
+		ReflectionTestUtils.setField(tokenProvider, "cacheMaxEntries", 16);
+		tokenProvider.init();
+	}
+
+	@Test
+	void verifiesGeneratedToken() {
+		String token = tokenProvider.generateToken(authenticationFor("alice"));
+
+		Optional<VerifiedToken> verified = tokenProvider.verify(token);
+
+		assertThat(verified).isPresent();
+		assertThat(verified.get().username()).isEqualTo("alice");
+		assertThat(verified.get().userId()).isEqualTo(1L);
+		assertThat(verified.get().roles()).containsExactly("USER");
+		assertThat(verified.get().securityVersion()).isEqualTo(3L);
+		assertThat(tokenProvider.verify(token)).contains(verified.get());
+	}
+
+	@Test
+	void rejectsTamperedToken() {
+		String token = tokenProvider.generateToken(authenticationFor("alice"));
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+		assertThat(tokenProvider.verify(tampered)).isEmpty();
+		assertThat(tokenProvider.validateToken("not-a-jwt")).isFalse();
+	}
+
+	private static UsernamePasswordAuthenticationToken authenticationFor(String username) {
+		User user = new User(username, "hash");
+		user.setId(1L);
+		user.setSecurityVersion(3);
+		user.addRole(new Role(2L, "USER"));
+		RoleAuthorities roles = new RoleBitRegistry(null, "").forRoles(List.of("USER"));
+		CustomUserDetails principal = new CustomUserDetails(user, roles);
+		return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+	}
+}
@@ -0,0 +1,50 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+class RoleBitRegistryTests {
+
+	private final RoleBitRegistry registry = new RoleBitRegistry(null, "ADMIN > MODERATOR > USER, AUDITOR > USER");
+
+	@Test
+	void expandsHierarchyTransitively() {
+		RoleAuthorities admin = registry.forRoles(List.of("ADMIN"));
+
+		assertThat(admin.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+				.containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_MODERATOR", "ROLE_USER");
+		assertThat(admin.hasAny(registry.requiredMask(List.of("USER")))).isTrue();
+		assertThat(admin.hasAny(registry.requiredMask(List.of("AUDITOR")))).isFalse();
+		assertThat(registry.forRoles(List.of("USER")).hasAny(registry.requiredMask(List.of("MODERATOR")))).isFalse();
+	}
+
+	@Test
+	void sharesOneInstancePerDistinctRoleSet() {
+		RoleAuthorities first = registry.forRoles(List.of("MODERATOR", "AUDITOR"));
+		RoleAuthorities second = registry.forRoles(List.of("AUDITOR", "MODERATOR"));
+
+		assertThat(second).isSameAs(first);
+		assertThat(registry.forAuthorities(first.getAuthorities()).getEffectiveMask())
+				.isEqualTo(first.getEffectiveMask());
+	}
+
+	@Test
+	void refusesNamesOnceEveryBitIsTaken() {
+		// The four hierarchy roles take the first bits
+		registry.requiredMask(List.of("ADMIN", "AUDITOR"));
+		for (int i = 4; i < Long.SIZE; i++) {
+			registry.register("ROLE" + i);
+		}
+
+		assertThat(registry.requiredMask(List.of("ROLE63"))).isEqualTo(Long.MIN_VALUE);
+		assertThatThrownBy(() -> registry.requireBit("EXTRA")).isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> registry.forRoles(List.of("EXTRA"))).isInstanceOf(IllegalStateException.class);
+		registry.requireBit("ROLE4");
+		assertThat(registry.forRoles(List.of("ADMIN")).hasAny(registry.requiredMask(List.of("USER")))).isTrue();
+	}
+}
@@ -0,0 +1,72 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import com.chorecircle.chorecircle_backend.security.RouteAuthorizationTable.Access;
+
+class RouteAuthorizationTableTests {
+
+	private final RoleBitRegistry roleBitRegistry = new RoleBitRegistry(null, "ADMIN > MODERATOR");
+
+	private final RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+			.permitAll("/api/auth/**")
+			.hasAnyRole("/api/users/**", "ADMIN")
+			.hasAnyRole(HttpMethod.GET, "/api/users/{id}", "ADMIN", "MODERATOR")
+			.hasAnyRole(HttpMethod.GET, "/api/users/search", "ADMIN")
+			.hasAnyRole(HttpMethod.DELETE, "/api/users/{id}", "ADMIN")
+			.build(roleBitRegistry);
+
+	@Test
+	void mostSpecificRuleWinsRegardlessOfDeclarationOrder() {
+		assertThat(table.lookup("GET", "/api/users/42").roles()).containsExactlyInAnyOrder("ADMIN", "MODERATOR");
+		assertThat(table.lookup("GET", "/api/users/search").roles()).containsExactly("ADMIN");
+		assertThat(table.lookup("DELETE", "/api/users/42").roles()).containsExactly("ADMIN");
+		assertThat(table.lookup("PATCH", "/api/users/42/anything").pattern()).isEqualTo("/api/users/**");
+		assertThat(table.lookup("POST", "/api/auth/login").access()).isEqualTo(Access.PERMIT_ALL);
+		assertThat(table.lookup("GET", "/api/chores")).isSameAs(table.defaultRule());
+	}
+
+	@Test
+	void compilesRequiredRolesToMasks() {
+		long moderatorRead = table.lookup("GET", "/api/users/42").requiredMask();
+
+		assertThat(roleBitRegistry.forRoles(List.of("MODERATOR")).hasAny(moderatorRead)).isTrue();
+		assertThat(roleBitRegistry.forRoles(List.of("USER")).hasAny(moderatorRead)).isFalse();
+		// ADMIN implies MODERATOR, and is accepted by an ADMIN-only rule
+		assertThat(roleBitRegistry.forRoles(List.of("ADMIN"))
+				.hasAny(table.lookup("DELETE", "/api/users/42").requiredMask())).isTrue();
+	}
+
+	@Test
+	void reportsConflictingDeclarations() {
+		RouteAuthorizationTable conflicting = RouteAuthorizationTable.builder()
+				.hasAnyRole(HttpMethod.GET, "/api/roles/{id}", "ADMIN", "MODERATOR")
+				.hasAnyRole(HttpMethod.GET, "/api/roles/{name}", "ADMIN")
+				.build(roleBitRegistry);
+
+		assertThat(conflicting.problems()).hasSize(1);
+		assertThat(conflicting.lookup("GET", "/api/roles/7").pattern()).isEqualTo("/api/roles/{id}");
+	}
+
+	@Test
+	void reportsOnlyRulesAnEarlierRuleFullyCovers() {
+		RouteAuthorizationTable shadowed = RouteAuthorizationTable.builder()
+				.hasAnyRole("/api/roles/**", "ADMIN")
+				.hasAnyRole(HttpMethod.GET, "/api/roles/{id}", "ADMIN", "MODERATOR")
+				.build(roleBitRegistry);
+		RouteAuthorizationTable narrowerFirst = RouteAuthorizationTable.builder()
+				.hasAnyRole(HttpMethod.GET, "/api/users", "ADMIN", "MODERATOR")
+				.hasAnyRole("/api/users/**", "ADMIN")
+				.hasAnyRole(HttpMethod.GET, "/api/users/{id}", "ADMIN", "MODERATOR")
+				.build(roleBitRegistry);
+
+		assertThat(shadowed.problems()).singleElement().asString().contains("/api/roles/{id}");
+		assertThat(narrowerFirst.problems()).singleElement().asString()
+				.startsWith("Rule 'GET /api/users/{id}").contains("earlier rule '* /api/users/**");
+	}
+}
@@ -0,0 +1,69 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.chorecircle.chorecircle_backend.services.UserService;
+
+// Runs against the configured database; every row it creates is removed afterwards. Changes are made
+// with plain SQL, as another instance would, so only the refresh can tell the registry about them.
+@SpringBootTest
+class SecurityVersionRegistryIntegrationTests {
+
+	@Autowired
+	private SecurityVersionRegistry registry;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private JdbcTemplate jdbc;
+	private Long userId;
+
+	@BeforeEach
+	void setUp() {
+		jdbc = new JdbcTemplate(dataSource);
+		userId = userService.createUser("it-" + UUID.randomUUID().toString().substring(0, 12), "secret123").getId();
+		registry.refresh();
+	}
+
+	@AfterEach
+	void tearDown() {
+		userService.deleteUser(userId);
+		jdbc.update("DELETE FROM deleted_users WHERE user_id = ?", userId);
+	}
+
+	@Test
+	void picksUpAVersionBumpMadeElsewhere() {
+		long version = jdbc.queryForObject("SELECT security_version FROM users WHERE id = ?", Long.class, userId);
+		assertThat(registry.isCurrent(userId, version)).isTrue();
+
+		jdbc.update("UPDATE users SET security_version = security_version + 1 WHERE id = ?", userId);
+		registry.refresh();
+
+		assertThat(registry.isCurrent(userId, version)).isFalse();
+		assertThat(registry.isCurrent(userId, version + 1)).isTrue();
+	}
+
+	@Test
+	void revokesAUserDeletedElsewhere() {
+		jdbc.update("DELETE FROM user_roles WHERE user_id = ?", userId);
+		jdbc.update("DELETE FROM users WHERE id = ?", userId);
+		registry.refresh();
+
+		assertThat(registry.isCurrent(userId, 0)).isFalse();
+		assertThat(registry.isCurrent(userId, Long.MAX_VALUE - 1)).isFalse();
+	}
+}
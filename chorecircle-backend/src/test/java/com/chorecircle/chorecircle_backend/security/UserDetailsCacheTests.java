@@ -0,0 +1,58 @@
+package com.chorecircle.chorecircle_backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.chorecircle.chorecircle_backend.entities.User;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserDetailsCacheTests {
+
+	private final UserDetailsCache cache = new UserDetailsCache(100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+	private final AtomicInteger loads = new AtomicInteger();
+
+	@Test
+	void evictsByUserIdWithoutTouchingOtherUsers() {
+		load(1L, "alice");
+		load(2L, "bob");
+		load(3L, "carol");
+
+		cache.evictUser(1L);
+		cache.evictUsers(List.of(3L, 99L));
+		loads.set(0);
+
+		load(1L, "alice");
+		load(2L, "bob");
+		load(3L, "carol");
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void renameDropsTheOldUsernameEntry() {
+		load(1L, "alice");
+		cache.evictUsername("alice2");
+		load(1L, "alice2");
+
+		cache.evictUser(1L);
+		loads.set(0);
+
+		load(1L, "alice");
+		load(1L, "alice2");
+		assertThat(loads).hasValue(2);
+	}
+
+	private CustomUserDetails load(Long id, String username) {
+		return cache.get(username, () -> {
+			loads.incrementAndGet();
+			User user = new User(username, "secret");
+			user.setId(id);
+			return new CustomUserDetails(user, null);
+		});
+	}
+}
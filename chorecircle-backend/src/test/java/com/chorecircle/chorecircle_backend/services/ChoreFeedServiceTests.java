@@ -0,0 +1,43 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.chorecircle.chorecircle_backend.dto.ChoreSummary;
+
+class ChoreFeedServiceTests {
+
+	@Test
+	void mergesRunsByDueDateThenId() {
+		List<ChoreSummary> rows = List.of(
+				chore(4, 10, LocalDate.of(2026, 3, 1), false),
+				chore(9, 10, LocalDate.of(2026, 3, 5), false),
+				chore(2, 20, LocalDate.of(2026, 3, 1), false),
+				chore(3, 20, LocalDate.of(2026, 3, 9), false),
+				chore(7, 10, LocalDate.of(2026, 3, 2), true));
+
+		assertThat(ChoreFeedService.merge(rows, 4)).extracting(ChoreSummary::id).containsExactly(2L, 4L, 7L, 9L);
+		assertThat(ChoreFeedService.merge(rows, 10)).extracting(ChoreSummary::id).containsExactly(2L, 4L, 7L, 9L, 3L);
+		assertThat(ChoreFeedService.merge(List.of(), 3)).isEmpty();
+	}
+
+	@Test
+	void cursorRoundTripsAndRejectsGarbage() {
+		ChoreCursor dated = ChoreCursor.after(LocalDate.of(2026, 3, 1), 42);
+		ChoreCursor undated = ChoreCursor.after(null, 7);
+
+		assertThat(ChoreCursor.decode(dated.encode())).isEqualTo(dated);
+		assertThat(ChoreCursor.decode(undated.encode())).isEqualTo(undated);
+		assertThat(ChoreCursor.decode(undated.encode()).undated()).isTrue();
+		assertThatThrownBy(() -> ChoreCursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static ChoreSummary chore(long id, long workspaceId, LocalDate dueDate, boolean completed) {
+		return new ChoreSummary(id, workspaceId, "chore " + id, null, 1L, dueDate, completed, null);
+	}
+}
@@ -0,0 +1,171 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.chorecircle.chorecircle_backend.dto.HistoryEntry;
+import com.chorecircle.chorecircle_backend.services.ChoreHistoryWriter.Staged;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ChoreHistoryWriterTests {
+
+	private static final LocalDateTime AT = LocalDateTime.of(2026, 3, 10, 9, 0);
+
+	private final DataSource dataSource = mock(DataSource.class);
+	private final Connection connection = mock(Connection.class);
+	private final PreparedStatement statement = mock(PreparedStatement.class);
+	private final PreparedStatement claim = mock(PreparedStatement.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final CompletionStatsService completionStats = mock(CompletionStatsService.class);
+	// Chore id bound to the row being inserted, and how many more inserts fail with a connection error
+	private final AtomicLong boundChoreId = new AtomicLong();
+	private final AtomicInteger outages = new AtomicInteger();
+	// Outbox rows another writer has already claimed
+	private final Set<Long> claimedElsewhere = ConcurrentHashMap.newKeySet();
+	private final AtomicLong boundOutboxId = new AtomicLong();
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		when(dataSource.getConnection()).thenReturn(connection);
+		when(connection.prepareStatement(anyString())).thenReturn(statement);
+		when(connection.prepareStatement(startsWith("DELETE"))).thenReturn(claim);
+		when(statement.getConnection()).thenReturn(connection);
+		when(claim.getConnection()).thenReturn(connection);
+		when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+		doAnswer(invocation -> {
+			if (invocation.<Integer>getArgument(0) == 1) {
+				boundChoreId.set(invocation.<Long>getArgument(1));
+			}
+			return null;
+		}).when(statement).setObject(anyInt(), any(), anyInt());
+		doAnswer(invocation -> {
+			boundOutboxId.set(invocation.<Long>getArgument(1));
+			return null;
+		}).when(claim).setObject(anyInt(), any());
+		when(claim.executeUpdate()).thenAnswer(invocation -> claimedElsewhere.contains(boundOutboxId.get()) ? 0 : 1);
+		when(statement.executeUpdate()).thenAnswer(invocation -> {
+			if (outages.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+				throw new SQLException("connection lost", "08006");
+			}
+			if (boundChoreId.get() == 99) {
+				throw new SQLException("foreign key violation", "23503");
+			}
+			return 1;
+		});
+	}
+
+	@Test
+	void writesOnTheCallersThreadWhenTheQueueStaysFull() throws Exception {
+		ChoreHistoryWriter writer = writer(1);
+
+		CompletableFuture<Void> queued = writer.appendAll(List.of(staged(1)));
+		CompletableFuture<Void> overflow = writer.appendAll(List.of(staged(2), staged(3)));
+
+		assertThat(queued).isNotDone();
+		assertThat(overflow).isCompleted();
+		assertThat(writer.queued()).isEqualTo(1);
+		verify(completionStats).record(List.of(entry(2), entry(3)));
+	}
+
+	@Test
+	void aConstraintViolationOnlyFailsTheOffendingRow() throws SQLException {
+		ChoreHistoryWriter writer = writer(1);
+		writer.appendAll(List.of(staged(1)));
+
+		CompletableFuture<Void> batch = writer.appendAll(List.of(staged(2), staged(99), staged(3)));
+
+		assertThat(batch).isCompletedExceptionally();
+		verify(completionStats).record(List.of(entry(2)));
+		verify(completionStats).record(List.of(entry(3)));
+		verify(completionStats, never()).record(List.of(entry(99)));
+		// Claimed with the batch, then alone, then discarded so recovery does not retry it forever
+		verify(claim, times(3)).setObject(1, outboxId(99));
+	}
+
+	@Test
+	void rowsClaimedByAnotherWriterAreNotWrittenAgain() {
+		ChoreHistoryWriter writer = writer(1);
+		writer.appendAll(List.of(staged(1)));
+		claimedElsewhere.add(outboxId(3));
+
+		CompletableFuture<Void> batch = writer.appendAll(List.of(staged(2), staged(3)));
+
+		assertThat(batch).isCompleted();
+		verify(completionStats).record(List.of(entry(2)));
+	}
+
+	@Test
+	void directWritesDoNotWaitOutAnOutage() {
+		ChoreHistoryWriter writer = writer(1);
+		writer.appendAll(List.of(staged(1)));
+		outages.set(Integer.MAX_VALUE);
+
+		assertThat(writer.appendAll(List.of(staged(2)))).isCompletedExceptionally();
+	}
+
+	@Test
+	void queuedRowsAreRetriedUntilTheyAreWritten() throws Exception {
+		ChoreHistoryWriter writer = writer(10);
+		outages.set(2);
+		writer.start();
+		try {
+			CompletableFuture<Void> written = writer.appendAll(List.of(staged(1)));
+
+			written.get(5, TimeUnit.SECONDS);
+			assertThat(outages).hasValue(0);
+		} finally {
+			writer.stop();
+		}
+	}
+
+	private ChoreHistoryWriter writer(int queueCapacity) {
+		ChoreHistoryWriter writer = new ChoreHistoryWriter(dataSource, transactionManager, completionStats,
+				new SimpleMeterRegistry(), queueCapacity, 500, Duration.ofMillis(10), Duration.ofMillis(10),
+				Duration.ofSeconds(1), Duration.ofMinutes(1));
+		writer.partitionsChanged(Set.of(AT.toLocalDate().withDayOfMonth(1)));
+		return writer;
+	}
+
+	private static Staged staged(long choreId) {
+		return new Staged(outboxId(choreId), entry(choreId));
+	}
+
+	private static long outboxId(long choreId) {
+		return 1000 + choreId;
+	}
+
+	private static HistoryEntry entry(long choreId) {
+		return new HistoryEntry(null, choreId, 1L, 2L, AT, "done", LocalDate.of(2026, 3, 10));
+	}
+}
@@ -0,0 +1,246 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.chorecircle.chorecircle_backend.dto.RecurrenceRequest;
+import com.chorecircle.chorecircle_backend.entities.Recurrence.Frequency;
+import com.chorecircle.chorecircle_backend.services.ChoreService.BulkCompletion;
+import com.chorecircle.chorecircle_backend.services.ChoreService.BulkItem;
+import com.chorecircle.chorecircle_backend.services.ChoreService.BulkOutcome;
+import com.chorecircle.chorecircle_backend.services.ChoreService.BulkStatus;
+
+// Runs against the configured database; every row it creates is removed afterwards
+@SpringBootTest
+class ChoreServiceIntegrationTests {
+
+	private static final int THREADS = 8;
+
+	@Autowired
+	private ChoreService choreService;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private MembershipIndex membershipIndex;
+
+	@Autowired
+	private ChoreHistoryWriter choreHistoryWriter;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private JdbcTemplate jdbc;
+	private final List<Long> userIds = new ArrayList<>();
+	private final List<Long> workspaceIds = new ArrayList<>();
+	private Long memberId;
+	private Long outsiderId;
+
+	@BeforeEach
+	void setUp() {
+		jdbc = new JdbcTemplate(dataSource);
+		memberId = user();
+		outsiderId = user();
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (Long workspaceId : workspaceIds) {
+			jdbc.update("DELETE FROM completion_counters WHERE workspace_id = ?", workspaceId);
+			jdbc.update("DELETE FROM chore_history WHERE workspace_id = ?", workspaceId);
+			jdbc.update("DELETE FROM chore_history_outbox WHERE workspace_id = ?", workspaceId);
+			jdbc.update("DELETE FROM pings WHERE chore_id IN (SELECT id FROM chores WHERE workspace_id = ?)", workspaceId);
+			jdbc.update("DELETE FROM chore_occurrences WHERE chore_id IN (SELECT id FROM chores WHERE workspace_id = ?)",
+					workspaceId);
+			jdbc.update("DELETE FROM chores WHERE workspace_id = ?", workspaceId);
+			jdbc.update("DELETE FROM workspace_members WHERE workspace_id = ?", workspaceId);
+			jdbc.update("DELETE FROM workspaces WHERE id = ?", workspaceId);
+		}
+		userIds.forEach(userService::deleteUser);
+	}
+
+	@Test
+	void concurrentCompletionsOfAChoreCompleteItOnce() throws Exception {
+		Long workspaceId = workspace(memberId);
+		Long choreId = choreService.createChore(workspaceId, memberId, "Dishes", null, null, null, null).getId();
+
+		List<Callable<Boolean>> attempts = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			if (i % 2 == 0) {
+				attempts.add(() -> {
+					choreService.completeChore(choreId, memberId, null, null).recorded().get(10, TimeUnit.SECONDS);
+					return true;
+				});
+			} else {
+				attempts.add(() -> {
+					BulkCompletion completion = choreService.completeChores(memberId, List.of(new BulkItem(choreId, null, null)));
+					completion.recorded().get(10, TimeUnit.SECONDS);
+					return completion.outcomes().get(0).status() == BulkStatus.COMPLETED;
+				});
+			}
+		}
+
+		long completed = runTogether(attempts).stream().filter(Boolean::booleanValue).count();
+
+		assertThat(completed).isEqualTo(1);
+		assertThat(historyRows(choreId)).isEqualTo(1);
+	}
+
+	@Test
+	void bulkCompletionReportsEveryItemAndKeepsTheValidOnes() throws Exception {
+		Long workspaceId = workspace(memberId);
+		Long otherWorkspaceId = workspace(outsiderId);
+		Long oneOff = choreService.createChore(workspaceId, memberId, "Trash", null, null, null, null).getId();
+		Long recurring = choreService.createChore(workspaceId, memberId, "Plants", null, null, LocalDate.now(),
+				new RecurrenceRequest(Frequency.DAILY, 1, null, null)).getId();
+		Long foreign = choreService.createChore(otherWorkspaceId, outsiderId, "Garage", null, null, null, null).getId();
+
+		BulkCompletion completion = choreService.completeChores(memberId, List.of(
+				new BulkItem(oneOff, "done", null),
+				new BulkItem(oneOff, "again", null),
+				new BulkItem(recurring, null, null),
+				new BulkItem(recurring, null, LocalDate.now()),
+				new BulkItem(foreign, null, null),
+				new BulkItem(-1L, null, null),
+				new BulkItem(oneOff, null, LocalDate.now())));
+		completion.recorded().get(10, TimeUnit.SECONDS);
+
+		assertThat(completion.outcomes()).extracting(BulkOutcome::status).containsExactly(
+				BulkStatus.COMPLETED, BulkStatus.REJECTED, BulkStatus.COMPLETED, BulkStatus.REJECTED,
+				BulkStatus.NOT_FOUND, BulkStatus.NOT_FOUND, BulkStatus.REJECTED);
+		assertThat(completion.outcomes().get(2).occurrenceDate()).isEqualTo(LocalDate.now());
+		assertThat(completion.outcomes().get(1).error()).isEqualTo("Chore is already completed");
+		assertThat(completion.outcomes().get(6).error()).isEqualTo("Chore is not recurring");
+		assertThat(jdbc.queryForObject("SELECT completed FROM chores WHERE id = ?", Boolean.class, oneOff)).isTrue();
+		assertThat(jdbc.queryForObject("SELECT completed FROM chores WHERE id = ?", Boolean.class, foreign)).isFalse();
+		assertThat(historyRows(oneOff)).isEqualTo(1);
+		assertThat(historyRows(recurring)).isEqualTo(1);
+	}
+
+	@Test
+	void completionsLeaveNothingStagedOnceWrittenAndRejectsStageNothing() throws Exception {
+		Long workspaceId = workspace(memberId);
+		Long choreId = choreService.createChore(workspaceId, memberId, "Laundry", null, null, null, null).getId();
+
+		choreService.completeChore(choreId, memberId, null, null).recorded().get(10, TimeUnit.SECONDS);
+		assertThatThrownBy(() -> choreService.completeChore(choreId, memberId, null, null))
+				.hasMessage("Chore is already completed");
+
+		assertThat(historyRows(choreId)).isEqualTo(1);
+		assertThat(stagedRows(choreId)).isZero();
+	}
+
+	// A row staged by a completion whose queue entry was lost, as when the process dies after the commit
+	@Test
+	void recoversStagedRowsWhoseQueueEntryWasLost() {
+		Long workspaceId = workspace(memberId);
+		Long choreId = choreService.createChore(workspaceId, memberId, "Windows", null, null, null, null).getId();
+		jdbc.update("INSERT INTO chore_history_outbox (chore_id, workspace_id, performed_by_id, performed_at, staged_at) "
+				+ "VALUES (?, ?, ?, localtimestamp, localtimestamp - interval '1 hour')", choreId, workspaceId, memberId);
+
+		choreHistoryWriter.recover();
+		choreHistoryWriter.recover();
+
+		assertThat(historyRows(choreId)).isEqualTo(1);
+		assertThat(stagedRows(choreId)).isZero();
+	}
+
+	@Test
+	void bulksWritingToTheSameWorkspacesInOppositeOrderDoNotDeadlock() throws Exception {
+		Long first = workspace(memberId);
+		Long second = workspace(memberId);
+		RecurrenceRequest daily = new RecurrenceRequest(Frequency.DAILY, 1, null, null);
+		LocalDate start = LocalDate.now().minusDays(30);
+		// Chore id order crosses workspace id order between the two bulks
+		Long a = choreService.createChore(second, memberId, "a", null, null, start, daily).getId();
+		Long b = choreService.createChore(first, memberId, "b", null, null, start, daily).getId();
+		Long c = choreService.createChore(first, memberId, "c", null, null, start, daily).getId();
+		Long d = choreService.createChore(second, memberId, "d", null, null, start, daily).getId();
+
+		for (int round = 0; round < 10; round++) {
+			List<Callable<Boolean>> bulks = List.of(
+					() -> allCompleted(choreService.completeChores(memberId, List.of(new BulkItem(a, null, null),
+							new BulkItem(b, null, null)))),
+					() -> allCompleted(choreService.completeChores(memberId, List.of(new BulkItem(c, null, null),
+							new BulkItem(d, null, null)))));
+
+			assertThat(runTogether(bulks)).containsOnly(true);
+		}
+	}
+
+	private static boolean allCompleted(BulkCompletion completion) throws Exception {
+		completion.recorded().get(10, TimeUnit.SECONDS);
+		return completion.outcomes().stream().allMatch(outcome -> outcome.status() == BulkStatus.COMPLETED);
+	}
+
+	// Starts all tasks at once; a task that throws counts as false
+	private static List<Boolean> runTogether(List<Callable<Boolean>> tasks) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (Callable<Boolean> task : tasks) {
+				results.add(executor.submit(() -> {
+					start.await();
+					try {
+						return task.call();
+					} catch (Exception ex) {
+						return false;
+					}
+				}));
+			}
+			start.countDown();
+			List<Boolean> outcomes = new ArrayList<>();
+			for (Future<Boolean> result : results) {
+				outcomes.add(result.get(30, TimeUnit.SECONDS));
+			}
+			return outcomes;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private int stagedRows(Long choreId) {
+		return jdbc.queryForObject("SELECT count(*) FROM chore_history_outbox WHERE chore_id = ?", Integer.class, choreId);
+	}
+
+	private int historyRows(Long choreId) {
+		return jdbc.queryForObject("SELECT count(*) FROM chore_history WHERE chore_id = ?", Integer.class, choreId);
+	}
+
+	private Long user() {
+		Long id = userService.createUser("it-" + UUID.randomUUID().toString().substring(0, 12), "secret123").getId();
+		userIds.add(id);
+		return id;
+	}
+
+	private Long workspace(Long memberId) {
+		Long id = jdbc.queryForObject("INSERT INTO workspaces (name, rotation_strategy) VALUES ('it', 'ROUND_ROBIN') "
+				+ "RETURNING id", Long.class);
+		workspaceIds.add(id);
+		jdbc.update("INSERT INTO workspace_members (workspace_id, user_id) VALUES (?, ?)", id, memberId);
+		membershipIndex.refresh();
+		return id;
+	}
+}
@@ -0,0 +1,78 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+class IdBitmapTests {
+
+	@Test
+	void withAndWithoutLeaveTheOriginalUnchanged() {
+		IdBitmap original = IdBitmap.of(5, 70_000, 3);
+
+		IdBitmap added = original.with(9);
+		IdBitmap removed = original.without(70_000);
+
+		assertThat(original.toArray()).containsExactly(3, 5, 70_000);
+		assertThat(added.toArray()).containsExactly(3, 5, 9, 70_000);
+		assertThat(removed.toArray()).containsExactly(3, 5);
+		assertThat(original.with(5)).isSameAs(original);
+		assertThat(original.without(6)).isSameAs(original);
+		assertThat(IdBitmap.of(1).without(1)).isSameAs(IdBitmap.EMPTY);
+	}
+
+	@Test
+	void switchesBetweenArrayAndBitsetContainers() {
+		IdBitmap bitmap = IdBitmap.EMPTY;
+		for (int low = 0; low < IdBitmap.ARRAY_MAX; low++) {
+			bitmap = bitmap.with((1 << 16) + low * 2);
+		}
+		IdBitmap dense = bitmap.with((1 << 16) + 1);
+		IdBitmap sparseAgain = dense.without((1 << 16) + 2);
+
+		assertThat(dense.cardinality()).isEqualTo(IdBitmap.ARRAY_MAX + 1);
+		assertThat(dense.contains((1 << 16) + 1)).isTrue();
+		assertThat(dense.contains((1 << 16) + 3)).isFalse();
+		assertThat(sparseAgain.cardinality()).isEqualTo(IdBitmap.ARRAY_MAX);
+		assertThat(sparseAgain.contains((1 << 16) + 2)).isFalse();
+		assertThat(sparseAgain.contains((1 << 16) + 4)).isTrue();
+	}
+
+	@Test
+	void matchesATreeSetUnderRandomUpdates() {
+		Random random = new Random(42);
+		TreeSet<Integer> expected = new TreeSet<>();
+		IdBitmap bitmap = IdBitmap.EMPTY;
+		for (int i = 0; i < 50_000; i++) {
+			// Mostly dense in the first container so it crosses the array/bitset threshold both ways
+			int id = random.nextInt(10) == 0 ? random.nextInt(Integer.MAX_VALUE) : random.nextInt(12_000);
+			if (random.nextInt(3) == 0) {
+				expected.remove(id);
+				bitmap = bitmap.without(id);
+			} else {
+				expected.add(id);
+				bitmap = bitmap.with(id);
+			}
+		}
+
+		assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+		assertThat(bitmap.toArray()).containsExactly(expected.stream().mapToInt(Integer::intValue).toArray());
+		for (int id = 0; id < 12_000; id++) {
+			assertThat(bitmap.contains(id)).isEqualTo(expected.contains(id));
+		}
+	}
+
+	@Test
+	void builderRequiresAscendingIds() {
+		IdBitmap built = new IdBitmap.Builder().add(1).add(2).add(1 << 20).build();
+
+		assertThat(built.toArray()).containsExactly(1, 2, 1 << 20);
+		assertThat(built.contains(-1)).isFalse();
+		assertThatThrownBy(() -> new IdBitmap.Builder().add(5).add(5)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> IdBitmap.EMPTY.with(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
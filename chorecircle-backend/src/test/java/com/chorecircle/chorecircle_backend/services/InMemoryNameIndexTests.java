@@ -0,0 +1,37 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.chorecircle.chorecircle_backend.dto.SearchHit;
+
+class InMemoryNameIndexTests {
+
+	@Test
+	void ranksExactThenPrefixThenInnerMatches() {
+		InMemoryNameIndex index = new InMemoryNameIndex();
+		index.put(1L, "Samantha");
+		index.put(2L, "sam");
+		index.put(3L, "Rosamund");
+		index.put(4L, "samuel");
+		index.put(5L, "bob");
+
+		assertThat(index.search("sam", 10)).extracting(SearchHit::name)
+				.containsExactly("sam", "samuel", "Samantha", "Rosamund");
+		assertThat(index.search("sam", 2)).extracting(SearchHit::id).containsExactly(2L, 4L);
+	}
+
+	@Test
+	void prefixLookupFollowsRenamesAndRemovals() {
+		InMemoryNameIndex index = new InMemoryNameIndex();
+		index.put(1L, "alice");
+		index.put(2L, "alfred");
+		index.put(3L, "bob");
+		index.put(3L, "albert");
+		index.remove(2L);
+
+		assertThat(index.prefix("al", 10)).extracting(SearchHit::name).containsExactly("albert", "alice");
+		assertThat(index.prefix("b", 10)).isEmpty();
+	}
+}
@@ -0,0 +1,101 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Runs against the configured database; every row it creates is removed afterwards
+@SpringBootTest
+class MembershipIndexIntegrationTests {
+
+	@Autowired
+	private MembershipIndex membershipIndex;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private JdbcTemplate jdbc;
+	private Long userId;
+	private Long workspaceId;
+
+	@BeforeEach
+	void setUp() {
+		jdbc = new JdbcTemplate(dataSource);
+		userId = userService.createUser("it-" + UUID.randomUUID().toString().substring(0, 12), "secret123").getId();
+		workspaceId = jdbc.queryForObject("INSERT INTO workspaces (name, rotation_strategy) VALUES ('it', 'ROUND_ROBIN') "
+				+ "RETURNING id", Long.class);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbc.update("DELETE FROM workspace_members WHERE workspace_id = ?", workspaceId);
+		jdbc.update("DELETE FROM workspaces WHERE id = ?", workspaceId);
+		userService.deleteUser(userId);
+	}
+
+	// The remove's transaction takes its xid before the add's but commits after it, and a long transaction
+	// in between keeps the add in the refresh window after the remove has left it
+	@Test
+	void aRemoveWithAnOlderXidThanTheAddIsNotUndone() throws Exception {
+		membershipIndex.refresh();
+		try (Connection remove = transaction(); Connection longRunning = transaction()) {
+			xid(remove);
+			xid(longRunning);
+			jdbc.update("INSERT INTO workspace_members (workspace_id, user_id) VALUES (?, ?)", workspaceId, userId);
+			try (Statement statement = remove.createStatement()) {
+				statement.executeUpdate("DELETE FROM workspace_members WHERE workspace_id = " + workspaceId
+						+ " AND user_id = " + userId);
+			}
+			remove.commit();
+
+			membershipIndex.refresh();
+			assertThat(membershipIndex.isMember(workspaceId, userId)).isFalse();
+			membershipIndex.refresh();
+			assertThat(membershipIndex.isMember(workspaceId, userId)).isFalse();
+
+			longRunning.rollback();
+		}
+		membershipIndex.refresh();
+		assertThat(membershipIndex.isMember(workspaceId, userId)).isFalse();
+	}
+
+	@Test
+	void followsAddsAndRemoves() {
+		jdbc.update("INSERT INTO workspace_members (workspace_id, user_id) VALUES (?, ?)", workspaceId, userId);
+		membershipIndex.refresh();
+		assertThat(membershipIndex.isMember(workspaceId, userId)).isTrue();
+		assertThat(membershipIndex.workspacesOf(userId)).containsExactly(workspaceId);
+
+		jdbc.update("DELETE FROM workspace_members WHERE workspace_id = ? AND user_id = ?", workspaceId, userId);
+		membershipIndex.refresh();
+		assertThat(membershipIndex.isMember(workspaceId, userId)).isFalse();
+		assertThat(membershipIndex.workspacesOf(userId)).isEmpty();
+	}
+
+	private Connection transaction() throws Exception {
+		Connection connection = dataSource.getConnection();
+		connection.setAutoCommit(false);
+		return connection;
+	}
+
+	// Assigns the transaction its xid now, as its first write would
+	private static void xid(Connection connection) throws Exception {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("SELECT pg_current_xact_id()");
+		}
+	}
+}
@@ -0,0 +1,83 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.chorecircle.chorecircle_backend.dto.PingEvent;
+
+class PingInboxTests {
+
+	private static PingEvent ping(long id, long choreId, Long sentById) {
+		return new PingEvent(id, choreId, 1L, sentById, LocalDateTime.of(2026, 3, 10, 9, 0), "ping " + id);
+	}
+
+	private static List<Long> ids(List<PingEvent> events) {
+		return events.stream().map(PingEvent::id).toList();
+	}
+
+	@Test
+	void dropsTheOldestPingWhenFull() throws InterruptedException {
+		PingInbox inbox = new PingInbox(3);
+		for (long id = 1; id <= 3; id++) {
+			assertThat(inbox.offer(ping(id, id, 7L))).isEqualTo(PingInbox.Outcome.QUEUED);
+		}
+
+		assertThat(inbox.offer(ping(4, 4, 7L))).isEqualTo(PingInbox.Outcome.DROPPED_OLDEST);
+		assertThat(inbox.offer(ping(5, 5, 7L))).isEqualTo(PingInbox.Outcome.DROPPED_OLDEST);
+
+		assertThat(ids(inbox.take(10, Duration.ZERO))).containsExactly(3L, 4L, 5L);
+		assertThat(inbox.takeDropped()).isEqualTo(2);
+		assertThat(inbox.takeDropped()).isZero();
+	}
+
+	@Test
+	void coalescesPingsAboutTheSameChoreFromTheSameSender() throws InterruptedException {
+		PingInbox inbox = new PingInbox(4);
+		inbox.offer(ping(1, 10, null));
+		inbox.offer(ping(2, 20, null));
+		inbox.offer(ping(3, 10, 7L));
+
+		assertThat(inbox.offer(ping(4, 10, null))).isEqualTo(PingInbox.Outcome.COALESCED);
+
+		// Ids stay ascending so Last-Event-ID replay remains correct
+		assertThat(ids(inbox.take(10, Duration.ZERO))).containsExactly(2L, 3L, 4L);
+		assertThat(inbox.depth()).isZero();
+	}
+
+	@Test
+	void takeReturnsAtMostMaxAndWrapsAroundTheBuffer() throws InterruptedException {
+		PingInbox inbox = new PingInbox(3);
+		inbox.offer(ping(1, 1, 7L));
+		inbox.offer(ping(2, 2, 7L));
+		assertThat(ids(inbox.take(1, Duration.ZERO))).containsExactly(1L);
+
+		inbox.offer(ping(3, 3, 7L));
+		inbox.offer(ping(4, 4, 7L));
+		inbox.offer(ping(5, 2, 7L));
+
+		assertThat(ids(inbox.take(10, Duration.ZERO))).containsExactly(3L, 4L, 5L);
+	}
+
+	@Test
+	void closeWakesAWaitingTaker() throws Exception {
+		PingInbox inbox = new PingInbox(3);
+		Thread closer = Thread.ofVirtual().start(() -> {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			inbox.close();
+		});
+
+		assertThat(inbox.take(10, Duration.ofSeconds(30))).isEmpty();
+		closer.join();
+		assertThat(inbox.isClosed()).isTrue();
+		assertThat(inbox.offer(ping(1, 1, 7L))).isEqualTo(PingInbox.Outcome.CLOSED);
+	}
+}
@@ -0,0 +1,91 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.chorecircle.chorecircle_backend.entities.Recurrence.Frequency;
+
+class RecurrenceRuleTests {
+
+	@Test
+	void dailyStepsByIntervalWithinTheWindow() {
+		RecurrenceRule rule = new RecurrenceRule(Frequency.DAILY, 3, 0, LocalDate.of(2026, 1, 1), null);
+
+		assertThat(rule.occurrences(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 10)))
+				.containsExactly(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 5), LocalDate.of(2026, 3, 8));
+		assertThat(rule.isOccurrence(LocalDate.of(2026, 1, 4))).isTrue();
+		assertThat(rule.isOccurrence(LocalDate.of(2026, 1, 5))).isFalse();
+		assertThat(rule.isOccurrence(LocalDate.of(2025, 12, 29))).isFalse();
+	}
+
+	@Test
+	void weeklyFallsOnTheChosenWeekdaysOfEveryIntervalthWeek() {
+		// Wednesday 2026-01-07, every other week on Monday and Thursday
+		int weekdays = RecurrenceRule.mask(List.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY));
+		RecurrenceRule rule = new RecurrenceRule(Frequency.WEEKLY, 2, weekdays, LocalDate.of(2026, 1, 7), null);
+
+		assertThat(rule.first()).isEqualTo(LocalDate.of(2026, 1, 8));
+		assertThat(rule.occurrences(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31))).containsExactly(
+				LocalDate.of(2026, 1, 8), LocalDate.of(2026, 1, 19), LocalDate.of(2026, 1, 22));
+		assertThat(rule.firstAfter(LocalDate.of(2026, 1, 22))).isEqualTo(LocalDate.of(2026, 2, 2));
+	}
+
+	@Test
+	void weeklyDefaultsToTheStartWeekday() {
+		RecurrenceRule rule = new RecurrenceRule(Frequency.WEEKLY, 1, 0, LocalDate.of(2026, 1, 7), null);
+
+		assertThat(rule.weekdays()).isEqualTo(RecurrenceRule.bit(DayOfWeek.WEDNESDAY));
+		assertThat(rule.firstAfter(LocalDate.of(2026, 1, 7))).isEqualTo(LocalDate.of(2026, 1, 14));
+	}
+
+	@Test
+	void monthlyClampsToShortMonthsAndStopsAtUntil() {
+		RecurrenceRule rule = new RecurrenceRule(Frequency.MONTHLY, 1, 0, LocalDate.of(2026, 1, 31),
+				LocalDate.of(2026, 4, 30));
+
+		assertThat(rule.occurrences(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31))).containsExactly(
+				LocalDate.of(2026, 1, 31), LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31),
+				LocalDate.of(2026, 4, 30));
+		assertThat(rule.firstAfter(LocalDate.of(2026, 4, 30))).isNull();
+	}
+
+	@Test
+	void jumpingIntoAWindowMatchesCheckingEveryDay() {
+		int weekdays = RecurrenceRule.mask(List.of(DayOfWeek.TUESDAY, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+		List<RecurrenceRule> rules = List.of(
+				new RecurrenceRule(Frequency.DAILY, 5, 0, LocalDate.of(2025, 2, 11), null),
+				new RecurrenceRule(Frequency.WEEKLY, 3, weekdays, LocalDate.of(2025, 2, 11), null),
+				new RecurrenceRule(Frequency.MONTHLY, 2, 0, LocalDate.of(2025, 3, 30), null));
+		LocalDate from = LocalDate.of(2026, 6, 3);
+		LocalDate to = LocalDate.of(2026, 9, 17);
+		for (RecurrenceRule rule : rules) {
+			List<LocalDate> expected = new ArrayList<>();
+			for (LocalDate date = rule.start(); !date.isAfter(to); date = date.plusDays(1)) {
+				if (!date.isBefore(from) && matches(rule, date)) {
+					expected.add(date);
+				}
+			}
+			assertThat(rule.occurrences(from, to)).isNotEmpty().isEqualTo(expected);
+		}
+	}
+
+	// The rule's definition, checked day by day
+	private static boolean matches(RecurrenceRule rule, LocalDate date) {
+		LocalDate start = rule.start();
+		return switch (rule.frequency()) {
+			case DAILY -> ChronoUnit.DAYS.between(start, date) % rule.interval() == 0;
+			case WEEKLY -> ChronoUnit.WEEKS.between(start.with(DayOfWeek.MONDAY), date) % rule.interval() == 0
+					&& (rule.weekdays() & RecurrenceRule.bit(date.getDayOfWeek())) != 0;
+			case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(date)) % rule.interval() == 0
+					&& date.getDayOfMonth() == Math.min(start.getDayOfMonth(), date.lengthOfMonth());
+		};
+	}
+}
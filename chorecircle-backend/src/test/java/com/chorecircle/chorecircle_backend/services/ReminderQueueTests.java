@@ -0,0 +1,115 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.chorecircle.chorecircle_backend.services.ReminderQueue.Key;
+
+class ReminderQueueTests {
+
+	private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+	private static final Instant NOW = Instant.parse("2026-03-10T09:00:00Z");
+
+	@Test
+	void pollsInDueDateOrderUpToTheLastDueDate() {
+		ReminderQueue queue = new ReminderQueue(10, new Key(DAY.minusDays(1), Long.MAX_VALUE));
+		queue.loaded(List.of(new Key(DAY, 3), new Key(DAY, 7), new Key(DAY.plusDays(1), 1)),
+				new Key(DAY.plusDays(1), Long.MAX_VALUE));
+
+		assertThat(queue.pollDue(DAY, NOW, 10)).containsExactly(new Key(DAY, 3), new Key(DAY, 7));
+		assertThat(queue.pollDue(DAY, NOW, 10)).isEmpty();
+		assertThat(queue.size()).isEqualTo(1);
+	}
+
+	@Test
+	void choresPastTheCursorAreLeftToTheLoader() {
+		ReminderQueue queue = new ReminderQueue(10, new Key(DAY, Long.MAX_VALUE));
+
+		assertThat(queue.offer(1, DAY)).isTrue();
+		assertThat(queue.offer(2, DAY.plusDays(1))).isFalse();
+		assertThat(queue.size()).isEqualTo(1);
+
+		// Moving a chore's due date past the cursor drops the old entry
+		assertThat(queue.offer(1, DAY.plusDays(5))).isFalse();
+		assertThat(queue.size()).isZero();
+	}
+
+	@Test
+	void overflowDropsTheLatestEntriesAndRewindsTheCursor() {
+		ReminderQueue queue = new ReminderQueue(2, new Key(DAY.minusDays(1), Long.MAX_VALUE));
+		queue.loaded(List.of(new Key(DAY, 1), new Key(DAY, 2)), new Key(DAY, 2));
+
+		assertThat(queue.room()).isZero();
+		assertThat(queue.offer(3, DAY.minusDays(1))).isTrue();
+
+		assertThat(queue.size()).isEqualTo(2);
+		assertThat(queue.cursor()).isEqualTo(new Key(DAY, 1));
+		assertThat(queue.pollDue(DAY, NOW, 10)).containsExactly(new Key(DAY.minusDays(1), 3), new Key(DAY, 1));
+	}
+
+	@Test
+	void deferredEntriesFireOnceTheirTimeHasCome() {
+		ReminderQueue queue = new ReminderQueue(10, new Key(DAY, Long.MAX_VALUE));
+		queue.offer(1, DAY);
+		Key key = queue.pollDue(DAY, NOW, 10).get(0);
+
+		queue.defer(key, NOW.plusSeconds(3600));
+		assertThat(queue.pollDue(DAY, NOW, 10)).isEmpty();
+		assertThat(queue.pollDue(DAY, NOW.plusSeconds(3600), 10)).containsExactly(key);
+	}
+
+	@Test
+	void retriedEntriesWaitForTheirBackoffUnlessOfferedAgain() {
+		ReminderQueue queue = new ReminderQueue(10, new Key(DAY, Long.MAX_VALUE));
+		queue.offer(1, DAY);
+		queue.offer(2, DAY);
+		List<Key> failed = queue.pollDue(DAY, NOW, 10);
+
+		failed.forEach(key -> queue.retry(key, NOW.plusSeconds(60)));
+		queue.offer(2, DAY);
+
+		assertThat(queue.pollDue(DAY, NOW, 10)).containsExactly(new Key(DAY, 2));
+		assertThat(queue.pollDue(DAY, NOW, 10)).isEmpty();
+		assertThat(queue.pollDue(DAY, NOW.plusSeconds(60), 10)).containsExactly(new Key(DAY, 1));
+	}
+
+	@Test
+	void removeDropsScheduledAndDeferredEntries() {
+		ReminderQueue queue = new ReminderQueue(10, new Key(DAY, Long.MAX_VALUE));
+		queue.offer(1, DAY);
+		queue.offer(2, DAY);
+		queue.defer(queue.pollDue(DAY, NOW, 1).get(0), NOW.plusSeconds(60));
+
+		queue.remove(1);
+		queue.remove(2);
+
+		assertThat(queue.size()).isZero();
+		assertThat(queue.pollDue(DAY, NOW.plusSeconds(60), 10)).isEmpty();
+	}
+
+	@Test
+	void quietHoursMayWrapPastMidnight() {
+		ZonedDateTime late = ZonedDateTime.of(DAY, LocalTime.of(23, 0), ZoneOffset.UTC);
+		ZonedDateTime early = ZonedDateTime.of(DAY, LocalTime.of(6, 30), ZoneOffset.UTC);
+		ZonedDateTime noon = ZonedDateTime.of(DAY, LocalTime.NOON, ZoneOffset.UTC);
+		LocalTime start = LocalTime.of(22, 0);
+		LocalTime end = LocalTime.of(7, 0);
+
+		assertThat(ReminderScheduler.quietUntil(start, end, late))
+				.isEqualTo(ZonedDateTime.of(DAY.plusDays(1), end, ZoneOffset.UTC).toInstant());
+		assertThat(ReminderScheduler.quietUntil(start, end, early))
+				.isEqualTo(ZonedDateTime.of(DAY, end, ZoneOffset.UTC).toInstant());
+		assertThat(ReminderScheduler.quietUntil(start, end, noon)).isNull();
+		assertThat(ReminderScheduler.quietUntil(LocalTime.of(12, 0), LocalTime.of(13, 0), noon))
+				.isEqualTo(ZonedDateTime.of(DAY, LocalTime.of(13, 0), ZoneOffset.UTC).toInstant());
+		assertThat(ReminderScheduler.quietUntil(null, end, noon)).isNull();
+	}
+}
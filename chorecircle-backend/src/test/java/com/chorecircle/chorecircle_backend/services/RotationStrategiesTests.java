@@ -0,0 +1,87 @@
+package com.chorecircle.chorecircle_backend.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.chorecircle.chorecircle_backend.services.WorkspaceRotation.PendingChore;
+
+class RotationStrategiesTests {
+
+	private static final List<Long> MEMBERS = List.of(10L, 20L, 30L);
+
+	private final List<RotationStrategy> strategies = List.of(
+			new RoundRobinRotation(), new LeastRecentlyPerformedRotation(), new LoadBalancedRotation());
+
+	@Test
+	void repeatedRunsChangeNothing() {
+		List<PendingChore> chores = List.of(
+				new PendingChore(1, null, LocalDate.of(2026, 1, 3)),
+				new PendingChore(2, 10L, LocalDate.of(2026, 1, 1)),
+				new PendingChore(3, 99L, null),
+				new PendingChore(4, 20L, LocalDate.of(2026, 1, 2)),
+				new PendingChore(5, null, LocalDate.of(2026, 1, 2)));
+		Map<Long, Map<Long, LocalDateTime>> history = Map.of(
+				1L, Map.of(10L, LocalDateTime.of(2025, 12, 1, 9, 0), 20L, LocalDateTime.of(2025, 12, 20, 9, 0)),
+				2L, Map.of(30L, LocalDateTime.of(2025, 12, 5, 9, 0)));
+
+		for (RotationStrategy strategy : strategies) {
+			Map<Long, Long> first = strategy.assign(new WorkspaceRotation(1, MEMBERS, chores, history, 42));
+			List<PendingChore> assigned = chores.stream()
+					.map(chore -> new PendingChore(chore.id(), first.get(chore.id()), chore.dueDate()))
+					.toList();
+			Map<Long, Long> second = strategy.assign(new WorkspaceRotation(1, MEMBERS, assigned, history, 42));
+
+			assertThat(first).as(strategy.name()).containsOnlyKeys(1L, 2L, 3L, 4L, 5L);
+			assertThat(first.values()).as(strategy.name()).allMatch(MEMBERS::contains);
+			assertThat(second).as(strategy.name()).isEqualTo(first);
+		}
+	}
+
+	@Test
+	void roundRobinMovesEveryChoreToTheNextMemberEachPeriod() {
+		List<PendingChore> chores = List.of(new PendingChore(7, null, null), new PendingChore(8, null, null));
+		RoundRobinRotation strategy = new RoundRobinRotation();
+
+		Map<Long, Long> week1 = strategy.assign(new WorkspaceRotation(1, MEMBERS, chores, Map.of(), 100));
+		Map<Long, Long> week2 = strategy.assign(new WorkspaceRotation(1, MEMBERS, chores, Map.of(), 101));
+
+		for (long chore : List.of(7L, 8L)) {
+			int index = MEMBERS.indexOf(week1.get(chore));
+			assertThat(week2.get(chore)).isEqualTo(MEMBERS.get((index + 1) % MEMBERS.size()));
+		}
+		assertThat(week1.get(7L)).isNotEqualTo(week1.get(8L));
+	}
+
+	@Test
+	void leastRecentPrefersMembersWhoNeverDidTheChore() {
+		List<PendingChore> chores = List.of(new PendingChore(1, 10L, null));
+		Map<Long, Map<Long, LocalDateTime>> history = Map.of(1L, Map.of(
+				10L, LocalDateTime.of(2026, 1, 1, 9, 0), 20L, LocalDateTime.of(2025, 6, 1, 9, 0)));
+
+		Map<Long, Long> assignments = new LeastRecentlyPerformedRotation()
+				.assign(new WorkspaceRotation(1, MEMBERS, chores, history, 0));
+
+		assertThat(assignments).containsEntry(1L, 30L);
+	}
+
+	@Test
+	void leastLoadedBalancesPendingChores() {
+		List<PendingChore> chores = List.of(
+				new PendingChore(1, 10L, null), new PendingChore(2, 10L, null), new PendingChore(3, 10L, null),
+				new PendingChore(4, 10L, null), new PendingChore(5, 10L, null), new PendingChore(6, 10L, null));
+
+		Map<Long, Long> assignments = new LoadBalancedRotation()
+				.assign(new WorkspaceRotation(1, MEMBERS, chores, Map.of(), 0));
+
+		Map<Long, Integer> load = new HashMap<>();
+		assignments.values().forEach(member -> load.merge(member, 1, Integer::sum));
+		assertThat(load).containsEntry(10L, 2).containsEntry(20L, 2).containsEntry(30L, 2);
+	}
+}